@@ -0,0 +1,4 @@
+#!/bin/sh
+# Lets the postgres-replica service stream from this server; runs once, when the data directory is created
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
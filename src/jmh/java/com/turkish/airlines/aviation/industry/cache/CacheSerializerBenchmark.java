@@ -0,0 +1,107 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.response.RouteResponse;
+import com.turkish.airlines.aviation.industry.response.TransportationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of a cached route list with {@link CompactResponseSerializer} against the JSON
+ * serializer the caches used before. Payload sizes of both are printed once per trial. Routes alternate
+ * between a single flight with transfers and two connecting flights over a small set of locations, as
+ * the results of one search do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({"10", "100"})
+    private int routeCount;
+
+    private GenericJackson2JsonRedisSerializer json;
+    private CompactResponseSerializer compact;
+    private List<RouteResponse> routes;
+    private byte[] jsonBytes;
+    private byte[] compactBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        json = new GenericJackson2JsonRedisSerializer();
+        compact = new CompactResponseSerializer(json);
+
+        routes = new ArrayList<>(routeCount);
+        for (int i = 0; i < routeCount; i++) {
+            long hub = 10 + i % 8;
+            RouteResponse.RouteResponseBuilder route = RouteResponse.builder()
+                    .totalStops(i % 2)
+                    .totalDuration(120 + i)
+                    .totalPrice(BigDecimal.valueOf(9_990 + i * 125L, 2));
+            if (i % 2 == 0) {
+                route.beforeFlight(transportation(i * 3L, 1, hub, "BUS"))
+                        .flight(transportation(i * 3L + 1, hub, 2, "FLIGHT"))
+                        .afterFlight(transportation(i * 3L + 2, 2, 3, "SUBWAY"));
+            } else {
+                route.connectingFlights(List.of(
+                        transportation(i * 3L, 1, hub, "FLIGHT"),
+                        transportation(i * 3L + 1, hub, 3, "FLIGHT")));
+            }
+            routes.add(route.build());
+        }
+
+        jsonBytes = json.serialize(routes);
+        compactBytes = compact.serialize(routes);
+        System.out.printf("%n%d routes: json %d bytes, compact %d bytes%n",
+                routeCount, jsonBytes.length, compactBytes.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return json.serialize(routes);
+    }
+
+    @Benchmark
+    public byte[] encodeCompact() {
+        return compact.serialize(routes);
+    }
+
+    @Benchmark
+    public Object decodeJson() {
+        return json.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public Object decodeCompact() {
+        return compact.deserialize(compactBytes);
+    }
+
+    private static TransportationResponse transportation(long id, long originId, long destinationId, String type) {
+        return TransportationResponse.builder()
+                .id(id)
+                .originLocationId(originId)
+                .destinationLocationId(destinationId)
+                .transportationType(type)
+                .originLocationName("Location " + originId)
+                .destinationLocationName("Location " + destinationId)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.model.Location;
+import com.turkish.airlines.aviation.industry.model.Transportation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares the join enumeration in {@link RouteCandidates} with the former nested stream
+ * cartesian product over entity lists on a dense hub: many ground transfers out of the origin, many flights
+ * departing the origin or arriving at the destination and many transfers into the destination.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteEnumerationBenchmark {
+
+    private static final long ORIGIN_ID = 1L;
+    private static final long DESTINATION_ID = 2L;
+
+    @Param({"50", "200", "500"})
+    private int hubSize;
+
+    private List<Transportation> flights;
+    private List<Transportation> beforeTransfers;
+    private List<Transportation> afterTransfers;
+    private RouteCandidates candidates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Location origin = location(ORIGIN_ID);
+        Location destination = location(DESTINATION_ID);
+
+        flights = new ArrayList<>();
+        beforeTransfers = new ArrayList<>();
+        afterTransfers = new ArrayList<>();
+        long id = 1;
+        flights.add(transportation(id++, origin, destination, TransportationType.FLIGHT));
+        for (int i = 0; i < hubSize; i++) {
+            Location departureHub = location(1_000L + i);
+            Location arrivalHub = location(100_000L + i);
+            beforeTransfers.add(transportation(id++, origin, departureHub, TransportationType.OTHER));
+            flights.add(transportation(id++, departureHub, destination, TransportationType.FLIGHT));
+            flights.add(transportation(id++, origin, arrivalHub, TransportationType.FLIGHT));
+            afterTransfers.add(transportation(id++, arrivalHub, destination, TransportationType.OTHER));
+        }
+
+        List<Transportation> all = new ArrayList<>(flights);
+        all.addAll(beforeTransfers);
+        all.addAll(afterTransfers);
+        NetworkSnapshot snapshot = NetworkSnapshot.of(all.stream().map(TransportationEdge::from).collect(Collectors.toList()));
+        candidates = new RouteCandidates(snapshot, snapshot.indexOf(ORIGIN_ID), snapshot.indexOf(DESTINATION_ID));
+    }
+
+    @Benchmark
+    public void adjacencyJoin(Blackhole blackhole) {
+        candidates.forEachRoute(blackhole::consume);
+    }
+
+    @Benchmark
+    public void cartesianStream(Blackhole blackhole) {
+        Stream.of(
+                flights.stream()
+                        .filter(t -> t.getOriginLocation().getId().equals(ORIGIN_ID)
+                                && t.getDestinationLocation().getId().equals(DESTINATION_ID))
+                        .map(Collections::singletonList),
+                beforeTransfers.stream()
+                        .flatMap(before -> flights.stream()
+                                .filter(flight -> connects(before, flight)
+                                        && flight.getDestinationLocation().getId().equals(DESTINATION_ID))
+                                .map(flight -> Arrays.asList(before, flight))),
+                flights.stream()
+                        .flatMap(flight -> afterTransfers.stream()
+                                .filter(after -> flight.getOriginLocation().getId().equals(ORIGIN_ID)
+                                        && connects(flight, after))
+                                .map(after -> Arrays.asList(flight, after))),
+                beforeTransfers.stream()
+                        .flatMap(before -> flights.stream()
+                                .flatMap(flight -> afterTransfers.stream()
+                                        .filter(after -> connects(before, flight) && connects(flight, after))
+                                        .map(after -> Arrays.asList(before, flight, after))))
+        ).flatMap(stream -> stream).collect(Collectors.toList()).forEach(blackhole::consume);
+    }
+
+    private static boolean connects(Transportation first, Transportation second) {
+        return first.getDestinationLocation().getId().equals(second.getOriginLocation().getId());
+    }
+
+    private static Location location(long id) {
+        Location location = new Location();
+        location.setId(id);
+        location.setName("Location " + id);
+        return location;
+    }
+
+    private static Transportation transportation(long id, Location origin, Location destination,
+                                                 TransportationType type) {
+        Transportation transportation = new Transportation();
+        transportation.setId(id);
+        transportation.setOriginLocation(origin);
+        transportation.setDestinationLocation(destination);
+        transportation.setTransportationType(type);
+        transportation.setDuration(60.0);
+        transportation.setPrice(BigDecimal.TEN);
+        return transportation;
+    }
+}
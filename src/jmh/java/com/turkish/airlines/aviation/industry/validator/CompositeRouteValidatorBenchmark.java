@@ -0,0 +1,103 @@
+package com.turkish.airlines.aviation.industry.validator;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.graph.NetworkSnapshot;
+import com.turkish.airlines.aviation.industry.graph.TransportationEdge;
+import com.turkish.airlines.aviation.industry.model.RouteLeg;
+import com.turkish.airlines.aviation.industry.validator.core.CompositeRouteValidator;
+import com.turkish.airlines.aviation.industry.validator.core.ValidationContext;
+import com.turkish.airlines.aviation.industry.validator.core.ValidationResult;
+import com.turkish.airlines.aviation.industry.validator.impl.ConnectionValidator;
+import com.turkish.airlines.aviation.industry.validator.impl.FlightLocationValidator;
+import com.turkish.airlines.aviation.industry.validator.impl.FlightRequirementValidator;
+import com.turkish.airlines.aviation.industry.validator.impl.TransferTypeValidator;
+import com.turkish.airlines.aviation.industry.validator.impl.TransportationCountValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per candidate cost of {@link CompositeRouteValidator} against {@link StreamValidationBaseline}, the
+ * validation as it was before the pipeline was compiled. The context and its leg view are built once per
+ * trial, so the numbers cover the validation alone. A valid candidate is the common case of a search, an
+ * invalid one shows the effect of fail fast. Run with {@code -prof gc} to compare allocation per
+ * operation; a valid candidate should not allocate in the compiled pipeline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompositeRouteValidatorBenchmark {
+
+    @Param({"valid", "invalid"})
+    private String candidate;
+
+    private CompositeRouteValidator pipeline;
+    private CompositeRouteValidator failFastPipeline;
+    private StreamValidationBaseline baseline;
+    private ValidationContext context;
+    private ValidationContext baselineContext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<RouteValidator> validators = List.of(new TransferTypeValidator(), new FlightLocationValidator(),
+                new TransportationCountValidator(), new ConnectionValidator(), new FlightRequirementValidator());
+        pipeline = new CompositeRouteValidator(validators);
+        failFastPipeline = new CompositeRouteValidator(validators, true);
+        baseline = new StreamValidationBaseline();
+
+        NetworkSnapshot snapshot = NetworkSnapshot.of(List.of(
+                edge(1L, 1L, 2L, TransportationType.OTHER),
+                edge(2L, 2L, 3L, TransportationType.FLIGHT),
+                edge(3L, 3L, 4L, TransportationType.OTHER),
+                edge(4L, 5L, 6L, TransportationType.FLIGHT)));
+        int[] route = "valid".equals(candidate)
+                ? new int[]{snapshot.edgeIndexOf(2L)}
+                : new int[]{snapshot.edgeIndexOf(1L), snapshot.edgeIndexOf(4L), snapshot.edgeIndexOf(3L)};
+        context = context(snapshot.routeView().of(route));
+        baselineContext = context(StreamValidationBaseline.legs(snapshot, route));
+    }
+
+    @Benchmark
+    public ValidationResult compiledPipeline() {
+        return pipeline.validate(context);
+    }
+
+    @Benchmark
+    public ValidationResult compiledPipelineFailFast() {
+        return failFastPipeline.validate(context);
+    }
+
+    @Benchmark
+    public StreamValidationBaseline.Result streamBaseline() {
+        return baseline.validate(baselineContext);
+    }
+
+    private static ValidationContext context(List<RouteLeg> route) {
+        return ValidationContext.builder()
+                .route(route)
+                .requestedOriginId(2L)
+                .requestedDestinationId(3L)
+                .build();
+    }
+
+    private static TransportationEdge edge(Long id, Long originId, Long destinationId, TransportationType type) {
+        return new TransportationEdge(id, originId, "Location " + originId, destinationId, "Location " + destinationId,
+                type, 60.0, BigDecimal.TEN, 0L);
+    }
+}
@@ -0,0 +1,326 @@
+package com.turkish.airlines.aviation.industry.validator;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.graph.NetworkSnapshot;
+import com.turkish.airlines.aviation.industry.model.RouteLeg;
+import com.turkish.airlines.aviation.industry.validator.core.ValidationContext;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The route validation as it was before the pipeline was compiled, kept as the benchmark baseline: the
+ * composite sorts and streams the validators on every call, every passing validator returns a new result
+ * with its own error list, the flight lookups stream the route and the leg view creates a leg on every
+ * {@code get}. The validators are copied unchanged apart from returning this class's {@link Result}.
+ */
+final class StreamValidationBaseline {
+
+    private final List<Validator> validators = List.of(new TransferTypeValidator(), new FlightLocationValidator(),
+            new TransportationCountValidator(), new ConnectionValidator(), new FlightRequirementValidator());
+
+    Result validate(ValidationContext context) {
+        return validators.stream()
+                .sorted(Comparator.comparingInt(Validator::getOrder))
+                .map(validator -> {
+                    try {
+                        return validator.validate(context);
+                    } catch (Exception e) {
+                        return Result.invalid(new Error("VALIDATOR_ERROR",
+                                String.format("Validator %s failed: %s",
+                                        validator.getClass().getSimpleName(), e.getMessage())));
+                    }
+                })
+                .reduce(Result.valid(), Result::merge);
+    }
+
+    /**
+     * The leg view of a route, allocating a leg per {@code get}.
+     */
+    static List<RouteLeg> legs(NetworkSnapshot snapshot, int[] route) {
+        return new AbstractList<>() {
+            @Override
+            public RouteLeg get(int index) {
+                int edge = route[index];
+                return new RouteLeg() {
+                    @Override
+                    public Long getId() {
+                        return snapshot.edgeId(edge);
+                    }
+
+                    @Override
+                    public Long getOriginLocationId() {
+                        return snapshot.locationId(snapshot.origin(edge));
+                    }
+
+                    @Override
+                    public Long getDestinationLocationId() {
+                        return snapshot.locationId(snapshot.destination(edge));
+                    }
+
+                    @Override
+                    public TransportationType getTransportationType() {
+                        return snapshot.type(edge);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return route.length;
+            }
+        };
+    }
+
+    interface Validator {
+        Result validate(ValidationContext context);
+
+        int getOrder();
+    }
+
+    record Error(String code, String message) {
+    }
+
+    static final class Result {
+        private final boolean valid;
+        private final List<Error> errors;
+
+        private Result(boolean valid, List<Error> errors) {
+            this.valid = valid;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        static Result valid() {
+            return new Result(true, new ArrayList<>());
+        }
+
+        static Result invalid(List<Error> errors) {
+            return new Result(false, errors);
+        }
+
+        static Result invalid(Error error) {
+            return new Result(false, Collections.singletonList(error));
+        }
+
+        boolean isValid() {
+            return valid;
+        }
+
+        Result merge(Result other) {
+            if (this.valid && other.valid) {
+                return Result.valid();
+            }
+
+            List<Error> mergedErrors = new ArrayList<>(this.errors);
+            mergedErrors.addAll(other.errors);
+            return Result.invalid(mergedErrors);
+        }
+    }
+
+    static final class TransportationCountValidator implements Validator {
+        private static final int MAX_TRANSFER_COUNT = 2;
+
+        @Override
+        public Result validate(ValidationContext context) {
+            int maxTransportationCount = context.getMaxFlights() + MAX_TRANSFER_COUNT;
+            if (context.getRoute() == null || context.getRoute().size() > maxTransportationCount) {
+                return Result.invalid(new Error("TRANSPORTATION_COUNT",
+                        String.format("Route cannot have more than %d transportations, found: %d",
+                                maxTransportationCount,
+                                context.getRoute() != null ? context.getRoute().size() : 0)));
+            }
+            return Result.valid();
+        }
+
+        @Override
+        public int getOrder() {
+            return 1;
+        }
+    }
+
+    static final class ConnectionValidator implements Validator {
+
+        @Override
+        public Result validate(ValidationContext context) {
+            if (context.getRoute() == null || context.getRoute().size() <= 1) {
+                return Result.valid();
+            }
+
+            List<Error> errors = new ArrayList<>();
+
+            for (int i = 0; i < context.getRoute().size() - 1; i++) {
+                RouteLeg current = context.getRoute().get(i);
+                RouteLeg next = context.getRoute().get(i + 1);
+
+                if (!current.getDestinationLocationId().equals(next.getOriginLocationId())) {
+                    errors.add(new Error("INVALID_CONNECTION",
+                            String.format("Invalid connection between transportations at positions %d and %d: " +
+                                            "destination location %d does not match origin location %d",
+                                    i, i + 1,
+                                    current.getDestinationLocationId(),
+                                    next.getOriginLocationId())));
+                }
+            }
+
+            return errors.isEmpty() ? Result.valid() : Result.invalid(errors);
+        }
+
+        @Override
+        public int getOrder() {
+            return 2;
+        }
+    }
+
+    static final class FlightRequirementValidator implements Validator {
+
+        @Override
+        public Result validate(ValidationContext context) {
+            if (context.getRoute() == null || context.getRoute().isEmpty()) {
+                return Result.valid();
+            }
+
+            long flightCount = context.getRoute().stream()
+                    .filter(t -> t.getTransportationType() == TransportationType.FLIGHT)
+                    .count();
+
+            if (context.getMaxFlights() == 1 && flightCount != 1) {
+                return Result.invalid(new Error("FLIGHT_REQUIREMENT",
+                        String.format("Route must contain exactly one flight, found: %d", flightCount)));
+            }
+
+            if (flightCount < 1 || flightCount > context.getMaxFlights()) {
+                return Result.invalid(new Error("FLIGHT_REQUIREMENT",
+                        String.format("Route must contain between 1 and %d flights, found: %d",
+                                context.getMaxFlights(), flightCount)));
+            }
+
+            return Result.valid();
+        }
+
+        @Override
+        public int getOrder() {
+            return 3;
+        }
+    }
+
+    static final class FlightLocationValidator implements Validator {
+
+        @Override
+        public Result validate(ValidationContext context) {
+            if (context.getRoute() == null || context.getRoute().isEmpty() ||
+                    context.getRequestedOriginId() == null || context.getRequestedDestinationId() == null) {
+                return Result.valid();
+            }
+
+            RouteLeg flight = context.getRoute().stream()
+                    .filter(t -> t.getTransportationType() == TransportationType.FLIGHT)
+                    .findFirst()
+                    .orElse(null);
+
+            if (flight == null) {
+                return Result.valid();
+            }
+
+            RouteLeg lastFlight = flight;
+            if (context.getMaxFlights() > 1) {
+                for (RouteLeg leg : context.getRoute()) {
+                    if (leg.getTransportationType() == TransportationType.FLIGHT) {
+                        lastFlight = leg;
+                    }
+                }
+            }
+
+            if (!flight.getOriginLocationId().equals(context.getRequestedOriginId()) ||
+                    !lastFlight.getDestinationLocationId().equals(context.getRequestedDestinationId())) {
+                return Result.invalid(new Error("FLIGHT_LOCATION",
+                        String.format("Flight locations do not match requested route. Expected: %d -> %d, Found: %d -> %d",
+                                context.getRequestedOriginId(), context.getRequestedDestinationId(),
+                                flight.getOriginLocationId(), lastFlight.getDestinationLocationId())));
+            }
+
+            return Result.valid();
+        }
+
+        @Override
+        public int getOrder() {
+            return 4;
+        }
+    }
+
+    static final class TransferTypeValidator implements Validator {
+
+        @Override
+        public Result validate(ValidationContext context) {
+            if (context.getRoute() == null || context.getRoute().isEmpty()) {
+                return Result.valid();
+            }
+
+            List<Error> errors = new ArrayList<>();
+
+            int flightIndex = -1;
+            for (int i = 0; i < context.getRoute().size(); i++) {
+                if (context.getRoute().get(i).getTransportationType() == TransportationType.FLIGHT) {
+                    flightIndex = i;
+                    break;
+                }
+            }
+
+            if (flightIndex == -1) {
+                return Result.valid();
+            }
+
+            int lastFlightIndex = flightIndex;
+            if (context.getMaxFlights() > 1) {
+                for (int i = flightIndex + 1; i < context.getRoute().size(); i++) {
+                    if (context.getRoute().get(i).getTransportationType() == TransportationType.FLIGHT) {
+                        lastFlightIndex = i;
+                    }
+                }
+                for (int i = flightIndex + 1; i < lastFlightIndex; i++) {
+                    if (context.getRoute().get(i).getTransportationType() != TransportationType.FLIGHT) {
+                        errors.add(new Error("INVALID_CONNECTION_TYPE",
+                                "Only FLIGHT type transportations are allowed between connecting flights"));
+                    }
+                }
+            }
+
+            int beforeFlightTransfers = 0;
+            for (int i = 0; i < flightIndex; i++) {
+                RouteLeg transfer = context.getRoute().get(i);
+                if (transfer.getTransportationType() != TransportationType.OTHER) {
+                    errors.add(new Error("INVALID_BEFORE_TRANSFER_TYPE",
+                            "Only OTHER type transportations are allowed before flight"));
+                }
+                beforeFlightTransfers++;
+            }
+
+            if (beforeFlightTransfers > 1) {
+                errors.add(new Error("MULTIPLE_BEFORE_TRANSFERS", "Multiple before flight transfers are not allowed"));
+            }
+
+            int afterFlightTransfers = 0;
+            for (int i = lastFlightIndex + 1; i < context.getRoute().size(); i++) {
+                RouteLeg transfer = context.getRoute().get(i);
+                if (transfer.getTransportationType() != TransportationType.OTHER) {
+                    errors.add(new Error("INVALID_AFTER_TRANSFER_TYPE",
+                            "Only OTHER type transportations are allowed after flight"));
+                }
+                afterFlightTransfers++;
+            }
+
+            if (afterFlightTransfers > 1) {
+                errors.add(new Error("MULTIPLE_AFTER_TRANSFERS", "Multiple after flight transfers are not allowed"));
+            }
+
+            return errors.isEmpty() ? Result.valid() : Result.invalid(errors);
+        }
+
+        @Override
+        public int getOrder() {
+            return 5;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.constants.CacheConstants;
+import com.turkish.airlines.aviation.industry.enums.ChangeType;
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.event.LocationChangedEvent;
+import com.turkish.airlines.aviation.industry.event.LocationsImportedEvent;
+import com.turkish.airlines.aviation.industry.event.NetworkSyncedEvent;
+import com.turkish.airlines.aviation.industry.event.TransportationChangedEvent;
+import com.turkish.airlines.aviation.industry.event.TransportationsImportedEvent;
+import com.turkish.airlines.aviation.industry.graph.NetworkSnapshot;
+import com.turkish.airlines.aviation.industry.graph.RouteGraph;
+import com.turkish.airlines.aviation.industry.graph.SearchBounds;
+import com.turkish.airlines.aviation.industry.graph.TransportationEdge;
+import com.turkish.airlines.aviation.industry.model.Transportation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Evicts exactly the cache entries a committed change can have made stale.
+ * <p>
+ * A route over a changed transportation starts at most {@code maxLegs - 1} legs before its origin and
+ * ends at most {@code maxLegs - 1} legs after its destination, so only the searches between those two
+ * neighbourhoods are evicted; the same holds for routes passing through a renamed or deleted location.
+ * Runs after {@link RouteGraph} has applied the change, walking the network around the previous end
+ * points as well when a transportation was moved.
+ * <p>
+ * Every node evicts the routes around the changes of other nodes again once its graph has applied them,
+ * which drops what it computed from its outdated network in the meantime. A node whose graph reloads
+ * does not know what changed and only drops its local route entries.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationListener {
+
+    private final CacheManager cacheManager;
+    private final RouteGraph routeGraph;
+    private final RouteCache routeCache;
+    private final TransportationChunkCache transportationChunkCache;
+
+    @Value("${route.search.max-flights:3}")
+    private int maxFlightsLimit;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    @TransactionalEventListener
+    public void onTransportationChanged(TransportationChangedEvent event) {
+        Transportation transportation = event.getTransportation();
+        evict(CacheConstants.SINGLE_TRANSPORTATION, transportation.getId());
+        transportationChunkCache.evictChunks(Set.of(transportationChunkCache.chunkOf(transportation.getId())));
+
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        Set<Long> originIds = new HashSet<>();
+        Set<Long> destinationIds = new HashSet<>();
+        collect(snapshot, transportation.getOriginLocation().getId(), false, originIds);
+        collect(snapshot, transportation.getDestinationLocation().getId(), true, destinationIds);
+        if (event.getPreviousOriginLocationId() != null) {
+            collect(snapshot, event.getPreviousOriginLocationId(), false, originIds);
+            collect(snapshot, event.getPreviousDestinationLocationId(), true, destinationIds);
+        }
+        int evicted = routeCache.evictTouching(originIds, destinationIds);
+        log.debug("Evicted {} route searches after {} of transportation {}",
+                evicted, event.getChangeType(), transportation.getId());
+    }
+
+    /**
+     * The same eviction as for single changes, with the neighbourhoods of every imported transportation
+     * evicted in one pass.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    @TransactionalEventListener
+    public void onTransportationsImported(TransportationsImportedEvent event) {
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        Set<Long> chunks = new HashSet<>();
+        Set<Long> origins = new HashSet<>();
+        Set<Long> destinations = new HashSet<>();
+        for (TransportationEdge edge : event.getEdges()) {
+            chunks.add(transportationChunkCache.chunkOf(edge.getId()));
+            origins.add(edge.getOriginLocationId());
+            destinations.add(edge.getDestinationLocationId());
+        }
+        transportationChunkCache.evictChunks(chunks);
+
+        Set<Long> originIds = new HashSet<>();
+        Set<Long> destinationIds = new HashSet<>();
+        origins.forEach(origin -> collect(snapshot, origin, false, originIds));
+        destinations.forEach(destination -> collect(snapshot, destination, true, destinationIds));
+        int evicted = routeCache.evictTouching(originIds, destinationIds);
+        log.debug("Evicted {} route searches after import of {} transportations", evicted, event.getEdges().size());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    @EventListener
+    public void onNetworkSynced(NetworkSyncedEvent event) {
+        if (event.isReloaded()) {
+            invalidateLocal(CacheConstants.ROUTES);
+            invalidateLocal(CacheConstants.NO_ROUTES);
+            return;
+        }
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        Set<Long> originIds = new HashSet<>();
+        Set<Long> destinationIds = new HashSet<>();
+        event.getOriginLocationIds().forEach(origin -> collect(snapshot, origin, false, originIds));
+        event.getDestinationLocationIds().forEach(destination -> collect(snapshot, destination, true, destinationIds));
+        int evicted = routeCache.evictTouching(originIds, destinationIds);
+        log.debug("Evicted {} route searches after {} changes of other nodes", evicted,
+                event.getTransportationIds().size());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    @TransactionalEventListener
+    public void onLocationsImported(LocationsImportedEvent event) {
+        evict(CacheConstants.ALL_LOCATIONS, SimpleKey.EMPTY);
+    }
+
+    /**
+     * Transportation and route responses carry location names. A new location has no transportations
+     * yet, so only the location list can be stale.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    @TransactionalEventListener
+    public void onLocationChanged(LocationChangedEvent event) {
+        evict(CacheConstants.ALL_LOCATIONS, SimpleKey.EMPTY);
+        if (event.getChangeType() == ChangeType.CREATED) {
+            return;
+        }
+        evict(CacheConstants.SINGLE_LOCATION, event.getLocationId());
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        int location = snapshot.indexOf(event.getLocationId());
+        if (location < 0) {
+            return;
+        }
+        Set<Long> chunks = new HashSet<>();
+        for (TransportationType type : TransportationType.values()) {
+            for (int p = snapshot.outgoingStart(location, type), end = snapshot.outgoingEnd(location, type); p < end; p++) {
+                evictTransportation(snapshot.edgeId(snapshot.outgoingEdge(p)), chunks);
+            }
+            for (int p = snapshot.incomingStart(location, type), end = snapshot.incomingEnd(location, type); p < end; p++) {
+                evictTransportation(snapshot.edgeId(snapshot.incomingEdge(p)), chunks);
+            }
+        }
+        transportationChunkCache.evictChunks(chunks);
+
+        Set<Long> originIds = new HashSet<>();
+        Set<Long> destinationIds = new HashSet<>();
+        collect(snapshot, event.getLocationId(), false, originIds);
+        collect(snapshot, event.getLocationId(), true, destinationIds);
+        int evicted = routeCache.evictTouching(originIds, destinationIds);
+        log.debug("Evicted {} route searches after {} of location {}",
+                evicted, event.getChangeType(), event.getLocationId());
+    }
+
+    /**
+     * Adds the location and every location within {@code maxLegs - 1} legs of it in the given direction.
+     * A location the snapshot does not know is still added, searches may have been cached for it.
+     */
+    private void collect(NetworkSnapshot snapshot, Long locationId, boolean outgoing, Set<Long> locationIds) {
+        locationIds.add(locationId);
+        int maxLegs = SearchBounds.maxLegs(maxFlightsLimit) - 1;
+        for (int location : snapshot.within(snapshot.indexOf(locationId), maxLegs, outgoing)) {
+            locationIds.add(snapshot.locationId(location));
+        }
+    }
+
+    private void evictTransportation(long transportationId, Set<Long> chunks) {
+        evict(CacheConstants.SINGLE_TRANSPORTATION, transportationId);
+        chunks.add(transportationChunkCache.chunkOf(transportationId));
+    }
+
+    private void invalidateLocal(String cacheName) {
+        if (cacheManager.getCache(cacheName) instanceof TwoTierCache twoTierCache) {
+            twoTierCache.invalidateLocal(null);
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Evicts the entries of a cache whose keys match, for invalidations that cannot name every key. The
+ * Redis candidates are read from the {@link CacheKeyIndex} sets of the given tags and the matches deleted
+ * with one {@code DEL}; matching L1 entries of a {@link TwoTierCache} are dropped on every node with one
+ * broadcast.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheKeyEvictor {
+
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory connectionFactory;
+    private final CacheKeyIndex cacheKeyIndex;
+
+    /**
+     * Caches whose Redis keys are not indexed are cleared instead.
+     *
+     * @param tags the index tags whose keys are candidates, such as the origins of the affected searches;
+     *                every candidate is still tested with the matcher
+     * @return the number of evicted keys, not counting cleared caches
+     */
+    public int evictIndexed(String cacheName, Collection<String> tags, Predicate<String> matcher) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || tags.isEmpty()) {
+            return 0;
+        }
+        if (!(cache instanceof TwoTierCache twoTierCache)
+                || !(twoTierCache.getRemote() instanceof RedisCache redisCache)
+                || !cacheKeyIndex.indexes(cacheName)) {
+            cache.clear();
+            return 0;
+        }
+
+        Set<String> keys = new HashSet<>();
+        for (String key : twoTierCache.localKeys()) {
+            if (matcher.test(key)) {
+                keys.add(key);
+            }
+        }
+        try {
+            List<String> remoteKeys = cacheKeyIndex.members(cacheName, tags).stream().filter(matcher).toList();
+            delete(redisCache, remoteKeys);
+            cacheKeyIndex.remove(cacheName, remoteKeys);
+            keys.addAll(remoteKeys);
+        } catch (DataAccessException e) {
+            // Without the index the affected keys are unknown, dropping everything is the only safe choice
+            log.warn("Index lookup of cache {} failed, clearing it: {}", cacheName, e.getMessage());
+            cache.clear();
+            return 0;
+        }
+        twoTierCache.evictLocal(keys);
+        return keys.size();
+    }
+
+    private void delete(RedisCache cache, List<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        RedisCacheConfiguration configuration = cache.getCacheConfiguration();
+        String prefix = configuration.usePrefix() ? configuration.getKeyPrefixFor(cache.getName()) : "";
+        byte[][] rawKeys = new byte[keys.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = ByteUtils.getBytes(configuration.getKeySerializationPair().write(prefix + keys.get(i)));
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.keyCommands().del(rawKeys);
+        }
+    }
+}
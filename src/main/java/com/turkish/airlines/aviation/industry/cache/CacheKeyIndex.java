@@ -0,0 +1,129 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Reverse index of the Redis entries of a cache, so a change can evict the entries it affects without
+ * scanning the key space. Every key written to an indexed cache is added to one Redis set per tag the
+ * cache derives from it, such as the origin of a route search, under
+ * {@code aviation:cache-index:<cache>:<tag>}.
+ * <p>
+ * A set expires one cache time to live after its last addition, so it outlives every entry it lists.
+ * Members whose entry has expired stay until then; deleting them again is harmless.
+ */
+@Slf4j
+public class CacheKeyIndex implements TwoTierCache.KeyIndex {
+
+    private static final String PREFIX = "aviation:cache-index:";
+
+    private final RedisConnectionFactory connectionFactory;
+    private final Map<String, Function<String, Collection<String>>> taggers = new HashMap<>();
+    private final Map<String, Duration> timesToLive = new HashMap<>();
+
+    public CacheKeyIndex(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * Indexes the keys of the cache under the tags the function returns for them.
+     */
+    public CacheKeyIndex index(String cacheName, Duration timeToLive, Function<String, Collection<String>> tags) {
+        taggers.put(cacheName, tags);
+        timesToLive.put(cacheName, timeToLive);
+        return this;
+    }
+
+    public boolean indexes(String cacheName) {
+        return taggers.containsKey(cacheName);
+    }
+
+    @Override
+    public boolean add(String cacheName, String key) {
+        Function<String, Collection<String>> tags = taggers.get(cacheName);
+        if (tags == null) {
+            return true;
+        }
+        long timeToLive = timesToLive.get(cacheName).toMillis();
+        byte[] member = bytes(key);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (String tag : tags.apply(key)) {
+                byte[] setKey = setKey(cacheName, tag);
+                connection.setCommands().sAdd(setKey, member);
+                connection.keyCommands().pExpire(setKey, timeToLive);
+            }
+            connection.closePipeline();
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Could not index key {} of cache {}: {}", key, cacheName, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @return the keys recorded under any of the tags
+     */
+    public Set<String> members(String cacheName, Collection<String> tags) {
+        List<Object> results;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (String tag : tags) {
+                connection.setCommands().sMembers(setKey(cacheName, tag));
+            }
+            results = connection.closePipeline();
+        }
+        Set<String> keys = new HashSet<>();
+        for (Object result : results) {
+            if (result instanceof Collection<?> members) {
+                for (Object member : members) {
+                    keys.add(member instanceof byte[] raw ? new String(raw, StandardCharsets.UTF_8) : String.valueOf(member));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Drops evicted keys from every set that lists them.
+     */
+    public void remove(String cacheName, Collection<String> keys) {
+        Function<String, Collection<String>> tags = taggers.get(cacheName);
+        if (tags == null || keys.isEmpty()) {
+            return;
+        }
+        Map<String, List<byte[]>> membersByTag = new HashMap<>();
+        for (String key : keys) {
+            for (String tag : tags.apply(key)) {
+                membersByTag.computeIfAbsent(tag, t -> new ArrayList<>()).add(bytes(key));
+            }
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            membersByTag.forEach((tag, members) ->
+                    connection.setCommands().sRem(setKey(cacheName, tag), members.toArray(new byte[0][])));
+            connection.closePipeline();
+        }
+    }
+
+    private static byte[] setKey(String cacheName, String tag) {
+        return bytes(PREFIX + cacheName + ":" + tag);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
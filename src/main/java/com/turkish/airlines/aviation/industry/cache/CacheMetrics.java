@@ -0,0 +1,83 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Micrometer meters of one {@link TwoTierCache}, tagged with the cache name. Names follow Micrometer's
+ * own cache binders ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions}), so the usual cache
+ * dashboards apply; the tier tag tells L1 hits from Redis hits, a miss is a miss of both tiers.
+ * <p>
+ * {@code cache.load.duration} is the time spent computing missing entries, published as a histogram.
+ * The serialized size of the Redis values is recorded by {@link MeteredRedisSerializer}.
+ */
+public class CacheMetrics {
+
+    /**
+     * Meters of a registry without backends, recording is a no-op.
+     */
+    static final CacheMetrics NONE = new CacheMetrics("none", new CompositeMeterRegistry());
+
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Timer loads;
+    private final Timer failedLoads;
+
+    public CacheMetrics(String cacheName, MeterRegistry registry) {
+        Tags tags = Tags.of("cache", cacheName);
+        this.localHits = gets(registry, tags, "hit", "local");
+        this.remoteHits = gets(registry, tags, "hit", "remote");
+        this.misses = gets(registry, tags, "miss", "remote");
+        this.puts = Counter.builder("cache.puts").tags(tags)
+                .description("The number of entries added to the cache")
+                .register(registry);
+        this.evictions = Counter.builder("cache.evictions").tags(tags)
+                .description("The number of entries evicted from the cache")
+                .register(registry);
+        this.loads = loads(registry, tags, "success");
+        this.failedLoads = loads(registry, tags, "failure");
+    }
+
+    void hit(boolean local) {
+        (local ? localHits : remoteHits).increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void put() {
+        puts.increment();
+    }
+
+    void evicted(int count) {
+        evictions.increment(count);
+    }
+
+    Timer.Sample startLoad() {
+        return Timer.start();
+    }
+
+    void loaded(Timer.Sample sample, boolean success) {
+        sample.stop(success ? loads : failedLoads);
+    }
+
+    private static Counter gets(MeterRegistry registry, Tags tags, String result, String tier) {
+        return Counter.builder("cache.gets").tags(tags).tag("result", result).tag("tier", tier)
+                .description("The number of times cache lookup methods have returned a cached (hit) or uncached (miss) value")
+                .register(registry);
+    }
+
+    private static Timer loads(MeterRegistry registry, Tags tags, String result) {
+        return Timer.builder("cache.load.duration").tags(tags).tag("result", result)
+                .description("Time spent computing entries missing from the cache")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
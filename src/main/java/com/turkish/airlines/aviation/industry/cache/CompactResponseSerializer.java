@@ -0,0 +1,353 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.response.RouteResponse;
+import com.turkish.airlines.aviation.industry.response.TransportationResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encoding of {@link RouteResponse}, {@link TransportationResponse} and lists of either for the
+ * Redis caches, without the class metadata and field names the JSON serializer writes into every entry.
+ * <p>
+ * A value starts with a marker byte, the schema version and the kind of value. Numbers are varints and
+ * every string is written once per value, later occurrences refer back to it, so the location names and
+ * types repeated across the legs of a route list cost a byte or two each.
+ * <p>
+ * Other values, and values written by the fallback serializer, are handed to the fallback, so a cache can
+ * be switched over while entries in the previous format are still around. A value of an unknown schema
+ * version, written by a newer node during a rolling deploy, reads as a miss and is overwritten.
+ */
+@Slf4j
+public class CompactResponseSerializer implements RedisSerializer<Object> {
+
+    static final byte MARKER = (byte) 0xC5;
+    static final byte VERSION = 1;
+
+    private static final byte ROUTE_LIST = 1;
+    private static final byte TRANSPORTATION_LIST = 2;
+    private static final byte ROUTE = 3;
+    private static final byte TRANSPORTATION = 4;
+
+    private final RedisSerializer<Object> fallback;
+
+    public CompactResponseSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte kind = kindOf(value);
+        if (kind == 0) {
+            return fallback.serialize(value);
+        }
+        Writer writer = new Writer();
+        writer.writeByte(MARKER);
+        writer.writeByte(VERSION);
+        writer.writeByte(kind);
+        switch (kind) {
+            case ROUTE_LIST -> {
+                List<?> routes = (List<?>) value;
+                writer.writeVarInt(routes.size());
+                routes.forEach(route -> writer.writeRoute((RouteResponse) route));
+            }
+            case TRANSPORTATION_LIST -> writer.writeTransportations((List<?>) value);
+            case ROUTE -> writer.writeRoute((RouteResponse) value);
+            default -> writer.writeTransportation((TransportationResponse) value);
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MARKER) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < 3 || bytes[1] != VERSION) {
+            log.debug("Ignoring cached value of schema version {}", bytes.length > 1 ? bytes[1] : "?");
+            return null;
+        }
+        Reader reader = new Reader(bytes);
+        try {
+            return switch (bytes[2]) {
+                case ROUTE_LIST -> {
+                    int size = reader.readVarInt();
+                    List<RouteResponse> routes = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        routes.add(reader.readRoute());
+                    }
+                    yield routes;
+                }
+                case TRANSPORTATION_LIST -> reader.readTransportations();
+                case ROUTE -> reader.readRoute();
+                case TRANSPORTATION -> reader.readTransportation();
+                default -> throw new SerializationException("Unknown cached value kind " + bytes[2]);
+            };
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated cached value", e);
+        }
+    }
+
+    /**
+     * @return the kind of the value, or 0 when it is left to the fallback
+     */
+    private static byte kindOf(Object value) {
+        if (value instanceof RouteResponse) {
+            return ROUTE;
+        }
+        if (value instanceof TransportationResponse) {
+            return TRANSPORTATION;
+        }
+        // The first element tells the element type, an empty list is left to the fallback
+        if (value instanceof List<?> list && !list.isEmpty()) {
+            Class<?> elementType = list.get(0) != null ? list.get(0).getClass() : null;
+            for (Object element : list) {
+                if (element == null || element.getClass() != elementType) {
+                    return 0;
+                }
+            }
+            if (elementType == RouteResponse.class) {
+                return ROUTE_LIST;
+            }
+            if (elementType == TransportationResponse.class) {
+                return TRANSPORTATION_LIST;
+            }
+        }
+        return 0;
+    }
+
+    private static final class Writer {
+        private byte[] buffer = new byte[256];
+        private int size;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        void writeByte(int value) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, size * 2);
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            if (size + bytes.length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(size * 2, size + bytes.length));
+            }
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * 0 is {@code null}, an odd code refers to an earlier string, an even code announces a new one of
+         * {@code code / 2 - 1} bytes.
+         */
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarLong(((long) index << 1) | 1);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(((long) bytes.length + 1) << 1);
+            writeBytes(bytes);
+        }
+
+        void writeDecimal(BigDecimal value) {
+            writeSignedVarLong(value.scale());
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            writeVarInt(unscaled.length);
+            writeBytes(unscaled);
+        }
+
+        void writeTransportation(TransportationResponse transportation) {
+            int flags = (transportation.getId() != null ? 1 : 0)
+                    | (transportation.getOriginLocationId() != null ? 2 : 0)
+                    | (transportation.getDestinationLocationId() != null ? 4 : 0);
+            writeByte(flags);
+            if (transportation.getId() != null) {
+                writeSignedVarLong(transportation.getId());
+            }
+            if (transportation.getOriginLocationId() != null) {
+                writeSignedVarLong(transportation.getOriginLocationId());
+            }
+            if (transportation.getDestinationLocationId() != null) {
+                writeSignedVarLong(transportation.getDestinationLocationId());
+            }
+            writeString(transportation.getTransportationType());
+            writeString(transportation.getOriginLocationName());
+            writeString(transportation.getDestinationLocationName());
+        }
+
+        void writeTransportations(List<?> transportations) {
+            writeVarInt(transportations.size());
+            transportations.forEach(transportation -> writeTransportation((TransportationResponse) transportation));
+        }
+
+        void writeRoute(RouteResponse route) {
+            int flags = (route.getBeforeFlight() != null ? 1 : 0)
+                    | (route.getFlight() != null ? 2 : 0)
+                    | (route.getConnectingFlights() != null ? 4 : 0)
+                    | (route.getAfterFlight() != null ? 8 : 0)
+                    | (route.getTotalPrice() != null ? 16 : 0);
+            writeByte(flags);
+            if (route.getBeforeFlight() != null) {
+                writeTransportation(route.getBeforeFlight());
+            }
+            if (route.getFlight() != null) {
+                writeTransportation(route.getFlight());
+            }
+            if (route.getConnectingFlights() != null) {
+                writeTransportations(route.getConnectingFlights());
+            }
+            if (route.getAfterFlight() != null) {
+                writeTransportation(route.getAfterFlight());
+            }
+            writeSignedVarLong(route.getTotalStops());
+            writeSignedVarLong(route.getTotalDuration());
+            if (route.getTotalPrice() != null) {
+                writeDecimal(route.getTotalPrice());
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buffer;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(byte[] bytes) {
+            // Past the marker, version and kind
+            this.buffer = ByteBuffer.wrap(bytes, 3, bytes.length - 3);
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in cached value");
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readSignedVarLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() {
+            long code = readVarLong();
+            if (code == 0) {
+                return null;
+            }
+            if ((code & 1) == 1) {
+                return strings.get((int) (code >>> 1));
+            }
+            byte[] bytes = new byte[(int) (code >>> 1) - 1];
+            buffer.get(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        BigDecimal readDecimal() {
+            int scale = (int) readSignedVarLong();
+            byte[] unscaled = new byte[readVarInt()];
+            buffer.get(unscaled);
+            return new BigDecimal(new BigInteger(unscaled), scale);
+        }
+
+        TransportationResponse readTransportation() {
+            int flags = buffer.get();
+            TransportationResponse transportation = new TransportationResponse();
+            if ((flags & 1) != 0) {
+                transportation.setId(readSignedVarLong());
+            }
+            if ((flags & 2) != 0) {
+                transportation.setOriginLocationId(readSignedVarLong());
+            }
+            if ((flags & 4) != 0) {
+                transportation.setDestinationLocationId(readSignedVarLong());
+            }
+            transportation.setTransportationType(readString());
+            transportation.setOriginLocationName(readString());
+            transportation.setDestinationLocationName(readString());
+            return transportation;
+        }
+
+        List<TransportationResponse> readTransportations() {
+            int size = readVarInt();
+            List<TransportationResponse> transportations = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                transportations.add(readTransportation());
+            }
+            return transportations;
+        }
+
+        RouteResponse readRoute() {
+            int flags = buffer.get();
+            RouteResponse route = new RouteResponse();
+            if ((flags & 1) != 0) {
+                route.setBeforeFlight(readTransportation());
+            }
+            if ((flags & 2) != 0) {
+                route.setFlight(readTransportation());
+            }
+            if ((flags & 4) != 0) {
+                route.setConnectingFlights(readTransportations());
+            }
+            if ((flags & 8) != 0) {
+                route.setAfterFlight(readTransportation());
+            }
+            route.setTotalStops((int) readSignedVarLong());
+            route.setTotalDuration((int) readSignedVarLong());
+            if ((flags & 16) != 0) {
+                route.setTotalPrice(readDecimal());
+            }
+            return route;
+        }
+    }
+}
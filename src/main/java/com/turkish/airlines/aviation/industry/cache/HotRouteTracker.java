@@ -0,0 +1,104 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.request.RouteSearchRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Learns the most searched routes across all nodes, for cache warm-up and refresh-ahead.
+ * <p>
+ * Searches are counted in process by cache key and added to a sorted set in Redis periodically, so
+ * counting costs no round trip and the ranking survives deploys. Earlier counts lose a tenth of their
+ * weight on every flush so the ranking follows current demand, and only the top of the set is kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotRouteTracker {
+
+    static final String HOT_ROUTES_KEY = "aviation:hot-routes";
+    private static final int MAX_PENDING_KEYS = 10_000;
+    private static final double DECAY = 0.9;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+
+    @Value("${route.cache.hot-routes:200}")
+    private int hotRoutes;
+
+    public void record(RouteSearchRequest request) {
+        String key = RouteSearchKeyGenerator.key(request);
+        LongAdder count = pendingCounts.get(key);
+        if (count == null) {
+            // A flood of distinct keys between two flushes is not worth remembering
+            if (pendingCounts.size() >= MAX_PENDING_KEYS) {
+                return;
+            }
+            count = pendingCounts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${route.cache.hot-routes-flush-ms:60000}")
+    public void flush() {
+        if (pendingCounts.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, Long>> counts = new ArrayList<>(pendingCounts.size());
+        for (String key : pendingCounts.keySet()) {
+            LongAdder count = pendingCounts.remove(key);
+            if (count != null) {
+                counts.add(Map.entry(key, count.sum()));
+            }
+        }
+        try {
+            ZSetOperations<String, String> ranking = redisTemplate.opsForZSet();
+            ranking.unionAndStore(HOT_ROUTES_KEY, Collections.emptyList(), HOT_ROUTES_KEY,
+                    Aggregate.SUM, Weights.of(DECAY));
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    ZSetOperations<String, String> pipelined = operations.opsForZSet();
+                    counts.forEach(entry -> pipelined.incrementScore(HOT_ROUTES_KEY, entry.getKey(), entry.getValue()));
+                    return null;
+                }
+            });
+            // Keep a margin beyond the tracked top so keys on the rise are not dropped right away
+            ranking.removeRange(HOT_ROUTES_KEY, 0, -(hotRoutes * 4L) - 1);
+        } catch (DataAccessException e) {
+            log.warn("Could not record {} searched routes: {}", counts.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * @return the cache keys of the most searched routes, most searched first
+     */
+    public List<String> getHotKeys() {
+        try {
+            Set<String> keys = redisTemplate.opsForZSet().reverseRange(HOT_ROUTES_KEY, 0, hotRoutes - 1L);
+            return keys != null ? new ArrayList<>(keys) : Collections.emptyList();
+        } catch (DataAccessException e) {
+            log.warn("Could not read the most searched routes: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Records the size of the values a cache writes to and reads from Redis as {@code cache.payload.size},
+ * tagged with the cache name and the operation.
+ */
+public class MeteredRedisSerializer<T> implements RedisSerializer<T> {
+
+    private final RedisSerializer<T> delegate;
+    private final DistributionSummary written;
+    private final DistributionSummary read;
+
+    public MeteredRedisSerializer(String cacheName, RedisSerializer<T> delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.written = payloadSize(registry, cacheName, "write");
+        this.read = payloadSize(registry, cacheName, "read");
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            written.record(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null) {
+            read.record(bytes.length);
+        }
+        return delegate.deserialize(bytes);
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return delegate.getTargetType();
+    }
+
+    private static DistributionSummary payloadSize(MeterRegistry registry, String cacheName, String operation) {
+        return DistributionSummary.builder("cache.payload.size")
+                .tag("cache", cacheName)
+                .tag("operation", operation)
+                .baseUnit("bytes")
+                .description("Serialized size of the values written to and read from Redis")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.graph.NetworkSnapshotStore;
+import com.turkish.airlines.aviation.industry.graph.RouteGraph;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps routes computed from an outdated route network out of the shared caches. A value is computed from
+ * the network version this node's {@link RouteGraph} reflects, and is current while no change has been
+ * counted after it in the {@link NetworkSnapshotStore}. A node that lags behind another one's change, or a
+ * search that started before a change on this node, then cannot leave its result behind the eviction.
+ * <p>
+ * The graph and the store are looked up on use, so the cache manager does not load the network.
+ */
+public class NetworkVersionGuard implements TwoTierCache.VersionGuard {
+
+    private static final long UNKNOWN_VERSION = -1;
+
+    private final ObjectProvider<RouteGraph> routeGraph;
+    private final ObjectProvider<NetworkSnapshotStore> snapshotStore;
+    private final Set<String> cacheNames = new HashSet<>();
+
+    public NetworkVersionGuard(ObjectProvider<RouteGraph> routeGraph, ObjectProvider<NetworkSnapshotStore> snapshotStore) {
+        this.routeGraph = routeGraph;
+        this.snapshotStore = snapshotStore;
+    }
+
+    /**
+     * Guards the caches whose values are computed from the route network.
+     */
+    public NetworkVersionGuard guard(String... cacheNames) {
+        this.cacheNames.addAll(Set.of(cacheNames));
+        return this;
+    }
+
+    public boolean guards(String cacheName) {
+        return cacheNames.contains(cacheName);
+    }
+
+    @Override
+    public long currentVersion() {
+        RouteGraph graph = routeGraph.getIfAvailable();
+        return graph != null ? graph.getVersion() : UNKNOWN_VERSION;
+    }
+
+    @Override
+    public boolean isCurrent(long version) {
+        NetworkSnapshotStore store = snapshotStore.getIfAvailable();
+        if (store == null) {
+            return true;
+        }
+        long current = store.currentVersion();
+        return version != UNKNOWN_VERSION && current != UNKNOWN_VERSION && current <= version;
+    }
+}
@@ -0,0 +1,62 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A short lived {@code SET NX} key per cache entry being computed, so that after an entry expires only
+ * one node of the cluster recomputes it. The lease expires on its own if its holder dies, and is only
+ * released by the node holding it.
+ */
+@Slf4j
+class RedisMissLease implements TwoTierCache.MissLease {
+
+    private static final String KEY_PREFIX = "aviation:lease:";
+    private static final RedisScript<Long> RELEASE = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId;
+    private final Duration leaseTime;
+
+    RedisMissLease(StringRedisTemplate redisTemplate, String nodeId, Duration leaseTime) {
+        this.redisTemplate = redisTemplate;
+        this.nodeId = nodeId;
+        this.leaseTime = leaseTime;
+    }
+
+    @Override
+    public Duration getLeaseTime() {
+        return leaseTime;
+    }
+
+    @Override
+    public boolean tryAcquire(String cacheName, String key) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey(cacheName, key), nodeId, leaseTime));
+        } catch (DataAccessException e) {
+            // Computing locally is always correct, the lease only saves work
+            log.warn("Could not acquire lease for {} of cache {}: {}", key, cacheName, e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void release(String cacheName, String key) {
+        try {
+            redisTemplate.execute(RELEASE, List.of(leaseKey(cacheName, key)), nodeId);
+        } catch (DataAccessException e) {
+            log.warn("Could not release lease for {} of cache {}: {}", key, cacheName, e.getMessage());
+        }
+    }
+
+    private static String leaseKey(String cacheName, String key) {
+        return KEY_PREFIX + cacheName + "::" + key;
+    }
+}
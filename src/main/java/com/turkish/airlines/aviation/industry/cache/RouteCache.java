@@ -0,0 +1,274 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.constants.CacheConstants;
+import com.turkish.airlines.aviation.industry.request.RouteSearchRequest;
+import com.turkish.airlines.aviation.industry.response.RouteResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Multi-key access to the {@link CacheConstants#ROUTES} cache for batch searches. Keys held by the
+ * local tier of a {@link TwoTierCache} are answered in process, the remaining ones are read from Redis
+ * with a single {@code MGET} and kept locally; other cache implementations are read key by key.
+ * <p>
+ * Also holds the short lived {@link CacheConstants#NO_ROUTES} results, reads the remaining time to live
+ * of entries for refresh-ahead, and evicts the entries of a set of origin/destination pairs, found in the
+ * {@link CacheKeyIndex} sets of their origins or destinations by {@link CacheKeyEvictor}, for the change
+ * driven invalidation in {@link CacheInvalidationListener}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RouteCache {
+
+    private static final String ORIGIN_TAG = "origin:";
+    private static final String DESTINATION_TAG = "destination:";
+
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory connectionFactory;
+    private final CacheKeyEvictor cacheKeyEvictor;
+
+    public Map<RouteSearchRequest, List<RouteResponse>> getAll(Collection<RouteSearchRequest> requests) {
+        Cache cache = cacheManager.getCache(CacheConstants.ROUTES);
+        List<RouteSearchRequest> distinctRequests = new ArrayList<>(new LinkedHashSet<>(requests));
+        if (cache == null || distinctRequests.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<RouteSearchRequest, List<RouteResponse>> hits = new HashMap<>();
+        List<RouteSearchRequest> misses = distinctRequests;
+        Cache remote = cache;
+        TwoTierCache twoTierCache = cache instanceof TwoTierCache twoTier ? twoTier : null;
+        if (twoTierCache != null) {
+            // Local hits first, only the rest goes to Redis
+            misses = new ArrayList<>();
+            for (RouteSearchRequest request : distinctRequests) {
+                if (twoTierCache.getLocal(RouteSearchKeyGenerator.key(request)) instanceof List<?> routes) {
+                    hits.put(request, castRoutes(routes));
+                } else {
+                    misses.add(request);
+                }
+            }
+            remote = twoTierCache.getRemote();
+        }
+
+        try {
+            List<Object> values = misses.isEmpty() ? Collections.emptyList()
+                    : remote instanceof RedisCache redisCache
+                    ? multiGet(redisCache, misses)
+                    : get(remote, misses);
+
+            for (int i = 0; i < values.size(); i++) {
+                if (values.get(i) instanceof List<?> routes) {
+                    RouteSearchRequest request = misses.get(i);
+                    hits.put(request, castRoutes(routes));
+                    if (twoTierCache != null) {
+                        twoTierCache.putLocal(RouteSearchKeyGenerator.key(request), routes);
+                        twoTierCache.getMetrics().hit(false);
+                    }
+                } else if (twoTierCache != null) {
+                    twoTierCache.getMetrics().miss();
+                }
+            }
+        } catch (DataAccessException | SerializationException e) {
+            log.warn("Route cache lookup failed, searching the rest of the batch: {}", e.getMessage());
+        }
+        log.debug("Route cache answered {} of {} batch searches", hits.size(), distinctRequests.size());
+        return hits;
+    }
+
+    /**
+     * @param networkVersion the route network version read before the routes were searched, see
+     *                       {@link NetworkVersionGuard}
+     */
+    public void putAll(Map<RouteSearchRequest, List<RouteResponse>> routes, long networkVersion) {
+        Cache cache = cacheManager.getCache(CacheConstants.ROUTES);
+        if (cache == null) {
+            return;
+        }
+        try {
+            List<String> keys = new ArrayList<>(routes.size());
+            routes.forEach((request, value) -> {
+                // A search never caches an empty result, see RouteServiceImpl#findRoutes
+                if (!value.isEmpty()) {
+                    String key = RouteSearchKeyGenerator.key(request);
+                    cache.put(key, value);
+                    keys.add(key);
+                }
+            });
+            if (cache instanceof TwoTierCache twoTierCache) {
+                twoTierCache.evictIfSuperseded(keys, networkVersion);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Route cache update failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the remaining time to live of the cached searches, {@link Duration#ZERO} for searches not
+     * cached; empty when the cache is not backed by Redis
+     */
+    public Map<RouteSearchRequest, Duration> getTimeToLive(Collection<RouteSearchRequest> requests) {
+        Cache cache = cacheManager.getCache(CacheConstants.ROUTES);
+        Cache remote = cache instanceof TwoTierCache twoTierCache ? twoTierCache.getRemote() : cache;
+        List<RouteSearchRequest> distinctRequests = new ArrayList<>(new LinkedHashSet<>(requests));
+        if (!(remote instanceof RedisCache redisCache) || distinctRequests.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Object> ttls;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (RouteSearchRequest request : distinctRequests) {
+                connection.keyCommands().pTtl(rawKey(redisCache, request));
+            }
+            ttls = connection.closePipeline();
+        }
+
+        Map<RouteSearchRequest, Duration> timeToLive = new HashMap<>();
+        for (int i = 0; i < distinctRequests.size(); i++) {
+            // -2 for a missing key, -1 for a key without expiry
+            long millis = ttls.get(i) instanceof Long ttl ? ttl : -2;
+            timeToLive.put(distinctRequests.get(i), millis == -1 ? ChronoUnit.FOREVER.getDuration()
+                    : Duration.ofMillis(Math.max(millis, 0)));
+        }
+        return timeToLive;
+    }
+
+    /**
+     * @return the message of the cached "no route" result of the search, or {@code null} when there is none
+     */
+    public String getNoRoutesMessage(RouteSearchRequest request) {
+        Cache cache = cacheManager.getCache(CacheConstants.NO_ROUTES);
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.get(RouteSearchKeyGenerator.key(request), String.class);
+        } catch (DataAccessException | SerializationException e) {
+            log.warn("No routes cache lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param networkVersion the route network version read before the search, see {@link NetworkVersionGuard}
+     */
+    public void putNoRoutes(RouteSearchRequest request, String message, long networkVersion) {
+        Cache cache = cacheManager.getCache(CacheConstants.NO_ROUTES);
+        if (cache == null) {
+            return;
+        }
+        try {
+            String key = RouteSearchKeyGenerator.key(request);
+            cache.put(key, message);
+            if (cache instanceof TwoTierCache twoTierCache) {
+                twoTierCache.evictIfSuperseded(List.of(key), networkVersion);
+            }
+        } catch (DataAccessException e) {
+            log.warn("No routes cache update failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Evicts every cached search, with or without routes, whose origin is one of {@code originIds} and
+     * whose destination is one of {@code destinationIds}, from both tiers and from the local tier of every
+     * other node. The candidates are read from the index sets of the smaller side. Caches whose keys are
+     * not indexed are cleared instead.
+     *
+     * @return the number of evicted keys, not counting cleared caches
+     */
+    public int evictTouching(Set<Long> originIds, Set<Long> destinationIds) {
+        if (originIds.isEmpty() || destinationIds.isEmpty()) {
+            return 0;
+        }
+        List<String> tags = originIds.size() <= destinationIds.size()
+                ? originIds.stream().map(originId -> ORIGIN_TAG + originId).toList()
+                : destinationIds.stream().map(destinationId -> DESTINATION_TAG + destinationId).toList();
+        Predicate<String> touched = key -> touches(key, originIds, destinationIds);
+        return cacheKeyEvictor.evictIndexed(CacheConstants.ROUTES, tags, touched)
+                + cacheKeyEvictor.evictIndexed(CacheConstants.NO_ROUTES, tags, touched);
+    }
+
+    /**
+     * The {@link CacheKeyIndex} tags of a search key: its origin and its destination.
+     */
+    public static List<String> indexTags(String key) {
+        String[] parts = key.split(":", 3);
+        if (parts.length < 2) {
+            return Collections.emptyList();
+        }
+        return List.of(ORIGIN_TAG + parts[0], DESTINATION_TAG + parts[1]);
+    }
+
+    /**
+     * Keys start with the origin and destination ids, see {@link RouteSearchKeyGenerator#key}. A key that
+     * cannot be read is treated as touched.
+     */
+    static boolean touches(String key, Set<Long> originIds, Set<Long> destinationIds) {
+        String[] parts = key.split(":", 3);
+        if (parts.length < 2) {
+            return true;
+        }
+        try {
+            return originIds.contains(Long.valueOf(parts[0])) && destinationIds.contains(Long.valueOf(parts[1]));
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private List<Object> multiGet(RedisCache cache, List<RouteSearchRequest> requests) {
+        RedisCacheConfiguration configuration = cache.getCacheConfiguration();
+
+        byte[][] keys = new byte[requests.size()][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = rawKey(cache, requests.get(i));
+        }
+
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(keys);
+        }
+
+        List<Object> values = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            byte[] raw = rawValues != null ? rawValues.get(i) : null;
+            values.add(raw != null ? configuration.getValueSerializationPair().read(ByteBuffer.wrap(raw)) : null);
+        }
+        return values;
+    }
+
+    private static byte[] rawKey(RedisCache cache, RouteSearchRequest request) {
+        RedisCacheConfiguration configuration = cache.getCacheConfiguration();
+        String prefix = configuration.usePrefix() ? configuration.getKeyPrefixFor(cache.getName()) : "";
+        return ByteUtils.getBytes(configuration.getKeySerializationPair()
+                .write(prefix + RouteSearchKeyGenerator.key(request)));
+    }
+
+    private static List<Object> get(Cache cache, List<RouteSearchRequest> requests) {
+        return requests.stream()
+                .map(request -> cache.get(RouteSearchKeyGenerator.key(request), Object.class))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<RouteResponse> castRoutes(List<?> routes) {
+        return (List<RouteResponse>) routes;
+    }
+}
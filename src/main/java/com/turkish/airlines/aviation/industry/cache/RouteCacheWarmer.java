@@ -0,0 +1,135 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.request.RouteSearchRequest;
+import com.turkish.airlines.aviation.industry.service.RouteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the routes of the hot searches cached: the pairs configured in {@code route.cache.warm-up-pairs}
+ * and the most searched routes learned by {@link HotRouteTracker}.
+ * <p>
+ * On startup the hot searches missing from the cache are computed before the instance reports ready,
+ * application runners complete before the readiness state changes. Refresh-ahead then recomputes hot
+ * entries shortly before they expire, on one node per interval, so they never expire under load.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RouteCacheWarmer implements ApplicationRunner {
+
+    private static final String REFRESH_LEASE_KEY = "aviation:lease:refresh-ahead";
+
+    private final RouteService routeService;
+    private final RouteCache routeCache;
+    private final HotRouteTracker hotRouteTracker;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${route.cache.warm-up-enabled:true}")
+    private boolean warmUpEnabled;
+
+    // origin:destination pairs searched with default criteria
+    @Value("${route.cache.warm-up-pairs:}")
+    private String[] warmUpPairs;
+
+    @Value("${route.cache.refresh-ahead-enabled:true}")
+    private boolean refreshAheadEnabled;
+
+    @Value("${route.cache.refresh-ahead-seconds:600}")
+    private long refreshAheadSeconds;
+
+    @Value("${route.cache.refresh-ahead-interval-ms:60000}")
+    private long refreshAheadIntervalMillis;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmUpEnabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            List<RouteSearchRequest> hotSearches = getHotSearches();
+            Set<RouteSearchRequest> cached = routeCache.getAll(hotSearches).keySet();
+            List<RouteSearchRequest> missing = hotSearches.stream()
+                    .filter(request -> !cached.contains(request))
+                    .toList();
+            int warmed = routeService.refreshRoutes(missing);
+            log.info("Route cache warmed with {} of {} hot searches ({} already cached) in {} ms",
+                    warmed, hotSearches.size(), cached.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            // A cold cache is slow, not wrong; never keep the instance from starting
+            log.warn("Route cache warm-up failed after {} ms: {}", System.currentTimeMillis() - start, e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${route.cache.refresh-ahead-interval-ms:60000}",
+            fixedDelayString = "${route.cache.refresh-ahead-interval-ms:60000}")
+    public void refreshAhead() {
+        if (!refreshAheadEnabled || !acquireRefreshLease()) {
+            return;
+        }
+        try {
+            Duration threshold = Duration.ofSeconds(refreshAheadSeconds);
+            Map<RouteSearchRequest, Duration> timeToLive = routeCache.getTimeToLive(getHotSearches());
+            List<RouteSearchRequest> expiring = timeToLive.entrySet().stream()
+                    .filter(entry -> entry.getValue().compareTo(threshold) < 0)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!expiring.isEmpty()) {
+                int refreshed = routeService.refreshRoutes(expiring);
+                log.debug("Refreshed {} of {} hot route searches close to expiry", refreshed, expiring.size());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Route cache refresh-ahead failed: {}", e.getMessage());
+        }
+    }
+
+    List<RouteSearchRequest> getHotSearches() {
+        Set<RouteSearchRequest> searches = new LinkedHashSet<>();
+        for (String pair : warmUpPairs) {
+            String[] ids = pair.trim().split(":");
+            try {
+                searches.add(RouteSearchRequest.builder()
+                        .originLocationId(Long.valueOf(ids[0].trim()))
+                        .destinationLocationId(Long.valueOf(ids[1].trim()))
+                        .build());
+            } catch (RuntimeException e) {
+                log.warn("Ignoring malformed warm-up pair '{}'", pair);
+            }
+        }
+        for (String key : hotRouteTracker.getHotKeys()) {
+            RouteSearchRequest request = RouteSearchKeyGenerator.request(key);
+            if (request != null) {
+                searches.add(request);
+            }
+        }
+        return new ArrayList<>(searches);
+    }
+
+    /**
+     * Held for half an interval, so the nodes do not all refresh the same entries.
+     */
+    private boolean acquireRefreshLease() {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(REFRESH_LEASE_KEY, "1",
+                    Duration.ofMillis(Math.max(refreshAheadIntervalMillis / 2, 1))));
+        } catch (DataAccessException e) {
+            log.warn("Could not acquire the refresh-ahead lease: {}", e.getMessage());
+            return false;
+        }
+    }
+}
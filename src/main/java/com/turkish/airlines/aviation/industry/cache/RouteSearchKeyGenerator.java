@@ -0,0 +1,64 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.enums.RouteSortCriteria;
+import com.turkish.airlines.aviation.industry.request.RouteSearchRequest;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Cache key of a route search. Shared by {@code @Cacheable} and the batch lookup in {@link RouteCache}
+ * so both address the same entries.
+ */
+@Component(RouteSearchKeyGenerator.NAME)
+public class RouteSearchKeyGenerator implements KeyGenerator {
+
+    public static final String NAME = "routeSearchKeyGenerator";
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return key((RouteSearchRequest) params[0]);
+    }
+
+    public static String key(RouteSearchRequest request) {
+        return request.getOriginLocationId()
+                + ":" + request.getDestinationLocationId()
+                + ":" + Objects.toString(request.getMaxFlights(), "")
+                + ":" + Objects.toString(request.getMaxDuration(), "")
+                + ":" + normalize(request.getMaxPrice())
+                + ":" + Objects.toString(request.getSortBy(), "")
+                + ":" + Objects.toString(request.getLimit(), "");
+    }
+
+    /**
+     * The inverse of {@link #key}, for searches known only by their cache key.
+     *
+     * @return the search, or {@code null} when the key is not a route search key
+     */
+    public static RouteSearchRequest request(String key) {
+        String[] parts = key.split(":", -1);
+        if (parts.length != 7) {
+            return null;
+        }
+        try {
+            return RouteSearchRequest.builder()
+                    .originLocationId(Long.valueOf(parts[0]))
+                    .destinationLocationId(Long.valueOf(parts[1]))
+                    .maxFlights(parts[2].isEmpty() ? null : Integer.valueOf(parts[2]))
+                    .maxDuration(parts[3].isEmpty() ? null : Integer.valueOf(parts[3]))
+                    .maxPrice(parts[4].isEmpty() ? null : new BigDecimal(parts[4]))
+                    .sortBy(parts[5].isEmpty() ? null : RouteSortCriteria.valueOf(parts[5]))
+                    .limit(parts[6].isEmpty() ? null : Integer.valueOf(parts[6]))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String normalize(BigDecimal price) {
+        return price != null ? price.stripTrailingZeros().toPlainString() : "";
+    }
+}
@@ -0,0 +1,102 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.constants.CacheConstants;
+import com.turkish.airlines.aviation.industry.datasource.ReadFromPrimary;
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.mapper.TransportationMapper;
+import com.turkish.airlines.aviation.industry.repository.TransportationRepository;
+import com.turkish.airlines.aviation.industry.response.TransportationResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The transportation listing cached in chunks of consecutive ids, {@code transportation.page.chunk-size}
+ * ids each, one entry per chunk and filter. A page is assembled from the few chunks its ids fall into,
+ * and a change evicts the chunks of the changed ids only, so neither depends on the size of the table.
+ * <p>
+ * Keys are {@code chunkSize:chunk:type:originLocationId}, with {@code null} for a missing filter. The chunk
+ * size keeps nodes configured with different sizes, as during a rolling change of the setting, from reading
+ * each other's chunks as their own.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransportationChunkCache {
+
+    private static final String CHUNK_TAG = "chunk:";
+
+    private final TransportationRepository transportationRepository;
+    private final TransportationMapper transportationMapper;
+    private final CacheKeyEvictor cacheKeyEvictor;
+
+    @Getter
+    @Value("${transportation.page.chunk-size:256}")
+    private int chunkSize;
+
+    /**
+     * Empty chunks are cached as well, gaps in the ids are read once.
+     */
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(value = CacheConstants.TRANSPORTATION_CHUNKS, key = "#root.target.chunkSize + ':' + #chunk + ':' + #type + ':' + #originLocationId")
+    public List<TransportationResponse> getChunk(long chunk, TransportationType type, Long originLocationId) {
+        log.debug("Fetching transportation chunk {} of type {} from location {}", chunk, type, originLocationId);
+        return transportationRepository.findIdRange(chunk * chunkSize, (chunk + 1) * chunkSize, type, originLocationId)
+                .stream()
+                .map(transportationMapper::mapToTransportationResponse)
+                .collect(Collectors.toList());
+    }
+
+    public long chunkOf(long id) {
+        return Math.floorDiv(id, chunkSize);
+    }
+
+    public long firstId(long chunk) {
+        return chunk * chunkSize;
+    }
+
+    /**
+     * Evicts every filter variant of the chunks at this node's chunk size, from both tiers and from the local
+     * tier of every other node. The variants are read from the {@link CacheKeyIndex} set of each chunk.
+     *
+     * @return the number of evicted keys
+     */
+    public int evictChunks(Set<Long> chunks) {
+        if (chunks.isEmpty()) {
+            return 0;
+        }
+        List<String> tags = chunks.stream().map(chunk -> CHUNK_TAG + chunkSize + ':' + chunk).toList();
+        return cacheKeyEvictor.evictIndexed(CacheConstants.TRANSPORTATION_CHUNKS, tags,
+                key -> inChunks(key, chunkSize, chunks));
+    }
+
+    /**
+     * The {@link CacheKeyIndex} tag of a chunk key: its chunk size and chunk.
+     */
+    public static List<String> indexTags(String key) {
+        int end = key.indexOf(':', key.indexOf(':') + 1);
+        return List.of(CHUNK_TAG + (end < 0 ? key : key.substring(0, end)));
+    }
+
+    /**
+     * A key that cannot be read is treated as in the chunks, a key of another chunk size is not.
+     */
+    static boolean inChunks(String key, int chunkSize, Set<Long> chunks) {
+        String[] parts = key.split(":", 3);
+        try {
+            return parts.length < 2
+                    || Integer.parseInt(parts[0]) == chunkSize && chunks.contains(Long.valueOf(parts[1]));
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded in-process cache (L1) in front of a shared remote cache (L2, Redis).
+ * <p>
+ * Reads are answered from L1 when possible and fill it from L2 otherwise; writes go to both tiers.
+ * Evictions and clears are applied to both tiers and broadcast so other nodes drop their L1 copy as well.
+ * A put is not broadcast. Puts and evictions are not ordered against each other, though: a value computed
+ * before a change can be put after the eviction for that change. Caches with a {@link VersionGuard} take
+ * the version of the data before computing a value and check it again after the put; when the data has
+ * moved on, the value is evicted again. A change counts its version before it evicts, so either the
+ * check sees the newer version or the eviction runs after the put. Without a guard a late value stays
+ * until the next eviction of its key or its time to live.
+ * <p>
+ * With a {@link KeyIndex} every key written to L2 is recorded in it, so invalidations can find the
+ * entries of a change without scanning Redis. {@link Uncacheable} values are returned but never stored.
+ * <p>
+ * {@link #get(Object, Callable)} coalesces misses: concurrent callers of a key on this node wait for the
+ * one computing it. With a {@link MissLease} a node that finds another node computing the key waits for
+ * the shared value for up to the lease time before computing it itself.
+ * <p>
+ * Hits per tier, misses, puts, evictions and load times are recorded in {@link CacheMetrics}.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private static final long LEASE_POLL_MILLIS = 25;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final InvalidationPublisher invalidationPublisher;
+    private final MissLease missLease;
+    private final KeyIndex keyIndex;
+    private final VersionGuard versionGuard;
+    private final CacheMetrics metrics;
+    private final ConcurrentMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, Cache remote,
+                 InvalidationPublisher invalidationPublisher, MissLease missLease, KeyIndex keyIndex,
+                 VersionGuard versionGuard, CacheMetrics metrics) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+        this.missLease = missLease;
+        this.keyIndex = keyIndex;
+        this.versionGuard = versionGuard;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    public Cache getRemote() {
+        return remote;
+    }
+
+    CacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            metrics.hit(true);
+            return value;
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null) {
+            metrics.miss();
+            return null;
+        }
+        metrics.hit(false);
+        Object storeValue = toStoreValue(wrapper.get());
+        local.put(localKey, storeValue);
+        return storeValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        String localKey = localKey(key);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(localKey, future);
+        if (inFlight != null) {
+            try {
+                return (T) fromStoreValue(inFlight.join());
+            } catch (CompletionException e) {
+                // The same failure the computing caller got, e.g. a ValueRetrievalException
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            Object storeValue = load(key, localKey, valueLoader);
+            future.complete(storeValue);
+            return (T) fromStoreValue(storeValue);
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(localKey, future);
+        }
+    }
+
+    private Object load(Object key, String localKey, Callable<?> valueLoader) {
+        Object storeValue = local.getIfPresent(localKey);
+        if (storeValue != null) {
+            return storeValue;
+        }
+        boolean leased = missLease == null || missLease.tryAcquire(name, localKey);
+        try {
+            if (!leased) {
+                storeValue = awaitRemote(key);
+                if (storeValue != null) {
+                    local.put(localKey, storeValue);
+                    return storeValue;
+                }
+            }
+            long version = versionGuard != null ? versionGuard.currentVersion() : 0;
+            Object value;
+            Timer.Sample sample = metrics.startLoad();
+            try {
+                value = valueLoader.call();
+                metrics.loaded(sample, true);
+            } catch (Exception e) {
+                metrics.loaded(sample, false);
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            if (value instanceof Uncacheable) {
+                return toStoreValue(value);
+            }
+            putRemote(key, localKey, value);
+            storeValue = toStoreValue(value);
+            local.put(localKey, storeValue);
+            evictIfSuperseded(List.of(key), version);
+            return storeValue;
+        } finally {
+            if (leased && missLease != null) {
+                missLease.release(name, localKey);
+            }
+        }
+    }
+
+    /**
+     * Polls L2 for the value another node is computing, for at most the lease time.
+     */
+    private Object awaitRemote(Object key) {
+        long deadline = System.nanoTime() + missLease.getLeaseTime().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(LEASE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null) {
+                return toStoreValue(wrapper.get());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value instanceof Uncacheable) {
+            return;
+        }
+        String localKey = localKey(key);
+        putRemote(key, localKey, value);
+        local.put(localKey, toStoreValue(value));
+    }
+
+    /**
+     * Indexes the key after the write, so an eviction racing the put finds it at the latest on the next
+     * change. An entry that could not be indexed would only expire, it is dropped again instead.
+     */
+    private void putRemote(Object key, String localKey, Object value) {
+        remote.put(key, value);
+        metrics.put();
+        if (keyIndex != null && !keyIndex.add(name, localKey)) {
+            remote.evict(key);
+        }
+    }
+
+    /**
+     * Evicts keys just put again when the data their values were computed from, read at
+     * {@code version} of the {@link VersionGuard}, has been superseded since. Does nothing without a guard.
+     */
+    public void evictIfSuperseded(Collection<?> keys, long version) {
+        if (versionGuard == null || keys.isEmpty() || versionGuard.isCurrent(version)) {
+            return;
+        }
+        List<String> localKeys = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            remote.evict(key);
+            localKeys.add(localKey(key));
+        }
+        evictLocal(localKeys);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        metrics.evicted(1);
+        invalidationPublisher.publish(name, List.of(localKey));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.publish(name, null);
+    }
+
+    /**
+     * Drops the keys from L1 on this and every other node with a single broadcast. The caller is
+     * responsible for the L2 entries, which can be removed in bulk far cheaper than key by key.
+     */
+    public void evictLocal(Collection<String> localKeys) {
+        if (localKeys.isEmpty()) {
+            return;
+        }
+        local.invalidateAll(localKeys);
+        metrics.evicted(localKeys.size());
+        invalidationPublisher.publish(name, localKeys);
+    }
+
+    /**
+     * @return a copy of the keys currently held in L1
+     */
+    public Set<String> localKeys() {
+        return Set.copyOf(local.asMap().keySet());
+    }
+
+    /**
+     * @return the L1 value of the key, or {@code null} when it is not held locally
+     */
+    public Object getLocal(Object key) {
+        Object value = local.getIfPresent(localKey(key));
+        if (value == null) {
+            return null;
+        }
+        metrics.hit(true);
+        return fromStoreValue(value);
+    }
+
+    public void putLocal(Object key, Object value) {
+        local.put(localKey(key), toStoreValue(value));
+    }
+
+    void invalidateLocal(Collection<String> localKeys) {
+        if (localKeys == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidateAll(localKeys);
+        }
+    }
+
+    long localSize() {
+        return local.estimatedSize();
+    }
+
+    /**
+     * L1 keys are the string form of the cache key, which is also what travels in invalidation messages.
+     */
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    interface MissLease {
+        Duration getLeaseTime();
+
+        /**
+         * @return {@code true} when this node should compute the key, {@code false} when another node is
+         */
+        boolean tryAcquire(String cacheName, String key);
+
+        void release(String cacheName, String key);
+    }
+
+    @FunctionalInterface
+    interface KeyIndex {
+        /**
+         * Records the key of an entry just written to L2.
+         *
+         * @return {@code false} when the key could not be recorded
+         */
+        boolean add(String cacheName, String key);
+    }
+
+    /**
+     * Version of the shared data the values of a cache are computed from.
+     */
+    public interface VersionGuard {
+        /**
+         * @return the version of the data a value computed from now on reflects at least
+         */
+        long currentVersion();
+
+        /**
+         * @return {@code false} when data newer than the version exists, or the version is unknown
+         */
+        boolean isCurrent(long version);
+    }
+
+    @FunctionalInterface
+    interface InvalidationPublisher {
+        /**
+         * @param keys the L1 keys to drop, or {@code null} to drop every entry of the cache
+         */
+        void publish(String cacheName, Collection<String> keys);
+    }
+}
@@ -0,0 +1,129 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every cache of the remote (Redis) cache manager into a {@link TwoTierCache} and keeps the L1
+ * tiers of all nodes consistent over Redis pub/sub.
+ * <p>
+ * Invalidation messages carry the sending node, the cache name and the keys to drop, one per line; a
+ * message without keys drops the whole cache.
+ * A node ignores its own messages, it has already invalidated locally. A lost message leaves an L1
+ * entry stale for at most the local time to live.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "aviation:cache-invalidation";
+
+    private final CacheManager remoteCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final long localMaximumSize;
+    private final Duration localTimeToLive;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final TwoTierCache.MissLease missLease;
+    private final CacheKeyIndex keyIndex;
+    private final NetworkVersionGuard versionGuard;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param missLeaseTime how long one node may compute a missing entry before others compute it as well,
+     *                      {@link Duration#ZERO} to only coalesce misses within a node
+     * @param keyIndex      where the keys written to the remote caches are recorded, {@code null} for none
+     * @param versionGuard  keeps values computed from an outdated route network out of the caches it guards,
+     *                      {@code null} for none
+     * @param meterRegistry where the meters of every cache are registered, {@code null} for none, which
+     *                      gives every cache {@link CacheMetrics#NONE}
+     */
+    public TwoTierCacheManager(CacheManager remoteCacheManager, StringRedisTemplate redisTemplate,
+                               long localMaximumSize, Duration localTimeToLive, Duration missLeaseTime,
+                               CacheKeyIndex keyIndex, NetworkVersionGuard versionGuard,
+                               MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.localMaximumSize = localMaximumSize;
+        this.localTimeToLive = localTimeToLive;
+        this.missLease = missLeaseTime.isZero() ? null : new RedisMissLease(redisTemplate, nodeId, missLeaseTime);
+        this.keyIndex = keyIndex;
+        this.versionGuard = versionGuard;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\n");
+        if (parts.length < 2 || parts[0].equals(nodeId)) {
+            return;
+        }
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            List<String> keys = parts.length > 2 ? Arrays.asList(parts).subList(2, parts.length) : null;
+            cache.invalidateLocal(keys);
+            log.debug("Invalidated local {} cache {} on request of node {}",
+                    parts[1], keys != null ? keys.size() + " entries" : "all entries", parts[0]);
+        }
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTimeToLive)
+                .build();
+        CacheMetrics metrics = CacheMetrics.NONE;
+        if (meterRegistry != null) {
+            metrics = new CacheMetrics(name, meterRegistry);
+            Gauge.builder("cache.size", local, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                    .tag("cache", name)
+                    .tag("tier", "local")
+                    .description("The number of entries in the local tier of the cache")
+                    .register(meterRegistry);
+        }
+        return new TwoTierCache(name, local, remote, this::publishInvalidation, missLease, keyIndex,
+                versionGuard != null && versionGuard.guards(name) ? versionGuard : null, metrics);
+    }
+
+    private void publishInvalidation(String cacheName, Collection<String> keys) {
+        StringBuilder message = new StringBuilder(nodeId).append('\n').append(cacheName);
+        if (keys != null) {
+            keys.forEach(key -> message.append('\n').append(key));
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message.toString());
+        } catch (DataAccessException e) {
+            log.warn("Could not broadcast invalidation of cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+/**
+ * Marks a value that is returned to its caller but never stored by a {@link TwoTierCache}, such as the
+ * incomplete result of a search that was cut short.
+ */
+public interface Uncacheable {
+}
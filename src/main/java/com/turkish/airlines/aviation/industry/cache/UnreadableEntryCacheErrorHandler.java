@@ -0,0 +1,24 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Treats a cached value that cannot be decoded as a miss, so the entry is computed and overwritten
+ * instead of failing the request. This happens while nodes with different cache codecs run side by side.
+ * Every other error is rethrown as before.
+ */
+@Slf4j
+public class UnreadableEntryCacheErrorHandler extends SimpleCacheErrorHandler {
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        if (exception instanceof SerializationException) {
+            log.warn("Ignoring unreadable entry {} of cache {}: {}", key, cache.getName(), exception.getMessage());
+            return;
+        }
+        super.handleCacheGetError(exception, cache, key);
+    }
+}
@@ -1,37 +1,163 @@
 package com.turkish.airlines.aviation.industry.config;
 
+import com.turkish.airlines.aviation.industry.cache.CacheKeyIndex;
+import com.turkish.airlines.aviation.industry.cache.CompactResponseSerializer;
+import com.turkish.airlines.aviation.industry.cache.MeteredRedisSerializer;
+import com.turkish.airlines.aviation.industry.cache.NetworkVersionGuard;
+import com.turkish.airlines.aviation.industry.cache.RouteCache;
+import com.turkish.airlines.aviation.industry.cache.TransportationChunkCache;
+import com.turkish.airlines.aviation.industry.cache.TwoTierCacheManager;
+import com.turkish.airlines.aviation.industry.cache.UnreadableEntryCacheErrorHandler;
 import com.turkish.airlines.aviation.industry.constants.CacheConstants;
-import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import com.turkish.airlines.aviation.industry.graph.NetworkChangeChannel;
+import com.turkish.airlines.aviation.industry.graph.NetworkSnapshotStore;
+import com.turkish.airlines.aviation.industry.graph.RouteGraph;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.util.Locale;
 
 @Configuration
-@EnableCaching
-public class RedisConfig {
+// Ahead of transactions, so cache hits and callers waiting on a coalesced miss hold no connection
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class RedisConfig implements CachingConfigurer {
 
+    @Value("${spring.cache.redis.key-prefix:aviation_}")
+    private String keyPrefix;
+
+    @Value("${cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    @Value("${cache.local.ttl-seconds:60}")
+    private long localTtlSeconds;
+
+    @Value("${cache.miss-lease-ms:0}")
+    private long missLeaseMillis;
+
+    @Value("${cache.codec.single-transportation:json}")
+    private String singleTransportationCodec;
+
+    @Value("${cache.codec.transportation-chunks:json}")
+    private String transportationChunksCodec;
+
+    @Value("${cache.codec.routes:json}")
+    private String routesCodec;
+
+    /**
+     * Redis stays the shared cache of all nodes; every cache gets a local near-cache in front of it.
+     * Both tiers report their hits, misses and payload sizes to the meter registry.
+     */
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            StringRedisTemplate redisTemplate,
+                                            CacheKeyIndex cacheKeyIndex,
+                                            NetworkVersionGuard networkVersionGuard,
+                                            MeterRegistry meterRegistry) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .disableCachingNullValues()
+                        .prefixCacheNameWith(keyPrefix))
+                .withCacheConfiguration(CacheConstants.SINGLE_TRANSPORTATION, cacheConfiguration(
+                        CacheConstants.SINGLE_TRANSPORTATION, CacheConstants.SINGLE_TRANSPORTATION_TTL,
+                        valueSerializer(singleTransportationCodec), meterRegistry))
+                .withCacheConfiguration(CacheConstants.TRANSPORTATION_CHUNKS, cacheConfiguration(
+                        CacheConstants.TRANSPORTATION_CHUNKS, CacheConstants.TRANSPORTATION_CHUNKS_TTL,
+                        valueSerializer(transportationChunksCodec), meterRegistry))
+                .withCacheConfiguration(CacheConstants.SINGLE_LOCATION, cacheConfiguration(
+                        CacheConstants.SINGLE_LOCATION, CacheConstants.SINGLE_LOCATION_TTL,
+                        new GenericJackson2JsonRedisSerializer(), meterRegistry))
+                .withCacheConfiguration(CacheConstants.ALL_LOCATIONS, cacheConfiguration(
+                        CacheConstants.ALL_LOCATIONS, CacheConstants.ALL_LOCATIONS_TTL,
+                        new GenericJackson2JsonRedisSerializer(), meterRegistry))
+                .withCacheConfiguration(CacheConstants.ROUTES, cacheConfiguration(
+                        CacheConstants.ROUTES, CacheConstants.ROUTES_TTL,
+                        valueSerializer(routesCodec), meterRegistry))
+                .withCacheConfiguration(CacheConstants.NO_ROUTES, cacheConfiguration(
+                        CacheConstants.NO_ROUTES, CacheConstants.NO_ROUTES_TTL,
+                        RedisSerializer.string(), meterRegistry))
+                .build();
+        redisCacheManager.initializeCaches();
+
+        return new TwoTierCacheManager(redisCacheManager, redisTemplate, localMaximumSize,
+                Duration.ofSeconds(localTtlSeconds), Duration.ofMillis(missLeaseMillis), cacheKeyIndex,
+                networkVersionGuard, meterRegistry);
+    }
+
+    /**
+     * The caches evicted by location or chunk rather than by key, see {@link CacheKeyIndex}.
+     */
+    @Bean
+    public CacheKeyIndex cacheKeyIndex(RedisConnectionFactory connectionFactory) {
+        return new CacheKeyIndex(connectionFactory)
+                .index(CacheConstants.ROUTES, Duration.ofMinutes(CacheConstants.ROUTES_TTL), RouteCache::indexTags)
+                .index(CacheConstants.NO_ROUTES, Duration.ofMinutes(CacheConstants.NO_ROUTES_TTL), RouteCache::indexTags)
+                .index(CacheConstants.TRANSPORTATION_CHUNKS, Duration.ofMinutes(CacheConstants.TRANSPORTATION_CHUNKS_TTL),
+                        TransportationChunkCache::indexTags);
+    }
+
+    /**
+     * The caches of values computed from the route network, see {@link NetworkVersionGuard}.
+     */
+    @Bean
+    public NetworkVersionGuard networkVersionGuard(ObjectProvider<RouteGraph> routeGraph,
+                                                   ObjectProvider<NetworkSnapshotStore> snapshotStore) {
+        return new NetworkVersionGuard(routeGraph, snapshotStore)
+                .guard(CacheConstants.ROUTES, CacheConstants.NO_ROUTES);
+    }
+
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new UnreadableEntryCacheErrorHandler();
+    }
+
+    /**
+     * {@code compact} still reads entries written as JSON, so a cache can be switched without flushing it.
+     */
+    private static RedisSerializer<Object> valueSerializer(String codec) {
+        return switch (codec.toLowerCase(Locale.ROOT)) {
+            case "json" -> new GenericJackson2JsonRedisSerializer();
+            case "compact" -> new CompactResponseSerializer(new GenericJackson2JsonRedisSerializer());
+            default -> throw new IllegalArgumentException("Unknown cache codec: " + codec);
+        };
+    }
+
+    private static <T> RedisCacheConfiguration cacheConfiguration(String cacheName, int ttlMinutes,
+                                                                  RedisSerializer<T> serializer,
+                                                                  MeterRegistry meterRegistry) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(ttlMinutes))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new MeteredRedisSerializer<>(cacheName, serializer, meterRegistry)));
+    }
+
+    /**
+     * Local cache invalidations and route network changes of the other nodes.
+     */
     @Bean
-    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
-        return builder -> builder
-                .withCacheConfiguration(CacheConstants.SINGLE_TRANSPORTATION,
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofMinutes(CacheConstants.SINGLE_TRANSPORTATION_TTL))
-                                .serializeValuesWith(RedisSerializationContext.SerializationPair
-                                        .fromSerializer(new GenericJackson2JsonRedisSerializer())))
-                .withCacheConfiguration(CacheConstants.ALL_TRANSPORTATIONS,
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofMinutes(CacheConstants.ALL_TRANSPORTATIONS_TTL))
-                                .serializeValuesWith(RedisSerializationContext.SerializationPair
-                                        .fromSerializer(new GenericJackson2JsonRedisSerializer())))
-                .withCacheConfiguration(CacheConstants.ROUTES,
-                        RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofMinutes(CacheConstants.ROUTES_TTL))
-                                .serializeValuesWith(RedisSerializationContext.SerializationPair
-                                        .fromSerializer(new GenericJackson2JsonRedisSerializer())));
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       TwoTierCacheManager cacheManager,
+                                                                       RouteGraph routeGraph) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        container.addMessageListener(routeGraph, new ChannelTopic(NetworkChangeChannel.CHANNEL));
+        return container;
     }
-} 
\ No newline at end of file
+}
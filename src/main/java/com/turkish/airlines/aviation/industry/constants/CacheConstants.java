@@ -6,10 +6,18 @@ public final class CacheConstants {
     }
 
     public static final String SINGLE_TRANSPORTATION = "singleTransportation";
-    public static final String ALL_TRANSPORTATIONS = "allTransportations";
+    public static final String TRANSPORTATION_CHUNKS = "transportationChunks";
+    public static final String SINGLE_LOCATION = "singleLocation";
+    public static final String ALL_LOCATIONS = "allLocations";
     public static final String ROUTES = "routes";
+    public static final String NO_ROUTES = "noRoutes";
 
-    public static final int SINGLE_TRANSPORTATION_TTL = 5;
-    public static final int ALL_TRANSPORTATIONS_TTL = 5;
-    public static final int ROUTES_TTL = 5;
+    // Minutes. Entries are evicted when the data behind them changes, the TTL is only a safety net.
+    public static final int SINGLE_TRANSPORTATION_TTL = 360;
+    public static final int TRANSPORTATION_CHUNKS_TTL = 360;
+    public static final int SINGLE_LOCATION_TTL = 360;
+    public static final int ALL_LOCATIONS_TTL = 360;
+    public static final int ROUTES_TTL = 360;
+    // Short, "no route" answers are cheap to lose and also cover pairs a client got wrong
+    public static final int NO_ROUTES_TTL = 10;
 } 
\ No newline at end of file
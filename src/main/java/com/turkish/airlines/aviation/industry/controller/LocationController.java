@@ -1,18 +1,24 @@
 package com.turkish.airlines.aviation.industry.controller;
 
+import com.turkish.airlines.aviation.industry.enums.ImportFormat;
+import com.turkish.airlines.aviation.industry.exception.LocationOperationException;
 import com.turkish.airlines.aviation.industry.request.CreateLocationRequest;
 import com.turkish.airlines.aviation.industry.request.UpdateLocationRequest;
+import com.turkish.airlines.aviation.industry.response.ImportResponse;
 import com.turkish.airlines.aviation.industry.response.LocationResponse;
+import com.turkish.airlines.aviation.industry.service.ImportService;
 import com.turkish.airlines.aviation.industry.service.LocationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -23,6 +29,7 @@ import java.util.List;
 public class LocationController {
 
     private final LocationService locationService;
+    private final ImportService importService;
 
     @PostMapping
     @Operation(summary = "Create a new location")
@@ -42,6 +49,17 @@ public class LocationController {
         return ResponseEntity.ok(locationService.getAllLocations());
     }
 
+    @PostMapping(value = "/import", consumes = {ImportFormat.CSV_VALUE, ImportFormat.NDJSON_VALUE})
+    @Operation(summary = "Import locations from a CSV or JSON lines file",
+            description = "Rows are validated like create requests and inserted in batches; rows that fail are reported with their line")
+    public ResponseEntity<ImportResponse> importLocations(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        if (format == null) {
+            throw new LocationOperationException("Unsupported import format: " + request.getContentType());
+        }
+        return ResponseEntity.ok(importService.importLocations(request.getInputStream(), format));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a location")
     public ResponseEntity<LocationResponse> updateLocation(
@@ -1,19 +1,29 @@
 package com.turkish.airlines.aviation.industry.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turkish.airlines.aviation.industry.cache.HotRouteTracker;
+import com.turkish.airlines.aviation.industry.request.RouteBatchSearchRequest;
 import com.turkish.airlines.aviation.industry.request.RouteSearchRequest;
 import com.turkish.airlines.aviation.industry.response.RouteResponse;
+import com.turkish.airlines.aviation.industry.response.RouteSearchResultResponse;
+import com.turkish.airlines.aviation.industry.response.TruncatedRouteList;
 import com.turkish.airlines.aviation.industry.service.RouteService;
+import com.turkish.airlines.aviation.industry.service.RouteStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -22,15 +32,69 @@ import java.util.List;
 @Tag(name = "Route Controller", description = "APIs for searching and managing routes")
 @SecurityRequirement(name = "Bearer Authentication")
 public class RouteController {
-    
+
+    static final String TRUNCATED_HEADER = "X-Routes-Truncated";
+
     private final RouteService routeService;
+    private final HotRouteTracker hotRouteTracker;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/search")
     @Operation(summary = "Search for all possible routes between two locations",
             description = "Finds all valid routes between origin and destination locations, including direct flights " +
                     "and routes with transfers. Each route can include: before flight transfer (optional), " +
-                    "main flight (mandatory), and after flight transfer (optional).")
+                    "main flight (mandatory), and after flight transfer (optional). Setting maxFlights above 1 " +
+                    "searches itineraries with connecting flights, bounded by maxDuration and maxPrice. " +
+                    "sortBy (PRICE, DURATION, STOPS) and limit return only the best routes. A search cut short " +
+                    "at its expansion limit answers with the routes found so far and the header " +
+                    TRUNCATED_HEADER + ": true.")
     public ResponseEntity<List<RouteResponse>> searchRoutes(@Valid @RequestBody RouteSearchRequest request) {
-        return ResponseEntity.ok(routeService.findRoutes(request));
+        hotRouteTracker.record(request);
+        List<RouteResponse> routes = routeService.findRoutes(request);
+        if (routes instanceof TruncatedRouteList) {
+            return ResponseEntity.ok().header(TRUNCATED_HEADER, "true").body(routes);
+        }
+        return ResponseEntity.ok(routes);
+    }
+
+    @PostMapping("/search/batch")
+    @Operation(summary = "Search routes for many origin/destination pairs at once",
+            description = "Runs each search of the batch like /search and returns one result per search, in request " +
+                    "order. Pairs without a valid route carry an error message instead of failing the whole batch.")
+    public ResponseEntity<List<RouteSearchResultResponse>> searchRoutesBatch(
+            @Valid @RequestBody RouteBatchSearchRequest request) {
+        request.getSearches().forEach(hotRouteTracker::record);
+        return ResponseEntity.ok(routeService.findRoutes(request.getSearches()));
+    }
+
+    @PostMapping("/search/explain")
+    @Operation(summary = "Search routes and explain rejected candidates",
+            description = "Runs the same search as /search and additionally returns every rejected route candidate " +
+                    "with its validation errors and the number of rejections per error code. Intended for " +
+                    "diagnostics; results are not cached.")
+    public ResponseEntity<RouteSearchResultResponse> explainRoutes(@Valid @RequestBody RouteSearchRequest request) {
+        return ResponseEntity.ok(routeService.explainRoutes(request));
+    }
+
+    @PostMapping("/search/stream")
+    @Operation(summary = "Stream routes between two locations as newline delimited JSON",
+            description = "Accepts the same request as /search and writes each valid route as one JSON line " +
+                    "(application/x-ndjson) as soon as it has been validated, instead of buffering the whole list. " +
+                    "Results are not cached.")
+    public ResponseEntity<StreamingResponseBody> streamRoutes(@Valid @RequestBody RouteSearchRequest request) {
+        RouteStream routes = routeService.streamRoutes(request);
+        StreamingResponseBody body = outputStream -> routes.forEach(route -> {
+            try {
+                // writeValue(OutputStream, ...) would close the response stream after the first route
+                outputStream.write(objectMapper.writeValueAsBytes(route));
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
-} 
\ No newline at end of file
+}
@@ -1,19 +1,26 @@
 package com.turkish.airlines.aviation.industry.controller;
 
+import com.turkish.airlines.aviation.industry.enums.ImportFormat;
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.exception.TransportationOperationException;
 import com.turkish.airlines.aviation.industry.request.CreateTransportationRequest;
 import com.turkish.airlines.aviation.industry.request.UpdateTransportationRequest;
+import com.turkish.airlines.aviation.industry.response.ImportResponse;
+import com.turkish.airlines.aviation.industry.response.TransportationPageResponse;
 import com.turkish.airlines.aviation.industry.response.TransportationResponse;
+import com.turkish.airlines.aviation.industry.service.ImportService;
 import com.turkish.airlines.aviation.industry.service.TransportationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/v1/transportations")
@@ -22,6 +29,7 @@ import java.util.List;
 @SecurityRequirement(name = "Bearer Authentication")
 public class TransportationController {
     private final TransportationService transportationService;
+    private final ImportService importService;
 
     @PostMapping
     @Operation(summary = "Create a new transportation")
@@ -36,9 +44,25 @@ public class TransportationController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all transportations")
-    public ResponseEntity<List<TransportationResponse>> getAllTransportations() {
-        return ResponseEntity.ok(transportationService.getAllTransportations());
+    @Operation(summary = "Get a page of transportations ordered by ID",
+            description = "Pass the nextCursor of a page as 'after' to get the next one")
+    public ResponseEntity<TransportationPageResponse> getTransportations(
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "size", defaultValue = "50") int size,
+            @RequestParam(name = "type", required = false) TransportationType type,
+            @RequestParam(name = "originLocationId", required = false) Long originLocationId) {
+        return ResponseEntity.ok(transportationService.getTransportations(after, size, type, originLocationId));
+    }
+
+    @PostMapping(value = "/import", consumes = {ImportFormat.CSV_VALUE, ImportFormat.NDJSON_VALUE})
+    @Operation(summary = "Import transportations from a CSV or JSON lines file",
+            description = "Rows are validated like create requests and inserted in batches; rows that fail are reported with their line")
+    public ResponseEntity<ImportResponse> importTransportations(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        if (format == null) {
+            throw new TransportationOperationException("Unsupported import format: " + request.getContentType());
+        }
+        return ResponseEntity.ok(importService.importTransportations(request.getInputStream(), format));
     }
 
     @PutMapping("/{id}")
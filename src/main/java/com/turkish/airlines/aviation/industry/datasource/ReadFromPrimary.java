@@ -0,0 +1,18 @@
+package com.turkish.airlines.aviation.industry.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reads of the annotated method go to the primary, also in a read-only transaction. Meant for cache
+ * loaders: an entry evicted after a write is loaded again right away, and a replica that has not replayed
+ * the write yet would put the old row back into the cache for the whole time to live of the entry.
+ * <p>
+ * Only the transaction the method begins is affected; an enclosing transaction keeps its connection.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
@@ -0,0 +1,26 @@
+package com.turkish.airlines.aviation.industry.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the calls of {@link ReadFromPrimary} methods for {@link ReplicaRoutingDataSource}. Connections are
+ * fetched with the first statement, so the mark is in place whichever of this and the transaction
+ * advice runs first.
+ */
+@Aspect
+@Component
+public class ReadFromPrimaryAspect {
+
+    @Around("@annotation(com.turkish.airlines.aviation.industry.datasource.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaRoutingDataSource.setPrimaryReads(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.setPrimaryReads(previous);
+        }
+    }
+}
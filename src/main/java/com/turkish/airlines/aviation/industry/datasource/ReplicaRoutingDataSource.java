@@ -0,0 +1,174 @@
+package com.turkish.airlines.aviation.industry.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections of read-only transactions from a replica and all others from the primary.
+ * Replicas are taken in turn, skipping those whose replication lag, checked periodically, exceeds the
+ * tolerance or could not be read; without a usable replica, or when a replica refuses a connection,
+ * the primary serves the read as well.
+ * <p>
+ * The read-only flag of a transaction is only known once it has begun, so this data source has to sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which fetches the
+ * connection with the first statement. A read within the lag tolerance of a write may not see it yet;
+ * reads whose result outlives the request, like cache loads, are marked {@link ReadFromPrimary}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final long UNKNOWN_LAG = -1;
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    // 0 on a server that is not replaying WAL or has replayed everything it received, null when unknown
+    private static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, long maxLagMillis) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.lagMillis = UNKNOWN_LAG;
+                log.warn("Replica {} refused a connection, reading from the primary: {}", replica.name(), e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection(username, password);
+            } catch (SQLException e) {
+                replica.lagMillis = UNKNOWN_LAG;
+                log.warn("Replica {} refused a connection, reading from the primary: {}", replica.name(), e.getMessage());
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Reads the replication lag of every replica; a replica is used while its lag is within the tolerance.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            long lag = readLag(replica);
+            boolean wasUsable = isUsable(replica.lagMillis);
+            replica.lagMillis = lag;
+            if (wasUsable && !isUsable(lag)) {
+                log.warn("Replica {} is {}, reading from the others", replica.name(),
+                        lag == UNKNOWN_LAG ? "unavailable" : lag + " ms behind");
+            } else if (!wasUsable && isUsable(lag)) {
+                log.info("Replica {} is {} ms behind, reading from it", replica.name(), lag);
+            }
+        }
+    }
+
+    /**
+     * Sends the reads of the current thread to the primary, see {@link ReadFromPrimary}.
+     *
+     * @return whether they were sent there before
+     */
+    static boolean setPrimaryReads(boolean primaryReads) {
+        boolean previous = Boolean.TRUE.equals(PRIMARY_READS.get());
+        if (primaryReads) {
+            PRIMARY_READS.set(true);
+        } else {
+            PRIMARY_READS.remove();
+        }
+        return previous;
+    }
+
+    /**
+     * @return the replica to read from in a read-only transaction, otherwise {@code null}
+     */
+    private Replica selectReplica() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || Boolean.TRUE.equals(PRIMARY_READS.get())) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (isUsable(replica.lagMillis)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private boolean isUsable(long lagMillis) {
+        return lagMillis != UNKNOWN_LAG && lagMillis <= maxLagMillis;
+    }
+
+    private static long readLag(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            if (!resultSet.next()) {
+                return UNKNOWN_LAG;
+            }
+            long lag = resultSet.getLong(1);
+            return resultSet.wasNull() ? UNKNOWN_LAG : Math.max(lag, 0);
+        } catch (SQLException e) {
+            log.debug("Could not read the lag of replica {}: {}", replica.name(), e.getMessage());
+            return UNKNOWN_LAG;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof HikariDataSource hikariDataSource) {
+                hikariDataSource.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final DataSource dataSource;
+        // Unusable until the first lag check
+        private volatile long lagMillis = UNKNOWN_LAG;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private String name() {
+            return dataSource instanceof HikariDataSource hikariDataSource
+                    ? hikariDataSource.getPoolName() : dataSource.toString();
+        }
+    }
+}
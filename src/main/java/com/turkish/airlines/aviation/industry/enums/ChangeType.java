@@ -0,0 +1,7 @@
+package com.turkish.airlines.aviation.industry.enums;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
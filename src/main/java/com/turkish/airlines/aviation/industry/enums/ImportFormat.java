@@ -0,0 +1,37 @@
+package com.turkish.airlines.aviation.industry.enums;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    // Header row with the request field names, then one row per record
+    CSV(ImportFormat.CSV_VALUE),
+    // One JSON object per line
+    NDJSON(ImportFormat.NDJSON_VALUE);
+
+    public static final String CSV_VALUE = "text/csv";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final MediaType mediaType;
+
+    ImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    /**
+     * @return the format of the content type, or {@code null} when it is not an import format
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (ImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(mediaType)) {
+                    return format;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.turkish.airlines.aviation.industry.event;
+
+import com.turkish.airlines.aviation.industry.enums.ChangeType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by the location service whenever a location is created, updated or deleted.
+ * Listeners receive it after the surrounding transaction commits.
+ */
+@Getter
+@RequiredArgsConstructor
+public class LocationChangedEvent {
+    private final ChangeType changeType;
+    private final Long locationId;
+    private final String name;
+
+    public static LocationChangedEvent created(Long locationId, String name) {
+        return new LocationChangedEvent(ChangeType.CREATED, locationId, name);
+    }
+
+    public static LocationChangedEvent updated(Long locationId, String name) {
+        return new LocationChangedEvent(ChangeType.UPDATED, locationId, name);
+    }
+
+    public static LocationChangedEvent deleted(Long locationId) {
+        return new LocationChangedEvent(ChangeType.DELETED, locationId, null);
+    }
+}
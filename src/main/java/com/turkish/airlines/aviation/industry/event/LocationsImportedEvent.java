@@ -0,0 +1,16 @@
+package com.turkish.airlines.aviation.industry.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published by the import service once per imported batch of locations, in place of one
+ * {@link LocationChangedEvent} per row. Listeners receive it after the batch commits.
+ */
+@Getter
+@RequiredArgsConstructor
+public class LocationsImportedEvent {
+    private final List<Long> locationIds;
+}
@@ -0,0 +1,33 @@
+package com.turkish.airlines.aviation.industry.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published by the route graph after it applied network changes made on another node, or reloaded the
+ * network; views derived from the graph on this node refresh from it, and cached routes around the changes
+ * are evicted.
+ */
+@Getter
+@RequiredArgsConstructor
+public class NetworkSyncedEvent {
+    private final boolean reloaded;
+    // Transportations added, replaced or removed, empty for a reload
+    private final List<Long> transportationIds;
+    // Origins and destinations of those transportations before and after the changes, renamed locations
+    // in both; empty for a reload
+    private final Set<Long> originLocationIds;
+    private final Set<Long> destinationLocationIds;
+
+    public static NetworkSyncedEvent reloaded() {
+        return new NetworkSyncedEvent(true, List.of(), Set.of(), Set.of());
+    }
+
+    public static NetworkSyncedEvent changed(List<Long> transportationIds, Set<Long> originLocationIds,
+                                             Set<Long> destinationLocationIds) {
+        return new NetworkSyncedEvent(false, transportationIds, originLocationIds, destinationLocationIds);
+    }
+}
@@ -0,0 +1,35 @@
+package com.turkish.airlines.aviation.industry.event;
+
+import com.turkish.airlines.aviation.industry.enums.ChangeType;
+import com.turkish.airlines.aviation.industry.model.Transportation;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by the transportation service whenever a transportation is created, updated or deleted.
+ * Listeners receive it after the surrounding transaction commits.
+ */
+@Getter
+@RequiredArgsConstructor
+public class TransportationChangedEvent {
+    private final ChangeType changeType;
+    private final Transportation transportation;
+    private final Long previousOriginLocationId;
+    private final Long previousDestinationLocationId;
+
+    public static TransportationChangedEvent created(Transportation transportation) {
+        return new TransportationChangedEvent(ChangeType.CREATED, transportation, null, null);
+    }
+
+    public static TransportationChangedEvent updated(Transportation transportation,
+                                                     Long previousOriginLocationId,
+                                                     Long previousDestinationLocationId) {
+        return new TransportationChangedEvent(ChangeType.UPDATED, transportation,
+                previousOriginLocationId, previousDestinationLocationId);
+    }
+
+    public static TransportationChangedEvent deleted(Transportation transportation) {
+        return new TransportationChangedEvent(ChangeType.DELETED, transportation,
+                transportation.getOriginLocation().getId(), transportation.getDestinationLocation().getId());
+    }
+}
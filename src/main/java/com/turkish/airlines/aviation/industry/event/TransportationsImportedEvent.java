@@ -0,0 +1,17 @@
+package com.turkish.airlines.aviation.industry.event;
+
+import com.turkish.airlines.aviation.industry.graph.TransportationEdge;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published by the import service once per imported batch of transportations, in place of one
+ * {@link TransportationChangedEvent} per row. Listeners receive it after the batch commits.
+ */
+@Getter
+@RequiredArgsConstructor
+public class TransportationsImportedEvent {
+    private final List<TransportationEdge> edges;
+}
@@ -1,7 +1,20 @@
 package com.turkish.airlines.aviation.industry.exception;
 
+import lombok.Getter;
+
 public class RouteNotFoundException extends RuntimeException {
+    /**
+     * Whether the search stopped at its expansion limit, so a route may still exist.
+     */
+    @Getter
+    private final boolean truncated;
+
     public RouteNotFoundException(String message) {
+        this(message, false);
+    }
+
+    public RouteNotFoundException(String message, boolean truncated) {
         super(message);
+        this.truncated = truncated;
     }
-} 
\ No newline at end of file
+}
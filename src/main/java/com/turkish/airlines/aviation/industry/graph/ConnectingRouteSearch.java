@@ -0,0 +1,296 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.RouteSortCriteria;
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Best-first search for routes with up to {@link SearchBounds#getMaxFlights()} connecting flights,
+ * an optional ground transfer before the first flight and an optional one after the last flight.
+ * <p>
+ * Before exploring forward from the origin, a reverse breadth-first pass from the destination
+ * gives the minimum number of legs still needed from every location, and two reverse Dijkstra
+ * passes over the locations within reach give lower bounds for the remaining duration and price.
+ * Partial routes that cannot reach the destination within the remaining legs, duration or price
+ * are never expanded.
+ * <p>
+ * The lower bounds also serve as the heuristic of an A* ordering on the requested
+ * {@link RouteSortCriteria} (duration when none is given), so routes are emitted best first and
+ * the search can stop as soon as the consumer has accepted {@link SearchBounds#getMaxResults()} of them.
+ * <p>
+ * A search that reaches {@code route.search.max-expansions} stops early and reports it, the routes it
+ * emitted so far may then be missing better or further ones.
+ */
+@Slf4j
+@Component
+public class ConnectingRouteSearch {
+
+    private static final int UNREACHABLE = DestinationDistances.UNREACHABLE;
+
+    private static final byte START = 0;
+    private static final byte BEFORE_FLIGHT = 1;
+    private static final byte FLYING = 2;
+    private static final byte AFTER_FLIGHT = 3;
+
+    @Value("${route.search.max-expansions:100000}")
+    private int maxExpansions;
+
+    /**
+     * @param consumer receives routes best first and returns whether it accepted the route
+     * @return {@code false} when the search stopped at the expansion limit before it was complete
+     */
+    public boolean search(NetworkSnapshot snapshot, int origin, int destination, SearchBounds bounds,
+                          RouteSortCriteria sortBy, Predicate<int[]> consumer) {
+        if (origin < 0 || destination < 0 || origin == destination) {
+            return true;
+        }
+        return search(snapshot, origin, distancesTo(snapshot, destination, bounds.getMaxLegs()), bounds, sortBy, consumer);
+    }
+
+    /**
+     * Runs the reverse passes from the destination, counting at most {@code maxLegs} legs.
+     */
+    public DestinationDistances distancesTo(NetworkSnapshot snapshot, int destination, int maxLegs) {
+        int[] hops = hopsToDestination(snapshot, destination, maxLegs);
+        long[] minDuration = costToDestination(snapshot, destination, hops, snapshot::duration);
+        long[] minPrice = costToDestination(snapshot, destination, hops, snapshot::price);
+        return new DestinationDistances(destination, maxLegs, hops, minDuration, minPrice);
+    }
+
+    /**
+     * Same as {@link #search(NetworkSnapshot, int, int, SearchBounds, RouteSortCriteria, Predicate)} with
+     * distances computed beforehand on the same snapshot, for at least {@link SearchBounds#getMaxLegs()} legs.
+     *
+     * @return {@code false} when the search stopped at the expansion limit before it was complete
+     */
+    public boolean search(NetworkSnapshot snapshot, int origin, DestinationDistances distances, SearchBounds bounds,
+                          RouteSortCriteria sortBy, Predicate<int[]> consumer) {
+        int destination = distances.destination;
+        if (origin < 0 || origin == destination || !distances.isReachableFrom(origin)) {
+            return true;
+        }
+        if (distances.maxLegs < bounds.getMaxLegs()) {
+            throw new IllegalArgumentException("Destination distances cover " + distances.maxLegs
+                    + " legs, search needs " + bounds.getMaxLegs());
+        }
+
+        int[] hops = distances.hops;
+        long[] minDuration = distances.minDuration;
+        long[] minPrice = distances.minPrice;
+
+        PriorityQueue<Label> open = new PriorityQueue<>(Comparator.comparingLong(Label::getPriority));
+        Label start = new Label(-1, null, origin, START, 0, 0, 0, 0L);
+        start.priority = estimate(start, sortBy, hops, minDuration, minPrice);
+        open.add(start);
+
+        int expansions = 0;
+        int emitted = 0;
+        while (!open.isEmpty()) {
+            Label label = open.poll();
+            if (label.location == destination) {
+                if (label.phase == BEFORE_FLIGHT) {
+                    continue;
+                }
+                if (consumer.test(label.toRoute()) && ++emitted >= bounds.getMaxResults()) {
+                    return true;
+                }
+                continue;
+            }
+            if (++expansions > maxExpansions) {
+                log.warn("Connecting route search from {} to {} stopped after {} expansions",
+                        snapshot.locationId(origin), snapshot.locationId(destination), maxExpansions);
+                return false;
+            }
+            for (TransportationType type : TransportationType.values()) {
+                byte phase = nextPhase(label, type, bounds);
+                if (phase < 0) {
+                    continue;
+                }
+                for (int p = snapshot.outgoingStart(label.location, type),
+                     end = snapshot.outgoingEnd(label.location, type); p < end; p++) {
+                    int edge = snapshot.outgoingEdge(p);
+                    Label next = label.extend(snapshot, edge, phase);
+                    if (isWithinBounds(next, hops, minDuration, minPrice, bounds) && !label.visits(next.location)) {
+                        next.priority = estimate(next, sortBy, hops, minDuration, minPrice);
+                        open.add(next);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static byte nextPhase(Label label, TransportationType type, SearchBounds bounds) {
+        boolean flight = type == TransportationType.FLIGHT;
+        switch (label.phase) {
+            case START:
+                return flight ? FLYING : BEFORE_FLIGHT;
+            case BEFORE_FLIGHT:
+                return flight ? FLYING : -1;
+            case FLYING:
+                if (flight) {
+                    return label.flights < bounds.getMaxFlights() ? FLYING : -1;
+                }
+                return AFTER_FLIGHT;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Cost so far plus the lower bound of the remaining cost, for the requested ordering.
+     */
+    private static long estimate(Label label, RouteSortCriteria sortBy, int[] hops, long[] minDuration,
+                                 long[] minPrice) {
+        if (sortBy == RouteSortCriteria.PRICE) {
+            return label.price + minPrice[label.location];
+        }
+        if (sortBy == RouteSortCriteria.STOPS) {
+            return label.legs + (long) hops[label.location];
+        }
+        return label.duration + minDuration[label.location];
+    }
+
+    private static boolean isWithinBounds(Label label, int[] hops, long[] minDuration, long[] minPrice,
+                                          SearchBounds bounds) {
+        int location = label.location;
+        if (hops[location] == UNREACHABLE || hops[location] > remainingLegs(label, bounds)) {
+            return false;
+        }
+        return label.duration + minDuration[location] <= bounds.getMaxDuration()
+                && label.price + minPrice[location] <= bounds.getMaxPrice();
+    }
+
+    private static int remainingLegs(Label label, SearchBounds bounds) {
+        switch (label.phase) {
+            case BEFORE_FLIGHT:
+                return bounds.getMaxFlights() + 1;
+            case FLYING:
+                return bounds.getMaxFlights() - label.flights + 1;
+            case AFTER_FLIGHT:
+                return 0;
+            default:
+                return bounds.getMaxLegs();
+        }
+    }
+
+    private static int[] hopsToDestination(NetworkSnapshot snapshot, int destination, int maxLegs) {
+        int[] hops = new int[snapshot.getLocationCount()];
+        Arrays.fill(hops, UNREACHABLE);
+        hops[destination] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(destination);
+        while (!queue.isEmpty()) {
+            int location = queue.poll();
+            if (hops[location] == maxLegs) {
+                continue;
+            }
+            for (TransportationType type : TransportationType.values()) {
+                for (int p = snapshot.incomingStart(location, type),
+                     end = snapshot.incomingEnd(location, type); p < end; p++) {
+                    int previous = snapshot.origin(snapshot.incomingEdge(p));
+                    if (hops[previous] == UNREACHABLE) {
+                        hops[previous] = hops[location] + 1;
+                        queue.add(previous);
+                    }
+                }
+            }
+        }
+        return hops;
+    }
+
+    private static long[] costToDestination(NetworkSnapshot snapshot, int destination, int[] hops, EdgeCost cost) {
+        long[] best = new long[snapshot.getLocationCount()];
+        Arrays.fill(best, Long.MAX_VALUE);
+        best[destination] = 0;
+        PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[0]));
+        queue.add(new long[]{0, destination});
+        while (!queue.isEmpty()) {
+            long[] entry = queue.poll();
+            int location = (int) entry[1];
+            if (entry[0] > best[location]) {
+                continue;
+            }
+            for (TransportationType type : TransportationType.values()) {
+                for (int p = snapshot.incomingStart(location, type),
+                     end = snapshot.incomingEnd(location, type); p < end; p++) {
+                    int edge = snapshot.incomingEdge(p);
+                    int previous = snapshot.origin(edge);
+                    long candidate = entry[0] + cost.of(edge);
+                    if (hops[previous] != UNREACHABLE && candidate < best[previous]) {
+                        best[previous] = candidate;
+                        queue.add(new long[]{candidate, previous});
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    @FunctionalInterface
+    private interface EdgeCost {
+        long of(int edge);
+    }
+
+    private static final class Label {
+        private final int edge;
+        private final Label parent;
+        private final int location;
+        private final byte phase;
+        private final int flights;
+        private final int legs;
+        private final int duration;
+        private final long price;
+        private long priority;
+
+        private Label(int edge, Label parent, int location, byte phase, int flights, int legs,
+                      int duration, long price) {
+            this.edge = edge;
+            this.parent = parent;
+            this.location = location;
+            this.phase = phase;
+            this.flights = flights;
+            this.legs = legs;
+            this.duration = duration;
+            this.price = price;
+        }
+
+        private long getPriority() {
+            return priority;
+        }
+
+        private Label extend(NetworkSnapshot snapshot, int nextEdge, byte nextPhase) {
+            boolean flight = snapshot.type(nextEdge) == TransportationType.FLIGHT;
+            return new Label(nextEdge, this, snapshot.destination(nextEdge), nextPhase,
+                    flight ? flights + 1 : flights, legs + 1,
+                    duration + snapshot.duration(nextEdge), price + snapshot.price(nextEdge));
+        }
+
+        private boolean visits(int candidate) {
+            for (Label label = this; label != null; label = label.parent) {
+                if (label.location == candidate) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int[] toRoute() {
+            int[] route = new int[legs];
+            Label label = this;
+            for (int i = legs - 1; i >= 0; i--) {
+                route[i] = label.edge;
+                label = label.parent;
+            }
+            return route;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+/**
+ * Per-location lower bounds towards one destination: the fewest legs, the shortest duration and
+ * the lowest price still needed to get there. They only depend on the snapshot and the destination,
+ * so searches from several origins to the same destination can share them.
+ */
+public final class DestinationDistances {
+
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    final int destination;
+    final int maxLegs;
+    final int[] hops;
+    final long[] minDuration;
+    final long[] minPrice;
+
+    DestinationDistances(int destination, int maxLegs, int[] hops, long[] minDuration, long[] minPrice) {
+        this.destination = destination;
+        this.maxLegs = maxLegs;
+        this.hops = hops;
+        this.minDuration = minDuration;
+        this.minPrice = minPrice;
+    }
+
+    public int getDestination() {
+        return destination;
+    }
+
+    public int getMaxLegs() {
+        return maxLegs;
+    }
+
+    public boolean isReachableFrom(int location) {
+        return location >= 0 && location < hops.length && hops[location] != UNREACHABLE;
+    }
+}
@@ -0,0 +1,207 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One applied change of the route network, as sent to the other nodes by {@link NetworkChangeChannel}:
+ * transportations added or replaced, a transportation removed, or a location renamed, with the network
+ * version it was counted as.
+ * <p>
+ * Network versions are counted after commit, so two changes of one transportation can be counted in the
+ * reverse of their commit order. Each transportation change therefore carries the entity version it
+ * committed, and {@link #applyTo} skips one older than what the snapshot already holds.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class NetworkChange {
+
+    public enum Kind {
+        PUT, REMOVE, RENAME
+    }
+
+    Kind kind;
+    long version;
+    List<TransportationEdge> edges;
+    // Removed transportation or renamed location
+    long id;
+    String name;
+    // Entity version of the removed transportation
+    long removedVersion;
+
+    public static NetworkChange put(List<TransportationEdge> edges) {
+        return new NetworkChange(Kind.PUT, -1, edges, 0, null, 0);
+    }
+
+    /**
+     * @param transportationVersion entity version the deletion committed
+     */
+    public static NetworkChange remove(long transportationId, Long transportationVersion) {
+        return new NetworkChange(Kind.REMOVE, -1, List.of(), transportationId, null,
+                NetworkSnapshot.toVersion(transportationVersion));
+    }
+
+    public static NetworkChange rename(long locationId, String name) {
+        return new NetworkChange(Kind.RENAME, -1, List.of(), locationId, name, 0);
+    }
+
+    public NetworkChange withVersion(long version) {
+        return new NetworkChange(kind, version, edges, id, name, removedVersion);
+    }
+
+    /**
+     * @param removedVersions entity version of every transportation removed so far, by id; a removal is
+     *                        added to it, and a later put of an older version is skipped
+     */
+    public NetworkSnapshot applyTo(NetworkSnapshot snapshot, Map<Long, Long> removedVersions) {
+        return switch (kind) {
+            case PUT -> {
+                List<TransportationEdge> current = edges.stream()
+                        .filter(edge -> isCurrent(snapshot, removedVersions, edge))
+                        .toList();
+                if (current.isEmpty()) {
+                    yield snapshot;
+                }
+                yield current.size() == 1 ? snapshot.withEdge(current.get(0)) : snapshot.withEdges(current);
+            }
+            case REMOVE -> {
+                int edge = snapshot.edgeIndexOf(id);
+                if (edge >= 0 && snapshot.version(edge) > removedVersion) {
+                    yield snapshot;
+                }
+                removedVersions.merge(id, removedVersion, Math::max);
+                yield snapshot.withoutEdge(id);
+            }
+            case RENAME -> snapshot.withLocationName(id, name);
+        };
+    }
+
+    private static boolean isCurrent(NetworkSnapshot snapshot, Map<Long, Long> removedVersions,
+                                     TransportationEdge edge) {
+        long version = NetworkSnapshot.toVersion(edge.getVersion());
+        Long removed = removedVersions.get(edge.getId());
+        if (removed != null && removed >= version) {
+            return false;
+        }
+        int existing = snapshot.edgeIndexOf(edge.getId());
+        return existing < 0 || snapshot.version(existing) <= version;
+    }
+
+    /**
+     * @return the ids of the transportations added, replaced or removed
+     */
+    public List<Long> getTransportationIds() {
+        return switch (kind) {
+            case PUT -> edges.stream().map(TransportationEdge::getId).toList();
+            case REMOVE -> List.of(id);
+            case RENAME -> List.of();
+        };
+    }
+
+    /**
+     * Adds the end points the change touches in the snapshot it is applied to and after it: the origins
+     * and destinations of the transportations added, moved or removed, a renamed location to both.
+     */
+    void collectEndPoints(NetworkSnapshot before, Set<Long> originIds, Set<Long> destinationIds) {
+        switch (kind) {
+            case PUT -> {
+                for (TransportationEdge edge : edges) {
+                    originIds.add(edge.getOriginLocationId());
+                    destinationIds.add(edge.getDestinationLocationId());
+                    collectEndPoints(before, edge.getId(), originIds, destinationIds);
+                }
+            }
+            case REMOVE -> collectEndPoints(before, id, originIds, destinationIds);
+            case RENAME -> {
+                originIds.add(id);
+                destinationIds.add(id);
+            }
+        }
+    }
+
+    private static void collectEndPoints(NetworkSnapshot snapshot, long transportationId, Set<Long> originIds,
+                                         Set<Long> destinationIds) {
+        int edge = snapshot.edgeIndexOf(transportationId);
+        if (edge >= 0) {
+            originIds.add(snapshot.locationId(snapshot.origin(edge)));
+            destinationIds.add(snapshot.locationId(snapshot.destination(edge)));
+        }
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeByte(kind.ordinal());
+        out.writeLong(version);
+        switch (kind) {
+            case PUT -> {
+                out.writeInt(edges.size());
+                for (TransportationEdge edge : edges) {
+                    writeEdge(out, edge);
+                }
+            }
+            case REMOVE -> {
+                out.writeLong(id);
+                out.writeLong(removedVersion);
+            }
+            case RENAME -> {
+                out.writeLong(id);
+                out.writeUTF(name);
+            }
+        }
+    }
+
+    static NetworkChange read(DataInput in) throws IOException {
+        Kind kind = Kind.values()[in.readByte()];
+        long version = in.readLong();
+        return switch (kind) {
+            case PUT -> {
+                int count = in.readInt();
+                List<TransportationEdge> edges = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    edges.add(readEdge(in));
+                }
+                yield new NetworkChange(kind, version, edges, 0, null, 0);
+            }
+            case REMOVE -> new NetworkChange(kind, version, List.of(), in.readLong(), null, in.readLong());
+            case RENAME -> new NetworkChange(kind, version, List.of(), in.readLong(), in.readUTF(), 0);
+        };
+    }
+
+    private static void writeEdge(DataOutput out, TransportationEdge edge) throws IOException {
+        out.writeLong(edge.getId());
+        out.writeLong(edge.getOriginLocationId());
+        out.writeUTF(edge.getOriginLocationName());
+        out.writeLong(edge.getDestinationLocationId());
+        out.writeUTF(edge.getDestinationLocationName());
+        out.writeByte(edge.getTransportationType().ordinal());
+        out.writeBoolean(edge.getDuration() != null);
+        if (edge.getDuration() != null) {
+            out.writeDouble(edge.getDuration());
+        }
+        out.writeUTF(edge.getPrice() != null ? edge.getPrice().toPlainString() : "");
+        out.writeLong(NetworkSnapshot.toVersion(edge.getVersion()));
+    }
+
+    private static TransportationEdge readEdge(DataInput in) throws IOException {
+        long id = in.readLong();
+        long originId = in.readLong();
+        String originName = in.readUTF();
+        long destinationId = in.readLong();
+        String destinationName = in.readUTF();
+        TransportationType type = TransportationType.values()[in.readByte()];
+        Double duration = in.readBoolean() ? in.readDouble() : null;
+        String price = in.readUTF();
+        return new TransportationEdge(id, originId, originName, destinationId, destinationName, type,
+                duration, price.isEmpty() ? null : new BigDecimal(price), in.readLong());
+    }
+}
@@ -0,0 +1,72 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Redis pub/sub channel the nodes announce the network changes they apply on, so every other node
+ * applies them to its own {@link RouteGraph} as well.
+ * <p>
+ * Messages carry the sending node, which ignores its own, and the {@link NetworkChange}. A lost message
+ * is found by the version comparison of {@link RouteGraph#synchronize()}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NetworkChangeChannel {
+
+    public static final String CHANNEL = "aviation:network-changes";
+
+    private static final byte[] CHANNEL_BYTES = CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public void publish(NetworkChange change) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.publish(CHANNEL_BYTES, encode(change));
+        } catch (DataAccessException e) {
+            log.warn("Could not announce network change version {}: {}", change.getVersion(), e.getMessage());
+        }
+    }
+
+    /**
+     * @return the change announced by another node, {@code null} for changes of this node and unreadable messages
+     */
+    public NetworkChange decode(Message message) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message.getBody()))) {
+            if (nodeId.equals(in.readUTF())) {
+                return null;
+            }
+            return NetworkChange.read(in);
+        } catch (IOException | IndexOutOfBoundsException e) {
+            log.warn("Unreadable network change message: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] encode(NetworkChange change) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(nodeId);
+            change.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
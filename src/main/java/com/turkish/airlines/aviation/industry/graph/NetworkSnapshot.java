@@ -0,0 +1,860 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.model.RouteLeg;
+import com.turkish.airlines.aviation.industry.response.TransportationResponse;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Immutable, compact representation of the transportation network.
+ * <p>
+ * Locations are mapped to dense int indexes (sorted by id) and edges are stored column-wise in
+ * primitive arrays: durations in whole minutes, prices in minor currency units and types as the
+ * {@link TransportationType} ordinal. Outgoing and incoming adjacency are kept in compressed
+ * sparse row form, with one segment per (location, type) pair; every segment is ordered by the
+ * opposite end point so the edges towards a given location can be found by binary search.
+ * <p>
+ * Edges are ordered by transportation id, so an edge can be found by id with a binary search. Every
+ * edge keeps the entity version of the transportation it was built from, so a change older than the
+ * one already applied can be recognised.
+ * Snapshots are never mutated; {@link #withEdge}, {@link #withEdges} and {@link #withoutEdge} return a
+ * new snapshot. Single edge changes between known locations splice the columns and adjacency in one
+ * linear copy and share every untouched array; bulk changes and new locations rebuild the network.
+ * <p>
+ * {@link #toBytes} writes the columns deflate compressed behind a format version, for sharing a
+ * snapshot between nodes; the adjacency is rebuilt on read.
+ */
+public final class NetworkSnapshot {
+
+    private static final TransportationType[] TYPES = TransportationType.values();
+    private static final int TYPE_COUNT = TYPES.length;
+    private static final int PRICE_SCALE = 2;
+
+    private static final long NO_EDGE = Long.MIN_VALUE;
+    private static final int FORMAT_VERSION = 2;
+
+    private static final NetworkSnapshot EMPTY = new Builder().build();
+
+    private final long[] locationIds;
+    private final String[] locationNames;
+
+    private final long[] edgeIds;
+    private final int[] edgeOrigins;
+    private final int[] edgeDestinations;
+    private final byte[] edgeTypes;
+    private final int[] edgeDurations;
+    private final long[] edgePrices;
+    private final long[] edgeVersions;
+
+    private final int[] outOffsets;
+    private final int[] outEdges;
+    private final int[] inOffsets;
+    private final int[] inEdges;
+
+    private NetworkSnapshot(long[] locationIds, String[] locationNames, long[] edgeIds, int[] edgeOrigins,
+                            int[] edgeDestinations, byte[] edgeTypes, int[] edgeDurations, long[] edgePrices,
+                            long[] edgeVersions) {
+        this.locationIds = locationIds;
+        this.locationNames = locationNames;
+        this.edgeIds = edgeIds;
+        this.edgeOrigins = edgeOrigins;
+        this.edgeDestinations = edgeDestinations;
+        this.edgeTypes = edgeTypes;
+        this.edgeDurations = edgeDurations;
+        this.edgePrices = edgePrices;
+        this.edgeVersions = edgeVersions;
+        this.outOffsets = new int[locationIds.length * TYPE_COUNT + 1];
+        this.outEdges = adjacency(edgeOrigins, edgeDestinations, outOffsets);
+        this.inOffsets = new int[locationIds.length * TYPE_COUNT + 1];
+        this.inEdges = adjacency(edgeDestinations, edgeOrigins, inOffsets);
+    }
+
+    private NetworkSnapshot(long[] locationIds, String[] locationNames, long[] edgeIds, int[] edgeOrigins,
+                            int[] edgeDestinations, byte[] edgeTypes, int[] edgeDurations, long[] edgePrices,
+                            long[] edgeVersions, int[] outOffsets, int[] outEdges, int[] inOffsets, int[] inEdges) {
+        this.locationIds = locationIds;
+        this.locationNames = locationNames;
+        this.edgeIds = edgeIds;
+        this.edgeOrigins = edgeOrigins;
+        this.edgeDestinations = edgeDestinations;
+        this.edgeTypes = edgeTypes;
+        this.edgeDurations = edgeDurations;
+        this.edgePrices = edgePrices;
+        this.edgeVersions = edgeVersions;
+        this.outOffsets = outOffsets;
+        this.outEdges = outEdges;
+        this.inOffsets = inOffsets;
+        this.inEdges = inEdges;
+    }
+
+    public static NetworkSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static NetworkSnapshot of(Iterable<TransportationEdge> edges) {
+        Builder builder = new Builder();
+        edges.forEach(builder::add);
+        return builder.build();
+    }
+
+    public NetworkSnapshot withEdge(TransportationEdge edge) {
+        int origin = indexOf(edge.getOriginLocationId());
+        int destination = indexOf(edge.getDestinationLocationId());
+        if (origin < 0 || destination < 0) {
+            return toBuilder(edge.getId()).add(edge).build();
+        }
+        String[] names = withName(withName(locationNames, origin, edge.getOriginLocationName()),
+                destination, edge.getDestinationLocationName());
+        byte type = (byte) edge.getTransportationType().ordinal();
+        int duration = toMinutes(edge.getDuration());
+        long price = toMinorUnits(edge.getPrice());
+        long version = toVersion(edge.getVersion());
+
+        int existing = edgeIndexOf(edge.getId());
+        if (existing >= 0 && edgeOrigins[existing] == origin && edgeDestinations[existing] == destination
+                && edgeTypes[existing] == type) {
+            // Same place in the adjacency, only the weights change
+            int[] durations = edgeDurations.clone();
+            durations[existing] = duration;
+            long[] prices = edgePrices.clone();
+            prices[existing] = price;
+            long[] versions = edgeVersions.clone();
+            versions[existing] = version;
+            return new NetworkSnapshot(locationIds, names, edgeIds, edgeOrigins, edgeDestinations, edgeTypes,
+                    durations, prices, versions, outOffsets, outEdges, inOffsets, inEdges);
+        }
+        NetworkSnapshot base = existing >= 0 ? removed(existing) : this;
+        return base.inserted(names, edge.getId(), origin, destination, type, duration, price, version);
+    }
+
+    /**
+     * Adds many edges with one copy of the network, for bulk imports.
+     */
+    public NetworkSnapshot withEdges(Collection<TransportationEdge> edges) {
+        Builder builder = toBuilder(NO_EDGE);
+        edges.forEach(builder::add);
+        return builder.build();
+    }
+
+    public NetworkSnapshot withoutEdge(long edgeId) {
+        int edge = edgeIndexOf(edgeId);
+        return edge < 0 ? this : removed(edge);
+    }
+
+    /**
+     * @return a snapshot with the location renamed, or this one when no transportation touches it
+     */
+    public NetworkSnapshot withLocationName(long locationId, String name) {
+        if (indexOf(locationId) < 0) {
+            return this;
+        }
+        String[] names = withName(locationNames, indexOf(locationId), name);
+        return names == locationNames ? this : new NetworkSnapshot(locationIds, names, edgeIds, edgeOrigins,
+                edgeDestinations, edgeTypes, edgeDurations, edgePrices, edgeVersions, outOffsets, outEdges, inOffsets,
+                inEdges);
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + edgeIds.length * 32);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(bytes)))) {
+            out.writeInt(FORMAT_VERSION);
+            // Types by name, so a reordered enum cannot silently change the type of an edge
+            out.writeInt(TYPE_COUNT);
+            for (TransportationType type : TYPES) {
+                out.writeUTF(type.name());
+            }
+            out.writeInt(locationIds.length);
+            for (int location = 0; location < locationIds.length; location++) {
+                out.writeLong(locationIds[location]);
+                out.writeBoolean(locationNames[location] != null);
+                if (locationNames[location] != null) {
+                    out.writeUTF(locationNames[location]);
+                }
+            }
+            out.writeInt(edgeIds.length);
+            for (int e = 0; e < edgeIds.length; e++) {
+                out.writeLong(edgeIds[e]);
+                out.writeInt(edgeOrigins[e]);
+                out.writeInt(edgeDestinations[e]);
+                out.writeByte(edgeTypes[e]);
+                out.writeInt(edgeDurations[e]);
+                out.writeLong(edgePrices[e]);
+                out.writeLong(edgeVersions[e]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the snapshot written by {@link #toBytes}, or {@code null} when it was written in another
+     * format or with transportation types this version does not know
+     */
+    public static NetworkSnapshot fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            byte[] typeOrdinals = new byte[in.readInt()];
+            for (int i = 0; i < typeOrdinals.length; i++) {
+                String name = in.readUTF();
+                TransportationType type = Arrays.stream(TYPES).filter(t -> t.name().equals(name)).findFirst().orElse(null);
+                if (type == null) {
+                    return null;
+                }
+                typeOrdinals[i] = (byte) type.ordinal();
+            }
+
+            long[] locationIds = new long[in.readInt()];
+            String[] locationNames = new String[locationIds.length];
+            for (int location = 0; location < locationIds.length; location++) {
+                locationIds[location] = in.readLong();
+                locationNames[location] = in.readBoolean() ? in.readUTF() : null;
+            }
+            int edgeCount = in.readInt();
+            long[] edgeIds = new long[edgeCount];
+            int[] edgeOrigins = new int[edgeCount];
+            int[] edgeDestinations = new int[edgeCount];
+            byte[] edgeTypes = new byte[edgeCount];
+            int[] edgeDurations = new int[edgeCount];
+            long[] edgePrices = new long[edgeCount];
+            long[] edgeVersions = new long[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                edgeIds[e] = in.readLong();
+                edgeOrigins[e] = in.readInt();
+                edgeDestinations[e] = in.readInt();
+                edgeTypes[e] = typeOrdinals[in.readByte()];
+                edgeDurations[e] = in.readInt();
+                edgePrices[e] = in.readLong();
+                edgeVersions[e] = in.readLong();
+            }
+            return new NetworkSnapshot(locationIds, locationNames, edgeIds, edgeOrigins, edgeDestinations,
+                    edgeTypes, edgeDurations, edgePrices, edgeVersions);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int getLocationCount() {
+        return locationIds.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeIds.length;
+    }
+
+    /**
+     * @return the dense index of the location, or -1 when no transportation touches it
+     */
+    public int indexOf(Long locationId) {
+        if (locationId == null) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(locationIds, locationId);
+        return index >= 0 ? index : -1;
+    }
+
+    public long locationId(int location) {
+        return locationIds[location];
+    }
+
+    public String locationName(int location) {
+        return locationNames[location];
+    }
+
+    /**
+     * @return the edge index of the transportation, or -1 when it is not part of the network
+     */
+    public int edgeIndexOf(long edgeId) {
+        int index = Arrays.binarySearch(edgeIds, edgeId);
+        return index >= 0 ? index : -1;
+    }
+
+    // Outgoing adjacency
+
+    public int outgoingStart(int location, TransportationType type) {
+        return outOffsets[slot(location, type)];
+    }
+
+    public int outgoingEnd(int location, TransportationType type) {
+        return outOffsets[slot(location, type) + 1];
+    }
+
+    public int outgoingStart(int location, TransportationType type, int destination) {
+        return lowerBound(outEdges, edgeDestinations, outgoingStart(location, type), outgoingEnd(location, type), destination);
+    }
+
+    public int outgoingEnd(int location, TransportationType type, int destination) {
+        return lowerBound(outEdges, edgeDestinations, outgoingStart(location, type), outgoingEnd(location, type), destination + 1);
+    }
+
+    public int outgoingEdge(int position) {
+        return outEdges[position];
+    }
+
+    public int outgoingDegree(int location) {
+        return outOffsets[slot(location, TYPES[0]) + TYPE_COUNT] - outOffsets[slot(location, TYPES[0])];
+    }
+
+    // Incoming adjacency
+
+    public int incomingStart(int location, TransportationType type) {
+        return inOffsets[slot(location, type)];
+    }
+
+    public int incomingEnd(int location, TransportationType type) {
+        return inOffsets[slot(location, type) + 1];
+    }
+
+    public int incomingStart(int location, TransportationType type, int origin) {
+        return lowerBound(inEdges, edgeOrigins, incomingStart(location, type), incomingEnd(location, type), origin);
+    }
+
+    public int incomingEnd(int location, TransportationType type, int origin) {
+        return lowerBound(inEdges, edgeOrigins, incomingStart(location, type), incomingEnd(location, type), origin + 1);
+    }
+
+    public int incomingEdge(int position) {
+        return inEdges[position];
+    }
+
+    public int incomingDegree(int location) {
+        return inOffsets[slot(location, TYPES[0]) + TYPE_COUNT] - inOffsets[slot(location, TYPES[0])];
+    }
+
+    /**
+     * Breadth-first walk over transportations of any type.
+     *
+     * @param outgoing {@code true} to follow transportations forward, {@code false} to walk them backwards
+     * @return the locations reached from the location within {@code maxLegs} legs, the location included
+     */
+    public int[] within(int location, int maxLegs, boolean outgoing) {
+        if (location < 0) {
+            return new int[0];
+        }
+        int[] offsets = outgoing ? outOffsets : inOffsets;
+        int[] edges = outgoing ? outEdges : inEdges;
+        int[] ends = outgoing ? edgeDestinations : edgeOrigins;
+
+        int[] depth = new int[locationIds.length];
+        Arrays.fill(depth, -1);
+        int[] reached = new int[locationIds.length];
+        int count = 0;
+        depth[location] = 0;
+        reached[count++] = location;
+        for (int head = 0; head < count; head++) {
+            int current = reached[head];
+            if (depth[current] == maxLegs) {
+                continue;
+            }
+            int first = current * TYPE_COUNT;
+            for (int p = offsets[first], end = offsets[first + TYPE_COUNT]; p < end; p++) {
+                int next = ends[edges[p]];
+                if (depth[next] < 0) {
+                    depth[next] = depth[current] + 1;
+                    reached[count++] = next;
+                }
+            }
+        }
+        return Arrays.copyOf(reached, count);
+    }
+
+    // Edge columns
+
+    public long edgeId(int edge) {
+        return edgeIds[edge];
+    }
+
+    public int origin(int edge) {
+        return edgeOrigins[edge];
+    }
+
+    public int destination(int edge) {
+        return edgeDestinations[edge];
+    }
+
+    public TransportationType type(int edge) {
+        return TYPES[edgeTypes[edge]];
+    }
+
+    public int duration(int edge) {
+        return edgeDurations[edge];
+    }
+
+    /**
+     * @return the price in minor currency units
+     */
+    public long price(int edge) {
+        return edgePrices[edge];
+    }
+
+    /**
+     * @return the entity version of the transportation the edge was built from
+     */
+    public long version(int edge) {
+        return edgeVersions[edge];
+    }
+
+    public static BigDecimal toPrice(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, PRICE_SCALE);
+    }
+
+    public static long toMinorUnits(BigDecimal price) {
+        return price == null ? 0L : price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static int toMinutes(Double duration) {
+        return duration == null ? 0 : (int) Math.round(duration);
+    }
+
+    public static long toVersion(Long version) {
+        return version == null ? 0L : version;
+    }
+
+    /**
+     * @return a view for validating routes given as edge indexes, to be reused by one search
+     */
+    public RouteView routeView() {
+        return new RouteView();
+    }
+
+    public TransportationResponse toResponse(int edge) {
+        return TransportationResponse.builder()
+                .id(edgeIds[edge])
+                .originLocationId(locationIds[edgeOrigins[edge]])
+                .destinationLocationId(locationIds[edgeDestinations[edge]])
+                .transportationType(type(edge).name())
+                .originLocationName(locationNames[edgeOrigins[edge]])
+                .destinationLocationName(locationNames[edgeDestinations[edge]])
+                .build();
+    }
+
+    private static int slot(int location, TransportationType type) {
+        return location * TYPE_COUNT + type.ordinal();
+    }
+
+    /**
+     * Counting sorts the edges into (location, type) segments. A first stable pass by the opposite
+     * end point leaves every segment ordered by it.
+     */
+    private int[] adjacency(int[] from, int[] to, int[] offsets) {
+        int edgeCount = edgeIds.length;
+
+        int[] neighbourOffsets = new int[locationIds.length + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            neighbourOffsets[to[e] + 1]++;
+        }
+        prefixSum(neighbourOffsets);
+        int[] byNeighbour = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            byNeighbour[neighbourOffsets[to[e]]++] = e;
+        }
+
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[from[e] * TYPE_COUNT + edgeTypes[e] + 1]++;
+        }
+        prefixSum(offsets);
+        int[] cursor = Arrays.copyOf(offsets, offsets.length);
+        int[] edges = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            int e = byNeighbour[i];
+            edges[cursor[from[e] * TYPE_COUNT + edgeTypes[e]]++] = e;
+        }
+        return edges;
+    }
+
+    private static void prefixSum(int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            values[i] += values[i - 1];
+        }
+    }
+
+    private static int lowerBound(int[] edges, int[] keys, int from, int to, int key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[edges[mid]] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Inserts an edge between known locations at its id position. Edge indexes at or above it move up
+     * by one and the edge joins its segments after the edges to the same end point with a lower id, as
+     * a rebuild would place it.
+     */
+    private NetworkSnapshot inserted(String[] names, long id, int origin, int destination, byte type,
+                                     int duration, long price, long version) {
+        int edge = -Arrays.binarySearch(edgeIds, id) - 1;
+        int outSlot = origin * TYPE_COUNT + type;
+        int outPosition = insertPosition(outEdges, edgeDestinations, outOffsets[outSlot], outOffsets[outSlot + 1],
+                destination, edge);
+        int inSlot = destination * TYPE_COUNT + type;
+        int inPosition = insertPosition(inEdges, edgeOrigins, inOffsets[inSlot], inOffsets[inSlot + 1],
+                origin, edge);
+        return new NetworkSnapshot(locationIds, names,
+                insert(edgeIds, edge, id), insert(edgeOrigins, edge, origin),
+                insert(edgeDestinations, edge, destination), insert(edgeTypes, edge, type),
+                insert(edgeDurations, edge, duration), insert(edgePrices, edge, price),
+                insert(edgeVersions, edge, version), shift(outOffsets, outSlot, 1), insertAdjacent(outEdges, outPosition, edge),
+                shift(inOffsets, inSlot, 1), insertAdjacent(inEdges, inPosition, edge));
+    }
+
+    /**
+     * Removes an edge; edge indexes above it move down by one. Its locations stay, as on a rebuild.
+     */
+    private NetworkSnapshot removed(int edge) {
+        int outSlot = edgeOrigins[edge] * TYPE_COUNT + edgeTypes[edge];
+        int outPosition = position(outEdges, edgeDestinations, outOffsets[outSlot], outOffsets[outSlot + 1],
+                edgeDestinations[edge], edge);
+        int inSlot = edgeDestinations[edge] * TYPE_COUNT + edgeTypes[edge];
+        int inPosition = position(inEdges, edgeOrigins, inOffsets[inSlot], inOffsets[inSlot + 1], edgeOrigins[edge], edge);
+        return new NetworkSnapshot(locationIds, locationNames,
+                remove(edgeIds, edge), remove(edgeOrigins, edge), remove(edgeDestinations, edge),
+                remove(edgeTypes, edge), remove(edgeDurations, edge), remove(edgePrices, edge),
+                remove(edgeVersions, edge),
+                shift(outOffsets, outSlot, -1), removeAdjacent(outEdges, outPosition),
+                shift(inOffsets, inSlot, -1), removeAdjacent(inEdges, inPosition));
+    }
+
+    private static int insertPosition(int[] edges, int[] keys, int from, int to, int key, int edge) {
+        int position = lowerBound(edges, keys, from, to, key);
+        while (position < to && keys[edges[position]] == key && edges[position] < edge) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int position(int[] edges, int[] keys, int from, int to, int key, int edge) {
+        int position = lowerBound(edges, keys, from, to, key);
+        while (edges[position] != edge) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int[] insertAdjacent(int[] edges, int position, int edge) {
+        int[] result = new int[edges.length + 1];
+        for (int source = 0, target = 0; target < result.length; target++) {
+            if (target == position) {
+                result[target] = edge;
+            } else {
+                int e = edges[source++];
+                result[target] = e >= edge ? e + 1 : e;
+            }
+        }
+        return result;
+    }
+
+    private static int[] removeAdjacent(int[] edges, int position) {
+        int edge = edges[position];
+        int[] result = new int[edges.length - 1];
+        for (int source = 0, target = 0; source < edges.length; source++) {
+            if (source != position) {
+                int e = edges[source];
+                result[target++] = e > edge ? e - 1 : e;
+            }
+        }
+        return result;
+    }
+
+    private static int[] shift(int[] offsets, int slot, int delta) {
+        int[] result = offsets.clone();
+        for (int i = slot + 1; i < result.length; i++) {
+            result[i] += delta;
+        }
+        return result;
+    }
+
+    private static String[] withName(String[] names, int location, String name) {
+        if (Objects.equals(names[location], name)) {
+            return names;
+        }
+        String[] result = names.clone();
+        result[location] = name;
+        return result;
+    }
+
+    private static long[] insert(long[] values, int index, long value) {
+        long[] result = new long[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    private static int[] insert(int[] values, int index, int value) {
+        int[] result = new int[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    private static byte[] insert(byte[] values, int index, byte value) {
+        byte[] result = new byte[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    private static long[] remove(long[] values, int index) {
+        long[] result = new long[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, result.length - index);
+        return result;
+    }
+
+    private static int[] remove(int[] values, int index) {
+        int[] result = new int[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, result.length - index);
+        return result;
+    }
+
+    private static byte[] remove(byte[] values, int index) {
+        byte[] result = new byte[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, result.length - index);
+        return result;
+    }
+
+    private Builder toBuilder(long skippedEdgeId) {
+        Builder builder = new Builder();
+        for (int location = 0; location < locationIds.length; location++) {
+            builder.addLocation(locationIds[location], locationNames[location]);
+        }
+        for (int e = 0; e < edgeIds.length; e++) {
+            if (edgeIds[e] != skippedEdgeId) {
+                builder.addEdge(edgeIds[e], locationIds[edgeOrigins[e]], locationIds[edgeDestinations[e]],
+                        edgeTypes[e], edgeDurations[e], edgePrices[e], edgeVersions[e]);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Light-weight list view of the route it was last pointed at with {@link #of}. Each position has one leg
+     * that reads the edge at that position of the current route, so validating routes does not allocate
+     * once the view has grown to the longest route. Legs taken from the view are only valid until it is
+     * pointed at the next route, and a view is not shared between threads.
+     */
+    public final class RouteView extends AbstractList<RouteLeg> {
+        private int[] route = new int[0];
+        private Leg[] legs = new Leg[0];
+
+        private RouteView() {
+        }
+
+        public RouteView of(int[] route) {
+            if (legs.length < route.length) {
+                Leg[] grown = Arrays.copyOf(legs, route.length);
+                for (int position = legs.length; position < route.length; position++) {
+                    grown[position] = new Leg(position);
+                }
+                legs = grown;
+            }
+            this.route = route;
+            return this;
+        }
+
+        public NetworkSnapshot getSnapshot() {
+            return NetworkSnapshot.this;
+        }
+
+        @Override
+        public RouteLeg get(int index) {
+            Objects.checkIndex(index, route.length);
+            return legs[index];
+        }
+
+        @Override
+        public int size() {
+            return route.length;
+        }
+
+        private final class Leg implements RouteLeg {
+            private final int position;
+
+            private Leg(int position) {
+                this.position = position;
+            }
+
+            @Override
+            public Long getId() {
+                return edgeIds[route[position]];
+            }
+
+            @Override
+            public Long getOriginLocationId() {
+                return originId();
+            }
+
+            @Override
+            public Long getDestinationLocationId() {
+                return destinationId();
+            }
+
+            @Override
+            public TransportationType getTransportationType() {
+                return type(route[position]);
+            }
+
+            @Override
+            public long originId() {
+                return locationIds[edgeOrigins[route[position]]];
+            }
+
+            @Override
+            public long destinationId() {
+                return locationIds[edgeDestinations[route[position]]];
+            }
+        }
+    }
+
+    /**
+     * Accumulates edges in growable primitive columns; location ids are resolved to indexes on build.
+     */
+    public static final class Builder {
+        private final Map<Long, String> locations = new HashMap<>();
+        private long[] ids = new long[16];
+        private long[] origins = new long[16];
+        private long[] destinations = new long[16];
+        private byte[] types = new byte[16];
+        private int[] durations = new int[16];
+        private long[] prices = new long[16];
+        private long[] versions = new long[16];
+        private int size;
+
+        public Builder add(TransportationEdge edge) {
+            addLocation(edge.getOriginLocationId(), edge.getOriginLocationName());
+            addLocation(edge.getDestinationLocationId(), edge.getDestinationLocationName());
+            return addEdge(edge.getId(), edge.getOriginLocationId(), edge.getDestinationLocationId(),
+                    (byte) edge.getTransportationType().ordinal(),
+                    toMinutes(edge.getDuration()), toMinorUnits(edge.getPrice()), toVersion(edge.getVersion()));
+        }
+
+        public Builder addLocation(long id, String name) {
+            locations.put(id, name);
+            return this;
+        }
+
+        public Builder addEdge(long id, long origin, long destination, byte type, int duration, long price,
+                               long version) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                origins = Arrays.copyOf(origins, capacity);
+                destinations = Arrays.copyOf(destinations, capacity);
+                types = Arrays.copyOf(types, capacity);
+                durations = Arrays.copyOf(durations, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+            }
+            ids[size] = id;
+            origins[size] = origin;
+            destinations[size] = destination;
+            types[size] = type;
+            durations[size] = duration;
+            prices[size] = price;
+            versions[size] = version;
+            size++;
+            return this;
+        }
+
+        public NetworkSnapshot build() {
+            long[] locationIds = locations.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            String[] locationNames = new String[locationIds.length];
+            for (int i = 0; i < locationIds.length; i++) {
+                locationNames[i] = locations.get(locationIds[i]);
+            }
+
+            int[] order = order();
+
+            long[] edgeIds = new long[size];
+            int[] edgeOrigins = new int[size];
+            int[] edgeDestinations = new int[size];
+            byte[] edgeTypes = new byte[size];
+            int[] edgeDurations = new int[size];
+            long[] edgePrices = new long[size];
+            long[] edgeVersions = new long[size];
+            for (int e = 0; e < size; e++) {
+                int source = order[e];
+                edgeIds[e] = ids[source];
+                edgeOrigins[e] = Arrays.binarySearch(locationIds, origins[source]);
+                edgeDestinations[e] = Arrays.binarySearch(locationIds, destinations[source]);
+                edgeTypes[e] = types[source];
+                edgeDurations[e] = durations[source];
+                edgePrices[e] = prices[source];
+                edgeVersions[e] = versions[source];
+            }
+
+            return new NetworkSnapshot(locationIds, locationNames, edgeIds, edgeOrigins, edgeDestinations,
+                    edgeTypes, edgeDurations, edgePrices, edgeVersions);
+        }
+
+        /**
+         * @return the positions of the edges ordered by id: as added when they already are, as from a
+         * snapshot, otherwise merge sorted on primitive arrays
+         */
+        private int[] order() {
+            int[] order = new int[size];
+            boolean sorted = true;
+            for (int e = 0; e < size; e++) {
+                order[e] = e;
+                sorted &= e == 0 || ids[e - 1] <= ids[e];
+            }
+            if (!sorted) {
+                mergeSort(order, new int[size], 0, size);
+            }
+            return order;
+        }
+
+        private void mergeSort(int[] order, int[] buffer, int from, int to) {
+            if (to - from < 2) {
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            mergeSort(order, buffer, from, middle);
+            mergeSort(order, buffer, middle, to);
+            if (ids[order[middle - 1]] <= ids[order[middle]]) {
+                return;
+            }
+            System.arraycopy(order, from, buffer, from, to - from);
+            for (int i = from, left = from, right = middle; i < to; i++) {
+                if (right == to || (left < middle && ids[buffer[left]] <= ids[buffer[right]])) {
+                    order[i] = buffer[left++];
+                } else {
+                    order[i] = buffer[right++];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The latest {@link NetworkSnapshot} in Redis, so a new node can start from one bulk read instead of
+ * loading the network from the database.
+ * <p>
+ * Every applied change of the network increments a shared version counter, and a snapshot is stored
+ * with the version it reflects. A snapshot is only used while its version equals the counter; when a
+ * change was not published, because its node had missed changes of other nodes, the next node to start
+ * loads from the database and publishes again. A snapshot only ever replaces an older one.
+ * <p>
+ * The version counter is kept even with {@code route.graph.shared-snapshot} disabled, nodes compare their
+ * version with it to find changes they missed; only the snapshot is then neither read nor written.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NetworkSnapshotStore {
+
+    private static final byte[] VERSION_KEY = bytes("aviation:network:version");
+    private static final byte[] SNAPSHOT_KEY = bytes("aviation:network:snapshot");
+    private static final byte[] SNAPSHOT_VERSION_KEY = bytes("aviation:network:snapshot-version");
+
+    private static final byte[] PUBLISH_IF_NEWER = bytes(
+            "local current = tonumber(redis.call('get', KEYS[2]) or '-1') "
+                    + "if tonumber(ARGV[1]) > current then "
+                    + "redis.call('mset', KEYS[1], ARGV[2], KEYS[2], ARGV[1]) return 1 end "
+                    + "return 0");
+
+    private final RedisConnectionFactory connectionFactory;
+
+    @Value("${route.graph.shared-snapshot:true}")
+    private boolean sharedSnapshot;
+
+    /**
+     * @return the stored snapshot when it reflects every change so far, otherwise, or when snapshots are not
+     * shared, {@code null}
+     */
+    public StoredSnapshot load() {
+        if (!sharedSnapshot) {
+            return null;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            List<byte[]> values = connection.stringCommands().mGet(VERSION_KEY, SNAPSHOT_VERSION_KEY, SNAPSHOT_KEY);
+            if (values == null || values.get(2) == null) {
+                return null;
+            }
+            long version = parse(values.get(0), 0);
+            long snapshotVersion = parse(values.get(1), -1);
+            if (snapshotVersion != version) {
+                log.info("Shared network snapshot is at version {}, the network at {}", snapshotVersion, version);
+                return null;
+            }
+            NetworkSnapshot snapshot = NetworkSnapshot.fromBytes(values.get(2));
+            return snapshot != null ? new StoredSnapshot(snapshot, version) : null;
+        } catch (DataAccessException | UncheckedIOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            log.warn("Could not read the shared network snapshot: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the number of network changes applied so far, or -1 when it cannot be read
+     */
+    public long currentVersion() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return parse(connection.stringCommands().get(VERSION_KEY), 0);
+        } catch (DataAccessException e) {
+            log.warn("Could not read the network version: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Counts a change of the network.
+     *
+     * @return the version of the network including the change, or -1 when it cannot be counted
+     */
+    public long nextVersion() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            Long version = connection.stringCommands().incr(VERSION_KEY);
+            return version != null ? version : -1;
+        } catch (DataAccessException e) {
+            log.warn("Could not count a network change: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    public void publish(NetworkSnapshot snapshot, long version) {
+        if (!sharedSnapshot) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        byte[] bytes = snapshot.toBytes();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            Long published = connection.scriptingCommands().eval(PUBLISH_IF_NEWER, ReturnType.INTEGER, 2,
+                    SNAPSHOT_KEY, SNAPSHOT_VERSION_KEY, bytes(Long.toString(version)), bytes);
+            log.debug("Shared network snapshot version {} ({} bytes) {} in {} ms", version, bytes.length,
+                    Long.valueOf(1).equals(published) ? "published" : "superseded", System.currentTimeMillis() - start);
+        } catch (DataAccessException e) {
+            log.warn("Could not publish network snapshot version {}: {}", version, e.getMessage());
+        }
+    }
+
+    private static long parse(byte[] value, long absent) {
+        return value != null ? Long.parseLong(new String(value, StandardCharsets.UTF_8)) : absent;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @lombok.Value
+    public static class StoredSnapshot {
+        NetworkSnapshot snapshot;
+        long version;
+    }
+}
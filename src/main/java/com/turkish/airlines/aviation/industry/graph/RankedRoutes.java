@@ -0,0 +1,101 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.RouteSortCriteria;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best {@code limit} routes offered to it according to a {@link RouteSortCriteria},
+ * using a bounded max-heap on a primitive score computed from the snapshot. Routes are kept as
+ * edge indexes, so only the selected ones ever need to be turned into responses.
+ * <p>
+ * Without a sort criterion routes keep the order in which they were offered.
+ */
+public class RankedRoutes {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong((Entry entry) -> entry.score)
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final NetworkSnapshot snapshot;
+    private final RouteSortCriteria sortBy;
+    private final int limit;
+    private final PriorityQueue<Entry> heap;
+    private long sequence;
+
+    public RankedRoutes(NetworkSnapshot snapshot, RouteSortCriteria sortBy, Integer limit) {
+        this.snapshot = snapshot;
+        this.sortBy = sortBy;
+        this.limit = limit != null ? limit : Integer.MAX_VALUE;
+        this.heap = new PriorityQueue<>(Math.min(this.limit, 16), ORDER.reversed());
+    }
+
+    public void add(int[] route) {
+        Entry entry = new Entry(route, score(route), sequence++);
+        if (heap.size() < limit) {
+            heap.add(entry);
+        } else if (ORDER.compare(entry, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(entry);
+        }
+    }
+
+    public boolean isFull() {
+        return heap.size() >= limit;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * @return the kept routes, best first
+     */
+    public List<int[]> toList() {
+        List<Entry> entries = new ArrayList<>(heap);
+        entries.sort(ORDER);
+        List<int[]> routes = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            routes.add(entry.route);
+        }
+        return routes;
+    }
+
+    private long score(int[] route) {
+        if (sortBy == null) {
+            return 0L;
+        }
+        switch (sortBy) {
+            case PRICE:
+                long price = 0L;
+                for (int edge : route) {
+                    price += snapshot.price(edge);
+                }
+                return price;
+            case DURATION:
+                long duration = 0L;
+                for (int edge : route) {
+                    duration += snapshot.duration(edge);
+                }
+                return duration;
+            case STOPS:
+                return route.length;
+            default:
+                return 0L;
+        }
+    }
+
+    private static final class Entry {
+        private final int[] route;
+        private final long score;
+        private final long sequence;
+
+        private Entry(int[] route, long score, long sequence) {
+            this.route = route;
+            this.score = score;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Consumer;
+
+/**
+ * Transportations that can take part in a route between two locations of a {@link NetworkSnapshot},
+ * together with the enumeration of the route shapes built from them.
+ * <p>
+ * Candidate flights are the ones departing the origin or arriving at the destination, candidate
+ * transfers are ground transportations leaving the origin or reaching the destination. Legs are
+ * joined through the snapshot adjacency on the connecting location, so the work done is
+ * proportional to the number of connecting routes instead of the product of the leg lists.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RouteCandidates {
+    private final NetworkSnapshot snapshot;
+    private final int origin;
+    private final int destination;
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the number of transportations departing the origin or arriving at the destination
+     */
+    public int size() {
+        int size = 0;
+        if (origin >= 0) {
+            size += snapshot.outgoingDegree(origin);
+        }
+        if (destination >= 0) {
+            size += snapshot.incomingDegree(destination);
+        }
+        if (origin >= 0 && destination >= 0) {
+            for (TransportationType type : TransportationType.values()) {
+                size -= snapshot.outgoingEnd(origin, type, destination) - snapshot.outgoingStart(origin, type, destination);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Emits direct flights, before transfer + flight, flight + after transfer and
+     * before transfer + flight + after transfer combinations, in that order, as edge indexes.
+     */
+    public void forEachRoute(Consumer<int[]> consumer) {
+        if (origin < 0 || destination < 0) {
+            return;
+        }
+        TransportationType flight = TransportationType.FLIGHT;
+        TransportationType other = TransportationType.OTHER;
+
+        // Direct flights
+        for (int p = snapshot.outgoingStart(origin, flight, destination),
+             end = snapshot.outgoingEnd(origin, flight, destination); p < end; p++) {
+            consumer.accept(new int[]{snapshot.outgoingEdge(p)});
+        }
+
+        // Routes with before transfer
+        for (int p = snapshot.outgoingStart(origin, other), end = snapshot.outgoingEnd(origin, other); p < end; p++) {
+            int beforeTransfer = snapshot.outgoingEdge(p);
+            int hub = snapshot.destination(beforeTransfer);
+            for (int q = snapshot.outgoingStart(hub, flight, destination),
+                 qEnd = snapshot.outgoingEnd(hub, flight, destination); q < qEnd; q++) {
+                consumer.accept(new int[]{beforeTransfer, snapshot.outgoingEdge(q)});
+            }
+        }
+
+        // Routes with after transfer
+        for (int p = snapshot.outgoingStart(origin, flight), end = snapshot.outgoingEnd(origin, flight); p < end; p++) {
+            int flightEdge = snapshot.outgoingEdge(p);
+            int hub = snapshot.destination(flightEdge);
+            for (int q = snapshot.outgoingStart(hub, other, destination),
+                 qEnd = snapshot.outgoingEnd(hub, other, destination); q < qEnd; q++) {
+                consumer.accept(new int[]{flightEdge, snapshot.outgoingEdge(q)});
+            }
+        }
+
+        // Routes with both transfers
+        for (int p = snapshot.outgoingStart(origin, other), end = snapshot.outgoingEnd(origin, other); p < end; p++) {
+            int beforeTransfer = snapshot.outgoingEdge(p);
+            int departureHub = snapshot.destination(beforeTransfer);
+            // Only candidate flights: every flight from the origin, otherwise the ones arriving at the destination
+            int qStart = departureHub == origin
+                    ? snapshot.outgoingStart(departureHub, flight)
+                    : snapshot.outgoingStart(departureHub, flight, destination);
+            int qEnd = departureHub == origin
+                    ? snapshot.outgoingEnd(departureHub, flight)
+                    : snapshot.outgoingEnd(departureHub, flight, destination);
+            for (int q = qStart; q < qEnd; q++) {
+                int flightEdge = snapshot.outgoingEdge(q);
+                int arrivalHub = snapshot.destination(flightEdge);
+                for (int r = snapshot.outgoingStart(arrivalHub, other, destination),
+                     rEnd = snapshot.outgoingEnd(arrivalHub, other, destination); r < rEnd; r++) {
+                    consumer.accept(new int[]{beforeTransfer, flightEdge, snapshot.outgoingEdge(r)});
+                }
+            }
+        }
+    }
+}
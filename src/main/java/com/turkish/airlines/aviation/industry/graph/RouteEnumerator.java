@@ -0,0 +1,30 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class RouteEnumerator {
+
+    private final RouteGraph routeGraph;
+
+    public NetworkSnapshot getSnapshot() {
+        return routeGraph.getSnapshot();
+    }
+
+    /**
+     * @see RouteGraph#getVersion()
+     */
+    public long getVersion() {
+        return routeGraph.getVersion();
+    }
+
+    public RouteCandidates findCandidates(Long originId, Long destinationId) {
+        return findCandidates(routeGraph.getSnapshot(), originId, destinationId);
+    }
+
+    public RouteCandidates findCandidates(NetworkSnapshot snapshot, Long originId, Long destinationId) {
+        return new RouteCandidates(snapshot, snapshot.indexOf(originId), snapshot.indexOf(destinationId));
+    }
+}
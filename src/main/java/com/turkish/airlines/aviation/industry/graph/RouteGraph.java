@@ -0,0 +1,316 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.ChangeType;
+import com.turkish.airlines.aviation.industry.event.LocationChangedEvent;
+import com.turkish.airlines.aviation.industry.event.NetworkSyncedEvent;
+import com.turkish.airlines.aviation.industry.event.TransportationChangedEvent;
+import com.turkish.airlines.aviation.industry.event.TransportationsImportedEvent;
+import com.turkish.airlines.aviation.industry.repository.TransportationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Resident copy of the transportation network used by route search. It is loaded once at startup
+ * and kept current from {@link TransportationChangedEvent}s, so route search never has to go back
+ * to the database.
+ * <p>
+ * The network is held as an immutable {@link NetworkSnapshot}: writers are serialized and publish a
+ * new snapshot, readers never lock and always work on a consistent one.
+ * <p>
+ * Every change applied on this node is counted as the next network version by the
+ * {@link NetworkSnapshotStore} and announced on the {@link NetworkChangeChannel}; changes announced by
+ * other nodes are applied here in version order, a change that arrives ahead of its predecessors waits
+ * for them. With a shared snapshot the network is loaded from Redis when it is current, and the node
+ * that made a change publishes the snapshot including it. A node whose version is unknown, or that still
+ * misses a change counted one {@code route.graph.sync-interval-ms} ago, reloads the network and resumes
+ * from there.
+ * <p>
+ * Version order need not be commit order, so a change of a transportation is only applied when its entity
+ * version is not older than the one the snapshot holds, or the one it was removed with.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RouteGraph implements MessageListener {
+
+    private static final long UNKNOWN_VERSION = -1;
+
+    private final TransportationRepository transportationRepository;
+    private final ObjectProvider<NetworkSnapshotStore> snapshotStore;
+    private final NetworkChangeChannel changeChannel;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile NetworkSnapshot snapshot = NetworkSnapshot.empty();
+    // Network version the snapshot reflects, guarded by this
+    private long version = UNKNOWN_VERSION;
+    // Changes counted after the next one still missing, by version; guarded by this
+    private final NavigableMap<Long, PendingChange> pending = new TreeMap<>();
+    // Network version read by the previous synchronization, guarded by this
+    private long seenVersion = UNKNOWN_VERSION;
+    // Entity version of every removed transportation, kept across reloads so a late change cannot bring
+    // one back; only deletions are listed. Guarded by this
+    private final Map<Long, Long> removedVersions = new HashMap<>();
+
+    /**
+     * Loads the network, from the shared snapshot when it is current, otherwise from the database. Writers
+     * wait for the load, so no change is applied to a snapshot that is about to be replaced.
+     */
+    @PostConstruct
+    public synchronized void load() {
+        NetworkSnapshotStore store = snapshotStore.getIfAvailable();
+        NetworkSnapshotStore.StoredSnapshot stored = store != null ? store.load() : null;
+        if (stored != null) {
+            snapshot = stored.getSnapshot();
+            version = stored.getVersion();
+            log.info("Route graph loaded from shared snapshot version {} with {} transportations across {} locations",
+                    stored.getVersion(), snapshot.getEdgeCount(), snapshot.getLocationCount());
+        } else {
+            // Read before the database, so the network loaded contains at least every change counted
+            long loadedVersion = store != null ? store.currentVersion() : UNKNOWN_VERSION;
+            NetworkSnapshot loaded = NetworkSnapshot.of(transportationRepository.findAllEdges());
+            snapshot = loaded;
+            version = loadedVersion;
+            log.info("Route graph loaded with {} transportations across {} locations",
+                    loaded.getEdgeCount(), loaded.getLocationCount());
+            if (store != null && loadedVersion != UNKNOWN_VERSION) {
+                store.publish(loaded, loadedVersion);
+            }
+        }
+
+        // Changes that arrived early and are not part of the loaded network are still applied
+        if (version == UNKNOWN_VERSION) {
+            pending.clear();
+        } else {
+            pending.headMap(version, true).clear();
+            drain();
+        }
+    }
+
+    /**
+     * Reloads the network when it does not reflect a known version, or still misses a change counted by
+     * the previous run, because its announcement was lost or this node could not count its own change.
+     */
+    @Scheduled(initialDelayString = "${route.graph.sync-interval-ms:5000}",
+            fixedDelayString = "${route.graph.sync-interval-ms:5000}")
+    public void synchronize() {
+        NetworkSnapshotStore store = snapshotStore.getIfAvailable();
+        if (store == null) {
+            return;
+        }
+        long current = store.currentVersion();
+        if (current == UNKNOWN_VERSION) {
+            return;
+        }
+        synchronized (this) {
+            boolean behind = version == UNKNOWN_VERSION || version < seenVersion;
+            seenVersion = current;
+            if (!behind) {
+                return;
+            }
+            log.info("Route graph is at version {} of network version {}, reloading", version, current);
+            load();
+        }
+        eventPublisher.publishEvent(NetworkSyncedEvent.reloaded());
+    }
+
+    public NetworkSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Read before {@link #getSnapshot()}, the snapshot reflects at least this version.
+     *
+     * @return the network version the snapshot reflects, -1 when it is unknown
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return snapshot.getEdgeCount();
+    }
+
+    public synchronized void put(TransportationEdge edge) {
+        snapshot = snapshot.withEdge(edge);
+    }
+
+    public synchronized void putAll(Collection<TransportationEdge> edges) {
+        snapshot = snapshot.withEdges(edges);
+    }
+
+    public synchronized void remove(Long transportationId) {
+        snapshot = snapshot.withoutEdge(transportationId);
+    }
+
+    public synchronized void rename(Long locationId, String name) {
+        snapshot = snapshot.withLocationName(locationId, name);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTransportationChanged(TransportationChangedEvent event) {
+        applyLocal(event.getChangeType() == ChangeType.DELETED
+                ? NetworkChange.remove(event.getTransportation().getId(), event.getTransportation().getVersion())
+                : NetworkChange.put(List.of(TransportationEdge.from(event.getTransportation()))));
+        log.debug("Route graph applied {} of transportation {}",
+                event.getChangeType(), event.getTransportation().getId());
+    }
+
+    /**
+     * An import is applied and counted as one change.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTransportationsImported(TransportationsImportedEvent event) {
+        applyLocal(NetworkChange.put(event.getEdges()));
+        log.debug("Route graph applied {} imported transportations", event.getEdges().size());
+    }
+
+    /**
+     * Route responses carry location names, so renames are applied to the snapshot as well.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onLocationChanged(LocationChangedEvent event) {
+        if (event.getChangeType() == ChangeType.UPDATED) {
+            applyLocal(NetworkChange.rename(event.getLocationId(), event.getName()));
+        }
+    }
+
+    /**
+     * Applies a change announced by another node.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        NetworkChange change = changeChannel.decode(message);
+        if (change != null) {
+            applyRemote(change);
+        }
+    }
+
+    /**
+     * Applies the change right away, so this node reads its own writes, then counts and announces it.
+     * When changes of other nodes counted before it are still missing, it is applied again once they
+     * arrive, so the snapshot follows version order.
+     */
+    private void applyLocal(NetworkChange change) {
+        NetworkSnapshotStore store = snapshotStore.getIfAvailable();
+        long changeVersion = UNKNOWN_VERSION;
+        NetworkSnapshot published = null;
+        long publishedVersion = UNKNOWN_VERSION;
+        synchronized (this) {
+            snapshot = change.applyTo(snapshot, removedVersions);
+            if (store != null) {
+                changeVersion = store.nextVersion();
+            }
+            if (changeVersion == UNKNOWN_VERSION) {
+                // Not counted, the next synchronization reloads the network
+                version = UNKNOWN_VERSION;
+                pending.clear();
+            } else if (version != UNKNOWN_VERSION && changeVersion > version) {
+                if (changeVersion == version + 1) {
+                    version = changeVersion;
+                    drain();
+                } else {
+                    pending.put(changeVersion, new PendingChange(change, true));
+                    log.debug("Route graph waits for network changes {} to {} of other nodes",
+                            version + 1, changeVersion - 1);
+                }
+                if (pending.isEmpty()) {
+                    published = snapshot;
+                    publishedVersion = version;
+                }
+            }
+        }
+        changeChannel.publish(change.withVersion(changeVersion));
+        // Encoding and writing run outside the lock, the store only keeps the newest version
+        if (published != null) {
+            store.publish(published, publishedVersion);
+        }
+    }
+
+    void applyRemote(NetworkChange change) {
+        List<NetworkChange> applied = new ArrayList<>();
+        boolean publish = false;
+        NetworkSnapshot before;
+        NetworkSnapshot current;
+        long currentVersion;
+        synchronized (this) {
+            before = snapshot;
+            if (version == UNKNOWN_VERSION || change.getVersion() == UNKNOWN_VERSION) {
+                // Out of order, until the next synchronization reloads the network
+                snapshot = change.applyTo(snapshot, removedVersions);
+                applied.add(change);
+            } else if (change.getVersion() > version) {
+                pending.put(change.getVersion(), new PendingChange(change, false));
+                for (PendingChange next : drain()) {
+                    applied.add(next.getChange());
+                    // A change of this node that waited for this one is published now
+                    publish |= next.isLocal();
+                }
+                publish &= pending.isEmpty();
+            }
+            current = snapshot;
+            currentVersion = version;
+        }
+        NetworkSnapshotStore store = snapshotStore.getIfAvailable();
+        if (publish && store != null) {
+            store.publish(current, currentVersion);
+        }
+        if (!applied.isEmpty()) {
+            log.debug("Route graph applied {} network changes of other nodes, now at version {}",
+                    applied.size(), currentVersion);
+            Set<Long> originIds = new HashSet<>();
+            Set<Long> destinationIds = new HashSet<>();
+            applied.forEach(appliedChange -> appliedChange.collectEndPoints(before, originIds, destinationIds));
+            eventPublisher.publishEvent(NetworkSyncedEvent.changed(applied.stream()
+                    .flatMap(appliedChange -> appliedChange.getTransportationIds().stream())
+                    .distinct()
+                    .toList(), originIds, destinationIds));
+        }
+    }
+
+    /**
+     * Applies the pending changes that directly follow the snapshot's version.
+     *
+     * @return the changes applied, in version order
+     */
+    private List<PendingChange> drain() {
+        List<PendingChange> drained = new ArrayList<>();
+        PendingChange next;
+        while ((next = pending.remove(version + 1)) != null) {
+            snapshot = next.getChange().applyTo(snapshot, removedVersions);
+            version++;
+            drained.add(next);
+        }
+        return drained;
+    }
+
+    @Value
+    private static class PendingChange {
+        NetworkChange change;
+        // Made on this node, its snapshot is published once it is applied in order
+        boolean local;
+    }
+}
@@ -0,0 +1,283 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.event.NetworkSyncedEvent;
+import com.turkish.airlines.aviation.industry.event.TransportationChangedEvent;
+import com.turkish.airlines.aviation.industry.event.TransportationsImportedEvent;
+import com.turkish.airlines.aviation.industry.validator.core.CompositeRouteValidator;
+import com.turkish.airlines.aviation.industry.validator.core.ValidationContext;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Precomputed valid single-flight routes of every origin/destination pair, enabled with
+ * {@code route.table.enabled}.
+ * <p>
+ * Every valid route runs from the origin to the destination and contains exactly one flight with at
+ * most one transfer before and one after it, so the pairs a transportation can take part in are found
+ * from its neighbourhood alone. When a transportation changes, only those pairs and the pairs its
+ * previous routes belonged to are enumerated and validated again with {@link CompositeRouteValidator};
+ * the rest of the table is left as it is.
+ * <p>
+ * Routes are stored as transportation ids and resolved against the current {@link RouteGraph}
+ * snapshot when read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "route.table.enabled", havingValue = "true")
+public class RouteTable {
+
+    private static final long[][] NO_ROUTES = new long[0][];
+
+    private final RouteGraph routeGraph;
+    private final CompositeRouteValidator routeValidator;
+
+    private final Map<LocationPair, long[][]> routesByPair = new ConcurrentHashMap<>();
+    private final Map<Long, Set<LocationPair>> pairsByTransportation = new HashMap<>();
+
+    /**
+     * Computes the routes of every pair; on a reload, pairs left without routes are dropped.
+     */
+    @PostConstruct
+    public synchronized void load() {
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        Set<LocationPair> pairs = new HashSet<>(routesByPair.keySet());
+        for (int edge = 0; edge < snapshot.getEdgeCount(); edge++) {
+            if (snapshot.type(edge) == TransportationType.FLIGHT) {
+                collectPairs(snapshot, edge, pairs);
+            }
+        }
+        pairs.forEach(pair -> recompute(snapshot, pair));
+        log.info("Route table loaded with {} location pairs out of {} candidates", routesByPair.size(), pairs.size());
+    }
+
+    public int size() {
+        return routesByPair.size();
+    }
+
+    /**
+     * Passes the valid routes from origin to destination, as edges of the given snapshot, to the consumer
+     * in enumeration order.
+     */
+    public void forEachRoute(NetworkSnapshot snapshot, int origin, int destination, Consumer<int[]> consumer) {
+        if (origin < 0 || destination < 0) {
+            return;
+        }
+        long[][] routes = routesByPair.getOrDefault(
+                new LocationPair(snapshot.locationId(origin), snapshot.locationId(destination)), NO_ROUTES);
+        for (long[] ids : routes) {
+            int[] route = new int[ids.length];
+            boolean resolved = true;
+            for (int i = 0; i < ids.length && resolved; i++) {
+                route[i] = snapshot.edgeIndexOf(ids[i]);
+                resolved = route[i] >= 0;
+            }
+            // A route can briefly reference a transportation the caller's snapshot does not have yet
+            if (resolved) {
+                consumer.accept(route);
+            }
+        }
+    }
+
+    /**
+     * Runs after {@link RouteGraph} has applied the change and before cached route responses of the
+     * affected pairs are evicted, so they are not rebuilt from the pairs being replaced.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener
+    public void onTransportationChanged(TransportationChangedEvent event) {
+        int recomputed = refresh(event.getTransportation().getId());
+        log.debug("Route table recomputed {} location pairs after {} of transportation {}",
+                recomputed, event.getChangeType(), event.getTransportation().getId());
+    }
+
+    /**
+     * Changes made on other nodes reach this node through the graph only. Runs before cached route
+     * responses around them are evicted.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @EventListener
+    public void onNetworkSynced(NetworkSyncedEvent event) {
+        if (event.isReloaded()) {
+            load();
+            return;
+        }
+        int recomputed = refresh(event.getTransportationIds());
+        log.debug("Route table recomputed {} location pairs after {} changes of other nodes",
+                recomputed, event.getTransportationIds().size());
+    }
+
+    /**
+     * Runs after {@link RouteGraph} has added the imported transportations, before cached route responses
+     * of their pairs are evicted.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener
+    public void onTransportationsImported(TransportationsImportedEvent event) {
+        List<Long> transportationIds = event.getEdges().stream().map(TransportationEdge::getId).toList();
+        int recomputed = refresh(transportationIds);
+        log.debug("Route table recomputed {} location pairs after import of {} transportations",
+                recomputed, transportationIds.size());
+    }
+
+    public int refresh(Long transportationId) {
+        return refresh(List.of(transportationId));
+    }
+
+    /**
+     * Recomputes every pair the transportations took or can take part in, each once.
+     *
+     * @return the number of pairs recomputed
+     */
+    public synchronized int refresh(Collection<Long> transportationIds) {
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        Set<LocationPair> pairs = new HashSet<>();
+        for (Long transportationId : transportationIds) {
+            pairs.addAll(pairsByTransportation.getOrDefault(transportationId, Set.of()));
+            int edge = snapshot.edgeIndexOf(transportationId);
+            if (edge >= 0) {
+                collectPairs(snapshot, edge, pairs);
+            }
+        }
+        pairs.forEach(pair -> recompute(snapshot, pair));
+        return pairs.size();
+    }
+
+    private void recompute(NetworkSnapshot snapshot, LocationPair pair) {
+        int origin = snapshot.indexOf(pair.getOriginId());
+        int destination = snapshot.indexOf(pair.getDestinationId());
+
+        List<long[]> routes = new ArrayList<>();
+        if (origin >= 0 && destination >= 0) {
+            ValidationContext baseContext = ValidationContext.builder()
+                    .requestedOriginId(pair.getOriginId())
+                    .requestedDestinationId(pair.getDestinationId())
+                    .build();
+            NetworkSnapshot.RouteView view = snapshot.routeView();
+            new RouteCandidates(snapshot, origin, destination).forEachRoute(route -> {
+                if (isValid(view.of(route), baseContext)) {
+                    routes.add(toIds(snapshot, route));
+                }
+            });
+        }
+
+        long[][] previous = routes.isEmpty()
+                ? routesByPair.remove(pair)
+                : routesByPair.put(pair, routes.toArray(NO_ROUTES));
+        if (previous != null) {
+            for (long[] route : previous) {
+                for (long id : route) {
+                    Set<LocationPair> pairs = pairsByTransportation.get(id);
+                    if (pairs != null && pairs.remove(pair) && pairs.isEmpty()) {
+                        pairsByTransportation.remove(id);
+                    }
+                }
+            }
+        }
+        for (long[] route : routes) {
+            for (long id : route) {
+                pairsByTransportation.computeIfAbsent(id, key -> new HashSet<>()).add(pair);
+            }
+        }
+    }
+
+    private boolean isValid(NetworkSnapshot.RouteView route, ValidationContext baseContext) {
+        ValidationContext context = ValidationContext.builder()
+                .route(route)
+                .requestedOriginId(baseContext.getRequestedOriginId())
+                .requestedDestinationId(baseContext.getRequestedDestinationId())
+                .build();
+        return routeValidator.validate(context).isValid();
+    }
+
+    /**
+     * Adds the end points of every route shape (optional transfer, flight, optional transfer) the edge can
+     * be part of.
+     */
+    private static void collectPairs(NetworkSnapshot snapshot, int edge, Set<LocationPair> pairs) {
+        int from = snapshot.origin(edge);
+        int to = snapshot.destination(edge);
+        if (snapshot.type(edge) == TransportationType.FLIGHT) {
+            addPairs(snapshot, transferOrigins(snapshot, from), transferDestinations(snapshot, to), pairs);
+            return;
+        }
+        // As the transfer before a flight
+        for (int p = snapshot.outgoingStart(to, TransportationType.FLIGHT),
+             end = snapshot.outgoingEnd(to, TransportationType.FLIGHT); p < end; p++) {
+            int flightDestination = snapshot.destination(snapshot.outgoingEdge(p));
+            addPairs(snapshot, new int[]{from}, transferDestinations(snapshot, flightDestination), pairs);
+        }
+        // As the transfer after a flight
+        for (int p = snapshot.incomingStart(from, TransportationType.FLIGHT),
+             end = snapshot.incomingEnd(from, TransportationType.FLIGHT); p < end; p++) {
+            int flightOrigin = snapshot.origin(snapshot.incomingEdge(p));
+            addPairs(snapshot, transferOrigins(snapshot, flightOrigin), new int[]{to}, pairs);
+        }
+    }
+
+    private static void addPairs(NetworkSnapshot snapshot, int[] origins, int[] destinations,
+                                 Set<LocationPair> pairs) {
+        for (int origin : origins) {
+            for (int destination : destinations) {
+                if (origin != destination) {
+                    pairs.add(new LocationPair(snapshot.locationId(origin), snapshot.locationId(destination)));
+                }
+            }
+        }
+    }
+
+    /**
+     * The location itself and every location with a transfer into it.
+     */
+    private static int[] transferOrigins(NetworkSnapshot snapshot, int location) {
+        int start = snapshot.incomingStart(location, TransportationType.OTHER);
+        int end = snapshot.incomingEnd(location, TransportationType.OTHER);
+        int[] origins = new int[end - start + 1];
+        origins[0] = location;
+        for (int p = start; p < end; p++) {
+            origins[p - start + 1] = snapshot.origin(snapshot.incomingEdge(p));
+        }
+        return origins;
+    }
+
+    /**
+     * The location itself and every location reached from it by a transfer.
+     */
+    private static int[] transferDestinations(NetworkSnapshot snapshot, int location) {
+        int start = snapshot.outgoingStart(location, TransportationType.OTHER);
+        int end = snapshot.outgoingEnd(location, TransportationType.OTHER);
+        int[] destinations = new int[end - start + 1];
+        destinations[0] = location;
+        for (int p = start; p < end; p++) {
+            destinations[p - start + 1] = snapshot.destination(snapshot.outgoingEdge(p));
+        }
+        return destinations;
+    }
+
+    private static long[] toIds(NetworkSnapshot snapshot, int[] route) {
+        long[] ids = new long[route.length];
+        for (int i = 0; i < route.length; i++) {
+            ids[i] = snapshot.edgeId(route[i]);
+        }
+        return ids;
+    }
+
+    @Value
+    private static class LocationPair {
+        long originId;
+        long destinationId;
+    }
+}
@@ -0,0 +1,35 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Limits applied while exploring the network for connecting routes.
+ */
+@Value
+@Builder
+public class SearchBounds {
+    int maxFlights;
+
+    @Builder.Default
+    int maxDuration = Integer.MAX_VALUE;
+
+    /**
+     * Maximum total price in minor currency units.
+     */
+    @Builder.Default
+    long maxPrice = Long.MAX_VALUE;
+
+    int maxResults;
+
+    /**
+     * Maximum number of legs in a route: the flights plus one transfer on each side.
+     */
+    public int getMaxLegs() {
+        return maxLegs(maxFlights);
+    }
+
+    public static int maxLegs(int maxFlights) {
+        return maxFlights + 2;
+    }
+}
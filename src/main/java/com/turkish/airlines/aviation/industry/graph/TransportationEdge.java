@@ -0,0 +1,38 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.model.Transportation;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Detached, read-only view of a transportation and the names of its end points, used to feed
+ * the route network without keeping entities around. The entity version orders the changes of one
+ * transportation.
+ */
+@Value
+public class TransportationEdge {
+    Long id;
+    Long originLocationId;
+    String originLocationName;
+    Long destinationLocationId;
+    String destinationLocationName;
+    TransportationType transportationType;
+    Double duration;
+    BigDecimal price;
+    Long version;
+
+    public static TransportationEdge from(Transportation transportation) {
+        return new TransportationEdge(
+                transportation.getId(),
+                transportation.getOriginLocation().getId(),
+                transportation.getOriginLocation().getName(),
+                transportation.getDestinationLocation().getId(),
+                transportation.getDestinationLocation().getName(),
+                transportation.getTransportationType(),
+                transportation.getDuration(),
+                transportation.getPrice(),
+                transportation.getVersion());
+    }
+}
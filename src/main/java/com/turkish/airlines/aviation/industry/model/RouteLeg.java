@@ -0,0 +1,31 @@
+package com.turkish.airlines.aviation.industry.model;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+
+/**
+ * The part of a transportation that route validation needs: its identity, its end points and its type.
+ */
+public interface RouteLeg {
+    Long getId();
+
+    Long getOriginLocationId();
+
+    Long getDestinationLocationId();
+
+    TransportationType getTransportationType();
+
+    /**
+     * The origin location id without boxing, for comparisons on the validation path. Legs backed by
+     * primitive columns override it.
+     */
+    default long originId() {
+        return getOriginLocationId();
+    }
+
+    /**
+     * The destination location id without boxing, see {@link #originId()}.
+     */
+    default long destinationId() {
+        return getDestinationLocationId();
+    }
+}
@@ -17,7 +17,7 @@ import java.util.Objects;
 @NoArgsConstructor
 @AllArgsConstructor
 @SQLRestriction("deleted = false")
-public class Transportation extends BaseEntity{
+public class Transportation extends BaseEntity implements RouteLeg {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -39,6 +39,16 @@ public class Transportation extends BaseEntity{
     private Double duration;
     private BigDecimal price;
 
+    @Override
+    public Long getOriginLocationId() {
+        return originLocation != null ? originLocation.getId() : null;
+    }
+
+    @Override
+    public Long getDestinationLocationId() {
+        return destinationLocation != null ? destinationLocation.getId() : null;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
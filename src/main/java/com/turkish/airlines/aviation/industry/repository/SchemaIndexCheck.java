@@ -0,0 +1,76 @@
+package com.turkish.airlines.aviation.industry.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verifies on startup that the indexes the transportation queries rely on exist and are usable. They
+ * are created by the migrations in {@code db/migration}; a schema that was baselined, or an index build
+ * that was interrupted, leaves those queries scanning the whole table without any error.
+ * <p>
+ * A missing index is logged, or keeps the instance from starting with {@code schema.index-check.fail-on-missing}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaIndexCheck implements ApplicationRunner {
+
+    static final List<String> REQUIRED_INDEXES = List.of(
+            "idx_transportations_origin_id",
+            "idx_transportations_destination_id",
+            "idx_transportations_type_id");
+
+    private static final String VALID_INDEXES_QUERY = "SELECT c.relname FROM pg_index i "
+            + "JOIN pg_class c ON c.oid = i.indexrelid "
+            + "JOIN pg_namespace n ON n.oid = c.relnamespace "
+            + "WHERE n.nspname = current_schema() AND i.indisvalid AND i.indisready";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${schema.index-check.enabled:true}")
+    private boolean enabled;
+
+    @Value("${schema.index-check.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        List<String> missing;
+        try {
+            missing = missingIndexes();
+        } catch (DataAccessException e) {
+            log.warn("Could not check the schema indexes: {}", e.getMessage());
+            return;
+        }
+        if (missing.isEmpty()) {
+            log.info("Schema indexes present: {}", REQUIRED_INDEXES);
+            return;
+        }
+        if (failOnMissing) {
+            throw new IllegalStateException("Missing or invalid schema indexes: " + missing);
+        }
+        log.warn("Missing or invalid schema indexes {}, transportation queries scan the whole table", missing);
+    }
+
+    /**
+     * @return the required indexes that do not exist in the current schema or cannot be used yet
+     */
+    public List<String> missingIndexes() {
+        List<String> valid = jdbcTemplate.queryForList(VALID_INDEXES_QUERY, String.class);
+        List<String> missing = new ArrayList<>(REQUIRED_INDEXES);
+        missing.removeAll(valid);
+        return missing;
+    }
+}
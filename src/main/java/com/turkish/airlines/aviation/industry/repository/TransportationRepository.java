@@ -1,22 +1,64 @@
 package com.turkish.airlines.aviation.industry.repository;
 
 import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.graph.TransportationEdge;
 import com.turkish.airlines.aviation.industry.model.Location;
 import com.turkish.airlines.aviation.industry.model.Transportation;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransportationRepository extends JpaRepository<Transportation, Long> {
 
+    /**
+     * With both locations, responses carry their names.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"originLocation", "destinationLocation"})
+    Optional<Transportation> findById(Long id);
+
     @Query("SELECT t FROM Transportation t " +
+            "JOIN FETCH t.originLocation " +
+            "JOIN FETCH t.destinationLocation " +
             "WHERE t.originLocation.id = :originId " +
             "OR t.destinationLocation.id = :destinationId")
     List<Transportation> findByOriginLocationIdOrDestinationLocationId(
             @Param("originId") Long originId,
             @Param("destinationId") Long destinationId);
+
+    /**
+     * The whole network as read-only tuples for the route engine, with the end point names joined in.
+     * Only the columns route search uses are read and no entity is instantiated or managed.
+     */
+    @Query("SELECT new com.turkish.airlines.aviation.industry.graph.TransportationEdge(" +
+            "t.id, o.id, o.name, d.id, d.name, t.transportationType, t.duration, t.price, t.version) " +
+            "FROM Transportation t " +
+            "JOIN t.originLocation o " +
+            "JOIN t.destinationLocation d")
+    List<TransportationEdge> findAllEdges();
+
+    /**
+     * Transportations with an id in {@code [fromId, toId)}, optionally of one type and from one origin.
+     */
+    @Query("SELECT t FROM Transportation t " +
+            "JOIN FETCH t.originLocation " +
+            "JOIN FETCH t.destinationLocation " +
+            "WHERE t.id >= :fromId AND t.id < :toId " +
+            "AND (:type IS NULL OR t.transportationType = :type) " +
+            "AND (:originId IS NULL OR t.originLocation.id = :originId) " +
+            "ORDER BY t.id")
+    List<Transportation> findIdRange(
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            @Param("type") TransportationType type,
+            @Param("originId") Long originId);
+
+    @Query("SELECT MAX(t.id) FROM Transportation t")
+    Long findMaxId();
 } 
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.turkish.airlines.aviation.industry.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteBatchSearchRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one search is required")
+    @Size(max = 100, message = "At most 100 searches are allowed per batch")
+    private List<RouteSearchRequest> searches;
+}
@@ -1,11 +1,16 @@
 package com.turkish.airlines.aviation.industry.request;
 
+import com.turkish.airlines.aviation.industry.enums.RouteSortCriteria;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,4 +22,18 @@ public class RouteSearchRequest {
     
     @NotNull(message = "Destination location ID is required")
     private Long destinationLocationId;
+
+    @Min(value = 1, message = "Max flights must be at least 1")
+    private Integer maxFlights;
+
+    @Positive(message = "Max duration must be positive")
+    private Integer maxDuration;
+
+    @Positive(message = "Max price must be positive")
+    private BigDecimal maxPrice;
+
+    private RouteSortCriteria sortBy;
+
+    @Positive(message = "Limit must be positive")
+    private Integer limit;
 } 
\ No newline at end of file
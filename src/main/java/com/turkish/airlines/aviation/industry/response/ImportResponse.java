@@ -0,0 +1,29 @@
+package com.turkish.airlines.aviation.industry.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResponse {
+    private long imported;
+    private long failed;
+    // Errors of the first failed rows, see import.max-reported-errors
+    private List<RowError> errors;
+    private long durationMillis;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        // 1-based line of the file
+        private long line;
+        private String message;
+    }
+}
@@ -1,11 +1,13 @@
 package com.turkish.airlines.aviation.industry.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 @Builder
@@ -14,6 +16,8 @@ import java.math.BigDecimal;
 public class RouteResponse {
     private TransportationResponse beforeFlight;
     private TransportationResponse flight;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<TransportationResponse> connectingFlights;
     private TransportationResponse afterFlight;
     private int totalStops;
     private int totalDuration;
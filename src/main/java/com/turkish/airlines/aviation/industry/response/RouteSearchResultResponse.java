@@ -0,0 +1,27 @@
+package com.turkish.airlines.aviation.industry.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RouteSearchResultResponse {
+    private Long originLocationId;
+    private Long destinationLocationId;
+    private List<RouteResponse> routes;
+    private String error;
+    // Only filled when the search stopped at its expansion limit, more routes may exist
+    private Boolean truncated;
+    // Only filled in explain mode: error messages per rejected route and rejections per error code
+    private Map<String, List<String>> rejectedRoutes;
+    private Map<String, Integer> rejectionCounts;
+}
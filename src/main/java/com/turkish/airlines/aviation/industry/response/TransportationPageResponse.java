@@ -0,0 +1,18 @@
+package com.turkish.airlines.aviation.industry.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransportationPageResponse {
+    private List<TransportationResponse> transportations;
+    // Pass as "after" for the next page, null on the last page
+    private Long nextCursor;
+}
@@ -0,0 +1,17 @@
+package com.turkish.airlines.aviation.industry.response;
+
+import com.turkish.airlines.aviation.industry.cache.Uncacheable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * The routes of a search that stopped at its expansion limit. Better or further routes may exist, so
+ * the list is never cached; it serializes like any other list of routes.
+ */
+public class TruncatedRouteList extends ArrayList<RouteResponse> implements Uncacheable {
+
+    public TruncatedRouteList(Collection<RouteResponse> routes) {
+        super(routes);
+    }
+}
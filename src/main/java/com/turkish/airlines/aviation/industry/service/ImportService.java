@@ -0,0 +1,12 @@
+package com.turkish.airlines.aviation.industry.service;
+
+import com.turkish.airlines.aviation.industry.enums.ImportFormat;
+import com.turkish.airlines.aviation.industry.response.ImportResponse;
+
+import java.io.InputStream;
+
+public interface ImportService {
+    ImportResponse importLocations(InputStream input, ImportFormat format);
+
+    ImportResponse importTransportations(InputStream input, ImportFormat format);
+}
@@ -2,9 +2,23 @@ package com.turkish.airlines.aviation.industry.service;
 
 import com.turkish.airlines.aviation.industry.request.RouteSearchRequest;
 import com.turkish.airlines.aviation.industry.response.RouteResponse;
+import com.turkish.airlines.aviation.industry.response.RouteSearchResultResponse;
 
 import java.util.List;
 
 public interface RouteService {
     List<RouteResponse> findRoutes(RouteSearchRequest request);
+
+    List<RouteSearchResultResponse> findRoutes(List<RouteSearchRequest> requests);
+
+    RouteSearchResultResponse explainRoutes(RouteSearchRequest request);
+
+    RouteStream streamRoutes(RouteSearchRequest request);
+
+    /**
+     * Searches the requests again and replaces their cached routes, regardless of what is cached.
+     *
+     * @return the number of searches that found routes and were cached
+     */
+    int refreshRoutes(List<RouteSearchRequest> requests);
 } 
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.turkish.airlines.aviation.industry.service;
+
+import com.turkish.airlines.aviation.industry.response.RouteResponse;
+
+import java.util.function.Consumer;
+
+/**
+ * Deferred route search: routes are produced and handed to the consumer one by one, as soon as
+ * they have been validated, when {@link #forEach} is called.
+ */
+@FunctionalInterface
+public interface RouteStream {
+    void forEach(Consumer<RouteResponse> consumer);
+}
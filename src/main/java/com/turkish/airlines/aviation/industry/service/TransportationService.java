@@ -1,17 +1,22 @@
 package com.turkish.airlines.aviation.industry.service;
 
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
 import com.turkish.airlines.aviation.industry.request.CreateTransportationRequest;
 import com.turkish.airlines.aviation.industry.request.UpdateTransportationRequest;
+import com.turkish.airlines.aviation.industry.response.TransportationPageResponse;
 import com.turkish.airlines.aviation.industry.response.TransportationResponse;
 
-import java.util.List;
-
 public interface TransportationService {
     TransportationResponse createTransportation(CreateTransportationRequest request);
 
     TransportationResponse getTransportation(Long id);
 
-    List<TransportationResponse> getAllTransportations();
+    /**
+     * @param after the id after which the page starts, {@code null} for the first page
+     * @param type  optional, only transportations of this type
+     * @param originLocationId optional, only transportations from this location
+     */
+    TransportationPageResponse getTransportations(Long after, int size, TransportationType type, Long originLocationId);
 
     TransportationResponse updateTransportation(Long id, UpdateTransportationRequest request);
 
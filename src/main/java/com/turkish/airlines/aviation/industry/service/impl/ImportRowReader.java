@@ -0,0 +1,135 @@
+package com.turkish.airlines.aviation.industry.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turkish.airlines.aviation.industry.enums.ImportFormat;
+import lombok.Value;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an import file row by row into request objects, so a file of any size is never held in memory.
+ * <p>
+ * CSV files start with a header naming the request fields; fields may be quoted, empty fields are
+ * {@code null}. JSON lines files hold one object per line. Blank lines are skipped. A row that cannot
+ * be read is returned with its error, the rows after it are still read.
+ */
+class ImportRowReader<T> implements Closeable {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final Class<T> type;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+
+    ImportRowReader(InputStream input, ImportFormat format, Class<T> type, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.type = type;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the next row, or {@code null} at the end of the file
+     */
+    Row<T> next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank() || (format == ImportFormat.CSV && header == null && readHeader(line)));
+
+        try {
+            T value = format == ImportFormat.CSV
+                    ? objectMapper.convertValue(toFields(line), type)
+                    : objectMapper.readValue(line, type);
+            return new Row<>(lineNumber, value, null);
+        } catch (JsonProcessingException e) {
+            return new Row<>(lineNumber, null, "Unreadable row: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            String message = e.getCause() instanceof JsonProcessingException cause ? cause.getOriginalMessage() : e.getMessage();
+            return new Row<>(lineNumber, null, "Unreadable row: " + message);
+        }
+    }
+
+    long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean readHeader(String line) {
+        header = split(line).stream().map(String::trim).toList();
+        return true;
+    }
+
+    private Map<String, String> toFields(String line) {
+        List<String> values = split(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException(String.format("Expected %d fields, found %d", header.size(), values.size()));
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                fields.put(header.get(i), value);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Splits a CSV line at commas outside double quotes; a doubled quote inside quotes is a literal quote.
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Value
+    static class Row<T> {
+        long line;
+        T value;
+        // Set when the row could not be read
+        String error;
+    }
+}
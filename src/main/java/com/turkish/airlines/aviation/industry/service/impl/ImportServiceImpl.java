@@ -0,0 +1,283 @@
+package com.turkish.airlines.aviation.industry.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turkish.airlines.aviation.industry.enums.ImportFormat;
+import com.turkish.airlines.aviation.industry.event.LocationsImportedEvent;
+import com.turkish.airlines.aviation.industry.event.TransportationsImportedEvent;
+import com.turkish.airlines.aviation.industry.graph.TransportationEdge;
+import com.turkish.airlines.aviation.industry.request.CreateLocationRequest;
+import com.turkish.airlines.aviation.industry.request.CreateTransportationRequest;
+import com.turkish.airlines.aviation.industry.response.ImportResponse;
+import com.turkish.airlines.aviation.industry.service.ImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of locations and transportations from CSV or JSON lines files.
+ * <p>
+ * The file is streamed and processed in batches of {@code import.batch-size} rows. Each row is read
+ * and validated like a create request; the end points of a transportation batch are resolved with
+ * one query. Valid rows are inserted with JDBC batch statements, bypassing the persistence context,
+ * and every batch commits on its own. Ids are taken from the tables' own id sequences in one round trip
+ * per batch, so rows inserted one at a time and in bulk never collide.
+ * <p>
+ * Listeners learn about each committed batch from one event, not one per row. Rows that fail are
+ * counted and reported with their line; the first {@code import.max-reported-errors} errors are
+ * listed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportServiceImpl implements ImportService {
+
+    private static final String NEXT_IDS =
+            "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+    private static final String FIND_LOCATION_NAMES =
+            "SELECT id, name FROM locations WHERE deleted = false AND id IN (:ids)";
+    private static final String INSERT_LOCATION =
+            "INSERT INTO locations (id, name, type, latitude, longitude, city, country, " +
+                    "created_at, updated_at, version, deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, false)";
+    private static final String INSERT_TRANSPORTATION =
+            "INSERT INTO transportations (id, origin_id, destination_id, transportation_type, duration, price, " +
+                    "created_at, updated_at, version, deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, false)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Override
+    public ImportResponse importLocations(InputStream input, ImportFormat format) {
+        log.info("Importing locations from {}", format);
+        return importRows(input, format, CreateLocationRequest.class, this::insertLocations);
+    }
+
+    @Override
+    public ImportResponse importTransportations(InputStream input, ImportFormat format) {
+        log.info("Importing transportations from {}", format);
+        // Names of the locations resolved so far, shared by the batches of this import
+        Map<Long, String> locationNames = new HashMap<>();
+        return importRows(input, format, CreateTransportationRequest.class,
+                (rows, response) -> insertTransportations(rows, locationNames, response));
+    }
+
+    private <T> ImportResponse importRows(InputStream input, ImportFormat format, Class<T> type,
+                                          BatchImporter<T> importer) {
+        long start = System.currentTimeMillis();
+        ImportResponse response = ImportResponse.builder().errors(new ArrayList<>()).build();
+        List<ImportRowReader.Row<T>> batch = new ArrayList<>(batchSize);
+        try (ImportRowReader<T> reader = new ImportRowReader<>(input, format, type, objectMapper)) {
+            try {
+                for (ImportRowReader.Row<T> row = reader.next(); row != null; row = reader.next()) {
+                    String error = row.getError() != null ? row.getError() : validate(row.getValue());
+                    if (error != null) {
+                        fail(response, row.getLine(), error);
+                        continue;
+                    }
+                    batch.add(row);
+                    if (batch.size() == batchSize) {
+                        importer.importBatch(batch, response);
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    importer.importBatch(batch, response);
+                }
+            } catch (IOException e) {
+                // Batches already imported stay, the response tells where the file broke off
+                log.warn("Import aborted at line {}: {}", reader.getLineNumber(), e.getMessage());
+                fail(response, reader.getLineNumber(), "Import aborted, the file could not be read: " + e.getMessage());
+            }
+        } catch (IOException e) {
+            log.warn("Could not close import file: {}", e.getMessage());
+        }
+        response.setDurationMillis(System.currentTimeMillis() - start);
+        log.info("Imported {} rows, {} failed, in {} ms",
+                response.getImported(), response.getFailed(), response.getDurationMillis());
+        return response;
+    }
+
+    private void insertLocations(List<ImportRowReader.Row<CreateLocationRequest>> rows, ImportResponse response) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insertBatch(rows, response, () -> {
+            List<Long> ids = nextIds("locations", rows.size());
+            jdbcTemplate.batchUpdate(INSERT_LOCATION, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    CreateLocationRequest location = rows.get(i).getValue();
+                    statement.setLong(1, ids.get(i));
+                    statement.setString(2, location.getName());
+                    statement.setString(3, location.getType().name());
+                    statement.setObject(4, location.getLatitude(), Types.DOUBLE);
+                    statement.setObject(5, location.getLongitude(), Types.DOUBLE);
+                    statement.setString(6, location.getCity());
+                    statement.setString(7, location.getCountry());
+                    statement.setTimestamp(8, now);
+                    statement.setTimestamp(9, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            });
+            eventPublisher.publishEvent(new LocationsImportedEvent(ids));
+        });
+    }
+
+    private void insertTransportations(List<ImportRowReader.Row<CreateTransportationRequest>> rows,
+                                       Map<Long, String> locationNames, ImportResponse response) {
+        resolveLocationNames(rows, locationNames);
+        List<ImportRowReader.Row<CreateTransportationRequest>> valid = new ArrayList<>(rows.size());
+        for (ImportRowReader.Row<CreateTransportationRequest> row : rows) {
+            CreateTransportationRequest transportation = row.getValue();
+            if (!locationNames.containsKey(transportation.getOriginLocationId())) {
+                fail(response, row.getLine(), String.format("Origin location not found with ID: %d",
+                        transportation.getOriginLocationId()));
+            } else if (!locationNames.containsKey(transportation.getDestinationLocationId())) {
+                fail(response, row.getLine(), String.format("Destination location not found with ID: %d",
+                        transportation.getDestinationLocationId()));
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        insertBatch(valid, response, () -> {
+            List<Long> ids = nextIds("transportations", valid.size());
+            jdbcTemplate.batchUpdate(INSERT_TRANSPORTATION, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement statement, int i) throws SQLException {
+                    CreateTransportationRequest transportation = valid.get(i).getValue();
+                    statement.setLong(1, ids.get(i));
+                    statement.setLong(2, transportation.getOriginLocationId());
+                    statement.setLong(3, transportation.getDestinationLocationId());
+                    statement.setString(4, transportation.getTransportationType().name());
+                    statement.setObject(5, transportation.getDuration(), Types.DOUBLE);
+                    statement.setBigDecimal(6, transportation.getPrice());
+                    statement.setTimestamp(7, now);
+                    statement.setTimestamp(8, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return valid.size();
+                }
+            });
+
+            List<TransportationEdge> edges = new ArrayList<>(valid.size());
+            for (int i = 0; i < valid.size(); i++) {
+                CreateTransportationRequest transportation = valid.get(i).getValue();
+                edges.add(new TransportationEdge(ids.get(i),
+                        transportation.getOriginLocationId(),
+                        locationNames.get(transportation.getOriginLocationId()),
+                        transportation.getDestinationLocationId(),
+                        locationNames.get(transportation.getDestinationLocationId()),
+                        transportation.getTransportationType(),
+                        transportation.getDuration(),
+                        transportation.getPrice(),
+                        0L));
+            }
+            eventPublisher.publishEvent(new TransportationsImportedEvent(edges));
+        });
+    }
+
+    /**
+     * Looks up the locations of the batch not resolved by an earlier batch, with one query.
+     */
+    private void resolveLocationNames(List<ImportRowReader.Row<CreateTransportationRequest>> rows,
+                                      Map<Long, String> locationNames) {
+        Set<Long> missing = new HashSet<>();
+        for (ImportRowReader.Row<CreateTransportationRequest> row : rows) {
+            missing.add(row.getValue().getOriginLocationId());
+            missing.add(row.getValue().getDestinationLocationId());
+        }
+        missing.removeAll(locationNames.keySet());
+        if (!missing.isEmpty()) {
+            namedParameterJdbcTemplate.query(FIND_LOCATION_NAMES, Map.of("ids", missing),
+                    resultSet -> {
+                        locationNames.put(resultSet.getLong("id"), resultSet.getString("name"));
+                    });
+        }
+    }
+
+    /**
+     * Runs the insert of a batch in its own transaction; when it fails every row of the batch is reported.
+     */
+    private <T> void insertBatch(List<ImportRowReader.Row<T>> rows, ImportResponse response, Runnable insert) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert.run());
+            response.setImported(response.getImported() + rows.size());
+        } catch (DataAccessException | TransactionException e) {
+            String message = "Not imported, its batch failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Import batch of lines {} to {} failed: {}", rows.get(0).getLine(),
+                    rows.get(rows.size() - 1).getLine(), e.getMessage());
+            rows.forEach(row -> fail(response, row.getLine(), message));
+        }
+    }
+
+    private List<Long> nextIds(String table, int count) {
+        return jdbcTemplate.queryForList(NEXT_IDS, Long.class, table, count);
+    }
+
+    private String validate(Object value) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(value);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void fail(ImportResponse response, long line, String message) {
+        response.setFailed(response.getFailed() + 1);
+        if (response.getErrors().size() < maxReportedErrors) {
+            response.getErrors().add(new ImportResponse.RowError(line, message));
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchImporter<T> {
+        void importBatch(List<ImportRowReader.Row<T>> rows, ImportResponse response);
+    }
+}
@@ -1,5 +1,8 @@
 package com.turkish.airlines.aviation.industry.service.impl;
 
+import com.turkish.airlines.aviation.industry.constants.CacheConstants;
+import com.turkish.airlines.aviation.industry.datasource.ReadFromPrimary;
+import com.turkish.airlines.aviation.industry.event.LocationChangedEvent;
 import com.turkish.airlines.aviation.industry.exception.LocationNotFoundException;
 import com.turkish.airlines.aviation.industry.exception.LocationOperationException;
 import com.turkish.airlines.aviation.industry.mapper.LocationMapper;
@@ -11,6 +14,8 @@ import com.turkish.airlines.aviation.industry.response.LocationResponse;
 import com.turkish.airlines.aviation.industry.service.LocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +28,7 @@ import java.util.stream.Collectors;
 public class LocationServiceImpl implements LocationService {
     private final LocationRepository locationRepository;
     private final LocationMapper locationMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -31,6 +37,7 @@ public class LocationServiceImpl implements LocationService {
             log.info("Creating new location with name: {} and type: {}", request.getName(), request.getType());
             Location location = locationMapper.mapToLocationFromCreateRequest(request);
             location = locationRepository.save(location);
+            eventPublisher.publishEvent(LocationChangedEvent.created(location.getId(), location.getName()));
             log.debug("Location created with ID: {}", location.getId());
             return locationMapper.mapToLocationResponse(location);
         } catch (Exception e) {
@@ -42,6 +49,8 @@ public class LocationServiceImpl implements LocationService {
 
     @Override
     @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(value = CacheConstants.SINGLE_LOCATION, unless = "#result == null")
     public LocationResponse getLocation(Long id) {
         log.debug("Fetching location with ID: {}", id);
         return locationRepository.findById(id)
@@ -55,6 +64,8 @@ public class LocationServiceImpl implements LocationService {
 
     @Override
     @Transactional(readOnly = true)
+    @ReadFromPrimary
+    @Cacheable(value = CacheConstants.ALL_LOCATIONS)
     public List<LocationResponse> getAllLocations() {
         try {
             log.debug("Fetching all locations");
@@ -84,6 +95,7 @@ public class LocationServiceImpl implements LocationService {
             
             locationMapper.mapToLocationFromUpdateRequest(request, location);
             location = locationRepository.save(location);
+            eventPublisher.publishEvent(LocationChangedEvent.updated(location.getId(), location.getName()));
             log.debug("Location updated successfully: {}", location.getId());
             return locationMapper.mapToLocationResponse(location);
         } catch (LocationNotFoundException e) {
@@ -106,6 +118,7 @@ public class LocationServiceImpl implements LocationService {
         }
         try {
             locationRepository.deleteById(id);
+            eventPublisher.publishEvent(LocationChangedEvent.deleted(id));
             log.debug("Location deleted successfully: {}", id);
         } catch (Exception e) {
             String message = String.format("Error deleting location with ID: %d", id);
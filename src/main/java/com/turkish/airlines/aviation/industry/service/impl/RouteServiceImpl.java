@@ -1,71 +1,264 @@
 package com.turkish.airlines.aviation.industry.service.impl;
 
+import com.turkish.airlines.aviation.industry.cache.RouteCache;
+import com.turkish.airlines.aviation.industry.cache.RouteSearchKeyGenerator;
 import com.turkish.airlines.aviation.industry.constants.CacheConstants;
 import com.turkish.airlines.aviation.industry.enums.TransportationType;
 import com.turkish.airlines.aviation.industry.exception.*;
-import com.turkish.airlines.aviation.industry.mapper.TransportationMapper;
-import com.turkish.airlines.aviation.industry.model.Transportation;
-import com.turkish.airlines.aviation.industry.repository.TransportationRepository;
+import com.turkish.airlines.aviation.industry.graph.ConnectingRouteSearch;
+import com.turkish.airlines.aviation.industry.graph.DestinationDistances;
+import com.turkish.airlines.aviation.industry.graph.NetworkSnapshot;
+import com.turkish.airlines.aviation.industry.graph.RankedRoutes;
+import com.turkish.airlines.aviation.industry.graph.RouteCandidates;
+import com.turkish.airlines.aviation.industry.graph.RouteEnumerator;
+import com.turkish.airlines.aviation.industry.graph.RouteTable;
+import com.turkish.airlines.aviation.industry.graph.SearchBounds;
 import com.turkish.airlines.aviation.industry.request.RouteSearchRequest;
 import com.turkish.airlines.aviation.industry.response.RouteResponse;
+import com.turkish.airlines.aviation.industry.response.RouteSearchResultResponse;
+import com.turkish.airlines.aviation.industry.response.TransportationResponse;
+import com.turkish.airlines.aviation.industry.response.TruncatedRouteList;
 import com.turkish.airlines.aviation.industry.service.RouteService;
+import com.turkish.airlines.aviation.industry.service.RouteStream;
 import com.turkish.airlines.aviation.industry.validator.core.CompositeRouteValidator;
+import com.turkish.airlines.aviation.industry.validator.core.RouteRejections;
 import com.turkish.airlines.aviation.industry.validator.core.ValidationContext;
 import com.turkish.airlines.aviation.industry.validator.core.ValidationError;
 import com.turkish.airlines.aviation.industry.validator.core.ValidationResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class RouteServiceImpl implements RouteService {
 
-    private final TransportationRepository transportationRepository;
-    private final TransportationMapper transportationMapper;
+    private final RouteEnumerator routeEnumerator;
     private final CompositeRouteValidator routeValidator;
+    private final ConnectingRouteSearch connectingRouteSearch;
+    private final RouteCache routeCache;
+    private final ObjectProvider<RouteTable> routeTable;
+
+    @Value("${route.search.max-flights:3}")
+    private int maxFlightsLimit;
+
+    @Value("${route.search.max-results:500}")
+    private int maxResults;
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = CacheConstants.ROUTES,
-            key = "{#request?.originLocationId, #request?.destinationLocationId}",
-            unless = "#result.isEmpty()")
+    // Concurrent misses of a key are computed once, see TwoTierCache; a search never returns an empty list
+    @Cacheable(value = CacheConstants.ROUTES, keyGenerator = RouteSearchKeyGenerator.NAME, sync = true)
     public List<RouteResponse> findRoutes(RouteSearchRequest request) {
         log.info("Searching routes from location {} to location {}",
                 request.getOriginLocationId(), request.getDestinationLocationId());
 
-        List<Transportation> availableTransportations = findAvailableTransportations(request);
+        // Read before the snapshot, so it is not newer than the routes, see NetworkVersionGuard
+        long networkVersion = routeEnumerator.getVersion();
+        return searchUnlessKnownEmpty(routeEnumerator.getSnapshot(), networkVersion, request, new HashMap<>());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RouteSearchResultResponse> findRoutes(List<RouteSearchRequest> requests) {
+        log.info("Searching routes for a batch of {} location pairs", requests.size());
+
+        Map<RouteSearchRequest, List<RouteResponse>> cachedRoutes = routeCache.getAll(requests);
+        Map<RouteSearchRequest, List<RouteResponse>> foundRoutes = new HashMap<>();
+        Map<RouteSearchRequest, String> errors = new HashMap<>();
+
+        // Every pair is answered from the same snapshot, pairs towards the same destination share its distances
+        long networkVersion = routeEnumerator.getVersion();
+        NetworkSnapshot snapshot = routeEnumerator.getSnapshot();
+        Map<Integer, DestinationDistances> distances = new HashMap<>();
+
+        for (RouteSearchRequest request : requests) {
+            if (cachedRoutes.containsKey(request) || foundRoutes.containsKey(request) || errors.containsKey(request)) {
+                continue;
+            }
+            try {
+                foundRoutes.put(request, searchUnlessKnownEmpty(snapshot, networkVersion, request, distances));
+            } catch (RouteNotFoundException e) {
+                errors.put(request, e.getMessage());
+            }
+        }
+        routeCache.putAll(foundRoutes, networkVersion);
+
+        log.info("Batch of {} location pairs answered, {} from cache, {} searched, {} without routes",
+                requests.size(), cachedRoutes.size(), foundRoutes.size(), errors.size());
+
+        return requests.stream()
+                .map(request -> RouteSearchResultResponse.builder()
+                        .originLocationId(request.getOriginLocationId())
+                        .destinationLocationId(request.getDestinationLocationId())
+                        .routes(cachedRoutes.getOrDefault(request, foundRoutes.get(request)))
+                        .truncated(foundRoutes.get(request) instanceof TruncatedRouteList ? Boolean.TRUE : null)
+                        .error(errors.get(request))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int refreshRoutes(List<RouteSearchRequest> requests) {
+        long networkVersion = routeEnumerator.getVersion();
+        NetworkSnapshot snapshot = routeEnumerator.getSnapshot();
+        Map<Integer, DestinationDistances> distances = new HashMap<>();
+        Map<RouteSearchRequest, List<RouteResponse>> foundRoutes = new HashMap<>();
+
+        for (RouteSearchRequest request : requests) {
+            try {
+                foundRoutes.put(request, searchRoutes(snapshot, request, distances));
+            } catch (RouteNotFoundException e) {
+                if (!e.isTruncated()) {
+                    routeCache.putNoRoutes(request, e.getMessage(), networkVersion);
+                }
+                log.debug("No routes to refresh between locations {} and {}",
+                        request.getOriginLocationId(), request.getDestinationLocationId());
+            }
+        }
+        routeCache.putAll(foundRoutes, networkVersion);
+        return foundRoutes.size();
+    }
+
+    /**
+     * Answers a search that recently found nothing from the no routes cache, and remembers a search that
+     * finds nothing, until the TTL ends or a transportation change around the pair evicts it. A search cut
+     * short at its expansion limit is not remembered, nor one whose network has been changed meanwhile.
+     */
+    private List<RouteResponse> searchUnlessKnownEmpty(NetworkSnapshot snapshot, long networkVersion,
+                                                       RouteSearchRequest request,
+                                                       Map<Integer, DestinationDistances> distances) {
+        String noRoutesMessage = routeCache.getNoRoutesMessage(request);
+        if (noRoutesMessage != null) {
+            log.debug("Answered search from location {} to location {} from the no routes cache",
+                    request.getOriginLocationId(), request.getDestinationLocationId());
+            throw new RouteNotFoundException(noRoutesMessage);
+        }
+        try {
+            return searchRoutes(snapshot, request, distances);
+        } catch (RouteNotFoundException e) {
+            if (!e.isTruncated()) {
+                routeCache.putNoRoutes(request, e.getMessage(), networkVersion);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the routes found, as a {@link TruncatedRouteList} when the search stopped at its expansion
+     * limit, which keeps them out of the route cache
+     */
+    private List<RouteResponse> searchRoutes(NetworkSnapshot snapshot, RouteSearchRequest request,
+                                             Map<Integer, DestinationDistances> distances) {
+        RouteCandidates availableTransportations = findAvailableTransportations(snapshot, request);
         validateAvailableTransportations(availableTransportations, request);
 
         ValidationContext baseContext = createBaseValidationContext(request);
-        RouteSearchResult searchResult = findValidRoutes(availableTransportations, request, baseContext);
+        RouteSearchResult searchResult = findValidRoutes(availableTransportations, request, baseContext, distances,
+                new RouteRejections(snapshot, false));
 
         if (searchResult.getValidRoutes().isEmpty()) {
-            throw new RouteNotFoundException(createNotFoundMessage(request, searchResult.getValidationErrors()));
+            throw new RouteNotFoundException(createNotFoundMessage(request, searchResult), searchResult.isTruncated());
         }
 
-        log.info("Found {} valid routes between locations {} and {}",
-                searchResult.getValidRoutes().size(), request.getOriginLocationId(), request.getDestinationLocationId());
+        log.info("Found {} valid routes between locations {} and {}{}",
+                searchResult.getValidRoutes().size(), request.getOriginLocationId(), request.getDestinationLocationId(),
+                searchResult.isTruncated() ? ", search truncated" : "");
 
-        return searchResult.getValidRoutes();
+        return searchResult.isTruncated() ? new TruncatedRouteList(searchResult.getValidRoutes())
+                : searchResult.getValidRoutes();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RouteSearchResultResponse explainRoutes(RouteSearchRequest request) {
+        log.info("Explaining routes from location {} to location {}",
+                request.getOriginLocationId(), request.getDestinationLocationId());
+
+        RouteSearchResultResponse.RouteSearchResultResponseBuilder response = RouteSearchResultResponse.builder()
+                .originLocationId(request.getOriginLocationId())
+                .destinationLocationId(request.getDestinationLocationId());
+        NetworkSnapshot snapshot = routeEnumerator.getSnapshot();
+        RouteCandidates availableTransportations = findAvailableTransportations(snapshot, request);
+        try {
+            validateAvailableTransportations(availableTransportations, request);
+        } catch (RouteNotFoundException e) {
+            return response.error(e.getMessage()).build();
+        }
+
+        RouteRejections rejections = new RouteRejections(snapshot, true);
+        RouteSearchResult searchResult = findValidRoutes(availableTransportations, request,
+                createBaseValidationContext(request), new HashMap<>(), rejections);
+
+        return response
+                .routes(searchResult.getValidRoutes())
+                .truncated(searchResult.isTruncated() ? Boolean.TRUE : null)
+                .rejectedRoutes(rejections.describe())
+                .rejectionCounts(rejections.getCodeCounts())
+                .build();
+    }
+
+    @Override
+    public RouteStream streamRoutes(RouteSearchRequest request) {
+        log.info("Streaming routes from location {} to location {}",
+                request.getOriginLocationId(), request.getDestinationLocationId());
+
+        // Fail before the response starts when nothing touches the requested locations
+        NetworkSnapshot snapshot = routeEnumerator.getSnapshot();
+        RouteCandidates availableTransportations = findAvailableTransportations(snapshot, request);
+        validateAvailableTransportations(availableTransportations, request);
+
+        ValidationContext baseContext = createBaseValidationContext(request);
+        return consumer -> selectValidRoutes(availableTransportations, request, baseContext, new HashMap<>(), null,
+                route -> {
+                    RouteResponse response = createRouteResponse(snapshot, route);
+                    if (response != null) {
+                        consumer.accept(response);
+                    }
+                });
     }
 
     private ValidationContext createBaseValidationContext(RouteSearchRequest request) {
         return ValidationContext.builder()
                 .requestedOriginId(request.getOriginLocationId())
                 .requestedDestinationId(request.getDestinationLocationId())
+                .maxFlights(resolveMaxFlights(request))
                 .build();
     }
 
-    private void validateAvailableTransportations(List<Transportation> transportations, RouteSearchRequest request) {
+    private int resolveMaxFlights(RouteSearchRequest request) {
+        if (request.getMaxFlights() == null) {
+            return 1;
+        }
+        return Math.min(request.getMaxFlights(), maxFlightsLimit);
+    }
+
+    private SearchBounds createSearchBounds(RouteSearchRequest request, int maxFlights) {
+        SearchBounds.SearchBoundsBuilder bounds = SearchBounds.builder()
+                .maxFlights(maxFlights)
+                .maxResults(request.getLimit() != null ? Math.min(request.getLimit(), maxResults) : maxResults);
+        if (request.getMaxDuration() != null) {
+            bounds.maxDuration(request.getMaxDuration());
+        }
+        if (request.getMaxPrice() != null) {
+            bounds.maxPrice(NetworkSnapshot.toMinorUnits(request.getMaxPrice()));
+        }
+        return bounds.build();
+    }
+
+    private void validateAvailableTransportations(RouteCandidates transportations, RouteSearchRequest request) {
         if (transportations.isEmpty()) {
             throw new RouteNotFoundException(
                     String.format("No transportations found between locations %d and %d",
@@ -74,82 +267,118 @@ public class RouteServiceImpl implements RouteService {
         log.debug("Found {} available transportations", transportations.size());
     }
 
-    private RouteSearchResult findValidRoutes(List<Transportation> transportations,
-                                              RouteSearchRequest request, ValidationContext baseContext) {
+    private RouteSearchResult findValidRoutes(RouteCandidates transportations, RouteSearchRequest request,
+                                              ValidationContext baseContext,
+                                              Map<Integer, DestinationDistances> distances,
+                                              RouteRejections rejections) {
 
         List<RouteResponse> validRoutes = new ArrayList<>();
-        Map<String, List<String>> validationErrors = new HashMap<>();
 
-        // Generate all possible route combinations
-        Stream<List<Transportation>> routeCombinations = generateRouteCombinations(transportations, request);
+        NetworkSnapshot snapshot = transportations.getSnapshot();
+        boolean complete = selectValidRoutes(transportations, request, baseContext, distances, rejections,
+                route -> addValidRoute(snapshot, route, validRoutes));
 
-        // Validate and collect results
-        routeCombinations.forEach(route ->
-                validateAndAddRoute(route, validRoutes, validationErrors, baseContext));
+        return new RouteSearchResult(validRoutes, rejections, !complete);
+    }
 
-        return new RouteSearchResult(validRoutes, validationErrors);
+    /**
+     * Passes the selected valid routes to the sink in result order. Only those routes are ever
+     * turned into responses. Rejected candidates are recorded when {@code rejections} is given, destination
+     * distances are taken from and added to {@code distances}.
+     *
+     * @return {@code false} when the connecting route search stopped at its expansion limit
+     */
+    private boolean selectValidRoutes(RouteCandidates transportations, RouteSearchRequest request,
+                                   ValidationContext baseContext, Map<Integer, DestinationDistances> distances,
+                                   RouteRejections rejections, Consumer<int[]> sink) {
+        NetworkSnapshot snapshot = transportations.getSnapshot();
+        NetworkSnapshot.RouteView view = snapshot.routeView();
+
+        if (baseContext.getMaxFlights() > 1) {
+            if (transportations.getOrigin() < 0 || transportations.getDestination() < 0) {
+                return true;
+            }
+            // Explore connecting flights best first within the requested bounds, routes arrive already ranked.
+            // Distances cover the configured flight limit so any request towards the destination can reuse them.
+            DestinationDistances destinationDistances = distances.computeIfAbsent(transportations.getDestination(),
+                    destination -> connectingRouteSearch.distancesTo(snapshot, destination,
+                            SearchBounds.maxLegs(maxFlightsLimit)));
+            return connectingRouteSearch.search(snapshot, transportations.getOrigin(), destinationDistances,
+                    createSearchBounds(request, baseContext.getMaxFlights()), request.getSortBy(),
+                    route -> acceptIfValid(view, route, sink, rejections, baseContext));
+        } else if (request.getSortBy() != null) {
+            // Keep the best valid single flight routes
+            RankedRoutes rankedRoutes = new RankedRoutes(snapshot, request.getSortBy(), request.getLimit());
+            forEachValidRoute(transportations, view, baseContext, rejections, () -> false, rankedRoutes::add);
+            rankedRoutes.toList().forEach(sink);
+        } else {
+            // Pass valid single flight routes on as soon as they are found
+            int limit = request.getLimit() != null ? request.getLimit() : Integer.MAX_VALUE;
+            int[] accepted = new int[1];
+            forEachValidRoute(transportations, view, baseContext, rejections, () -> accepted[0] >= limit, route -> {
+                accepted[0]++;
+                sink.accept(route);
+            });
+        }
+        return true;
     }
 
-    private Stream<List<Transportation>> generateRouteCombinations(
-            List<Transportation> transportations, RouteSearchRequest request) {
-
-        List<Transportation> flights = findFlights(transportations);
-        List<Transportation> beforeTransfers = findBeforeTransfers(transportations, request.getOriginLocationId());
-        List<Transportation> afterTransfers = findAfterTransfers(transportations, request.getDestinationLocationId());
-
-        // Combine all possible route combinations
-        return Stream.of(
-                // Direct flights
-                flights.stream()
-                        .filter(t -> isDirectFlight(t, request))
-                        .map(Collections::singletonList),
-
-                // Routes with before transfer
-                beforeTransfers.stream()
-                        .flatMap(beforeTransfer ->
-                                flights.stream()
-                                        .filter(flight -> isValidBeforeTransferRoute(beforeTransfer, flight, request))
-                                        .map(flight -> Arrays.asList(beforeTransfer, flight))),
-
-                // Routes with after transfer
-                flights.stream()
-                        .flatMap(flight ->
-                                afterTransfers.stream()
-                                        .filter(afterTransfer -> isValidAfterTransferRoute(flight, afterTransfer, request))
-                                        .map(afterTransfer -> Arrays.asList(flight, afterTransfer))),
-
-                // Routes with both transfers
-                beforeTransfers.stream()
-                        .flatMap(beforeTransfer ->
-                                flights.stream()
-                                        .flatMap(flight ->
-                                                afterTransfers.stream()
-                                                        .filter(afterTransfer -> isValidFullRoute(beforeTransfer, flight, afterTransfer))
-                                                        .map(afterTransfer -> Arrays.asList(beforeTransfer, flight, afterTransfer))))
-        ).flatMap(stream -> stream);
+    /**
+     * Valid single flight routes come from the route table when it is enabled and no explanation is
+     * asked for, otherwise the connecting route combinations are enumerated and validated. Nothing more
+     * is validated once {@code full} holds.
+     */
+    private void forEachValidRoute(RouteCandidates transportations, NetworkSnapshot.RouteView view,
+                                   ValidationContext baseContext, RouteRejections rejections, BooleanSupplier full,
+                                   Consumer<int[]> sink) {
+        NetworkSnapshot snapshot = transportations.getSnapshot();
+        RouteTable table = routeTable.getIfAvailable();
+        if (table != null && (rejections == null || !rejections.isExplain())) {
+            table.forEachRoute(snapshot, transportations.getOrigin(), transportations.getDestination(), route -> {
+                if (!full.getAsBoolean()) {
+                    sink.accept(route);
+                }
+            });
+            return;
+        }
+        transportations.forEachRoute(route -> {
+            if (!full.getAsBoolean()) {
+                acceptIfValid(view, route, sink, rejections, baseContext);
+            }
+        });
     }
 
-    private void validateAndAddRoute(List<Transportation> route, List<RouteResponse> validRoutes,
-                                     Map<String, List<String>> validationErrors, ValidationContext baseContext) {
+    private boolean acceptIfValid(NetworkSnapshot.RouteView view, int[] route, Consumer<int[]> sink,
+                                  RouteRejections rejections, ValidationContext baseContext) {
 
         ValidationContext context = ValidationContext.builder()
-                .route(route)
+                .route(view.of(route))
                 .requestedOriginId(baseContext.getRequestedOriginId())
                 .requestedDestinationId(baseContext.getRequestedDestinationId())
                 .isDirectFlightRequired(baseContext.isDirectFlightRequired())
+                .maxFlights(baseContext.getMaxFlights())
                 .build();
 
         ValidationResult result = routeValidator.validate(context);
 
         if (result.isValid()) {
-            addValidRoute(route, validRoutes);
-        } else {
-            addValidationError(route, result, validationErrors);
+            sink.accept(route);
+            return true;
+        }
+        if (rejections != null) {
+            rejections.record(route, result);
         }
+        if (log.isDebugEnabled()) {
+            log.debug("Route validation failed for {}: {}", RouteRejections.describeRoute(view.getSnapshot(), route),
+                    result.getErrors().stream()
+                            .map(ValidationError::getMessage)
+                            .collect(Collectors.joining(", ")));
+        }
+        return false;
     }
 
-    private void addValidRoute(List<Transportation> route, List<RouteResponse> validRoutes) {
-        RouteResponse response = createRouteResponse(route);
+    private void addValidRoute(NetworkSnapshot snapshot, int[] route, List<RouteResponse> validRoutes) {
+        RouteResponse response = createRouteResponse(snapshot, route);
         if (response != null) {
             validRoutes.add(response);
             log.debug("Added valid route with {} stops, duration: {}, price: {}",
@@ -157,117 +386,71 @@ public class RouteServiceImpl implements RouteService {
         }
     }
 
-    private void addValidationError(List<Transportation> route, ValidationResult result,
-                                    Map<String, List<String>> validationErrors) {
-        String routeDescription = describeRoute(route);
-        validationErrors.put(routeDescription,
-                result.getErrors().stream()
-                        .map(ValidationError::getMessage)
-                        .collect(Collectors.toList()));
-        log.debug("Route validation failed for {}: {}", routeDescription,
-                result.getErrors().stream()
-                        .map(ValidationError::getMessage)
-                        .collect(Collectors.joining(", ")));
-    }
-
-    private String createNotFoundMessage(RouteSearchRequest request, Map<String, List<String>> validationErrors) {
-        return String.format("No valid routes found from location %d to location %d. Validation errors: %s",
+    private String createNotFoundMessage(RouteSearchRequest request, RouteSearchResult searchResult) {
+        String message = String.format("No valid routes found from location %d to location %d. Validation errors: %s",
                 request.getOriginLocationId(), request.getDestinationLocationId(),
-                formatValidationErrors(validationErrors));
+                formatValidationErrors(searchResult.getRejections().describe()));
+        return searchResult.isTruncated() ? message + ". The search stopped at its expansion limit" : message;
     }
 
-    private List<Transportation> findAvailableTransportations(RouteSearchRequest request) {
+    private RouteCandidates findAvailableTransportations(NetworkSnapshot snapshot, RouteSearchRequest request) {
         log.debug("Finding available transportations for route from {} to {}",
                 request.getOriginLocationId(), request.getDestinationLocationId());
 
-        return transportationRepository.findByOriginLocationIdOrDestinationLocationId(
-                request.getOriginLocationId(), request.getDestinationLocationId());
-    }
-
-    private List<Transportation> findBeforeTransfers(List<Transportation> transportations, Long originId) {
-        return transportations.stream()
-                .filter(t -> t.getTransportationType() == TransportationType.OTHER &&
-                        t.getOriginLocation().getId().equals(originId))
-                .collect(Collectors.toList());
-    }
-
-    private List<Transportation> findFlights(List<Transportation> transportations) {
-        return transportations.stream()
-                .filter(t -> t.getTransportationType() == TransportationType.FLIGHT)
-                .collect(Collectors.toList());
-    }
-
-    private List<Transportation> findAfterTransfers(List<Transportation> transportations, Long destinationId) {
-        return transportations.stream()
-                .filter(t -> t.getTransportationType() == TransportationType.OTHER &&
-                        t.getDestinationLocation().getId().equals(destinationId))
-                .collect(Collectors.toList());
-    }
-
-    private boolean isDirectFlight(Transportation transportation, RouteSearchRequest request) {
-        return transportation.getTransportationType() == TransportationType.FLIGHT
-                && transportation.getOriginLocation().getId().equals(request.getOriginLocationId())
-                && transportation.getDestinationLocation().getId().equals(request.getDestinationLocationId());
+        return routeEnumerator.findCandidates(snapshot, request.getOriginLocationId(),
+                request.getDestinationLocationId());
     }
 
-    private boolean isValidBeforeTransferRoute(Transportation beforeTransfer, Transportation flight, RouteSearchRequest request) {
-        return isValidConnection(beforeTransfer, flight)
-                && flight.getDestinationLocation().getId().equals(request.getDestinationLocationId());
-    }
-
-    private boolean isValidAfterTransferRoute(Transportation flight, Transportation afterTransfer, RouteSearchRequest request) {
-        return flight.getOriginLocation().getId().equals(request.getOriginLocationId())
-                && isValidConnection(flight, afterTransfer);
-    }
-
-    private boolean isValidFullRoute(Transportation beforeTransfer, Transportation flight, Transportation afterTransfer) {
-        return isValidConnection(beforeTransfer, flight) && isValidConnection(flight, afterTransfer);
-    }
+    private RouteResponse createRouteResponse(NetworkSnapshot snapshot, int[] route) {
+        RouteResponse.RouteResponseBuilder builder = RouteResponse.builder()
+                .totalStops(route.length - 1)
+                .totalDuration(calculateTotalDuration(snapshot, route))
+                .totalPrice(calculateTotalPrice(snapshot, route));
 
-    private boolean isValidConnection(Transportation first, Transportation second) {
-        return first.getDestinationLocation().getId().equals(second.getOriginLocation().getId());
-    }
+        int firstFlight = 0;
+        while (firstFlight < route.length && snapshot.type(route[firstFlight]) != TransportationType.FLIGHT) {
+            firstFlight++;
+        }
+        int lastFlight = route.length - 1;
+        while (lastFlight >= 0 && snapshot.type(route[lastFlight]) != TransportationType.FLIGHT) {
+            lastFlight--;
+        }
+        if (firstFlight > 1 || lastFlight < route.length - 2 || firstFlight > lastFlight) {
+            log.error("Invalid route shape with {} transportations", route.length);
+            return null;
+        }
 
-    private RouteResponse createRouteResponse(List<Transportation> route) {
-        RouteResponse.RouteResponseBuilder builder = RouteResponse.builder()
-                .totalStops(route.size() - 1)
-                .totalDuration(calculateTotalDuration(route))
-                .totalPrice(calculateTotalPrice(route));
-
-        switch (route.size()) {
-            case 1:
-                return builder.flight(transportationMapper.mapToTransportationResponse(route.get(0))).build();
-            case 2:
-                if (route.get(0).getTransportationType() == TransportationType.FLIGHT) {
-                    return builder.flight(transportationMapper.mapToTransportationResponse(route.get(0)))
-                            .afterFlight(transportationMapper.mapToTransportationResponse(route.get(1)))
-                            .build();
-                } else {
-                    return builder.beforeFlight(transportationMapper.mapToTransportationResponse(route.get(0)))
-                            .flight(transportationMapper.mapToTransportationResponse(route.get(1)))
-                            .build();
-                }
-            case 3:
-                return builder.beforeFlight(transportationMapper.mapToTransportationResponse(route.get(0)))
-                        .flight(transportationMapper.mapToTransportationResponse(route.get(1)))
-                        .afterFlight(transportationMapper.mapToTransportationResponse(route.get(2)))
-                        .build();
-            default:
-                log.error("Invalid route size: {}", route.size());
-                return null;
+        if (firstFlight == 1) {
+            builder.beforeFlight(snapshot.toResponse(route[0]));
+        }
+        builder.flight(snapshot.toResponse(route[firstFlight]));
+        if (lastFlight > firstFlight) {
+            List<TransportationResponse> connectingFlights = new ArrayList<>(lastFlight - firstFlight);
+            for (int i = firstFlight + 1; i <= lastFlight; i++) {
+                connectingFlights.add(snapshot.toResponse(route[i]));
+            }
+            builder.connectingFlights(connectingFlights);
         }
+        if (lastFlight == route.length - 2) {
+            builder.afterFlight(snapshot.toResponse(route[route.length - 1]));
+        }
+        return builder.build();
     }
 
-    private int calculateTotalDuration(List<Transportation> route) {
-        return (int) route.stream()
-                .mapToDouble(Transportation::getDuration)
-                .sum();
+    private int calculateTotalDuration(NetworkSnapshot snapshot, int[] route) {
+        int totalDuration = 0;
+        for (int edge : route) {
+            totalDuration += snapshot.duration(edge);
+        }
+        return totalDuration;
     }
 
-    private BigDecimal calculateTotalPrice(List<Transportation> route) {
-        return route.stream()
-                .map(Transportation::getPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private BigDecimal calculateTotalPrice(NetworkSnapshot snapshot, int[] route) {
+        long totalPrice = 0;
+        for (int edge : route) {
+            totalPrice += snapshot.price(edge);
+        }
+        return NetworkSnapshot.toPrice(totalPrice);
     }
 
     private String formatValidationErrors(Map<String, List<String>> validationErrors) {
@@ -276,19 +459,11 @@ public class RouteServiceImpl implements RouteService {
                 .collect(Collectors.joining("; "));
     }
 
-    private String describeRoute(List<Transportation> route) {
-        return route.stream()
-                .map(t -> String.format("%s (%d -> %d)",
-                        t.getTransportationType(),
-                        t.getOriginLocation().getId(),
-                        t.getDestinationLocation().getId()))
-                .collect(Collectors.joining(" -> "));
-    }
-
     @lombok.Value
     private static class RouteSearchResult {
         List<RouteResponse> validRoutes;
-        Map<String, List<String>> validationErrors;
+        RouteRejections rejections;
+        boolean truncated;
     }
 
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.turkish.airlines.aviation.industry.service.impl;
 
+import com.turkish.airlines.aviation.industry.cache.TransportationChunkCache;
 import com.turkish.airlines.aviation.industry.constants.CacheConstants;
+import com.turkish.airlines.aviation.industry.datasource.ReadFromPrimary;
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.event.TransportationChangedEvent;
 import com.turkish.airlines.aviation.industry.exception.LocationNotFoundException;
 import com.turkish.airlines.aviation.industry.exception.TransportationNotFoundException;
 import com.turkish.airlines.aviation.industry.exception.TransportationOperationException;
@@ -11,15 +15,21 @@ import com.turkish.airlines.aviation.industry.repository.LocationRepository;
 import com.turkish.airlines.aviation.industry.repository.TransportationRepository;
 import com.turkish.airlines.aviation.industry.request.CreateTransportationRequest;
 import com.turkish.airlines.aviation.industry.request.UpdateTransportationRequest;
+import com.turkish.airlines.aviation.industry.response.TransportationPageResponse;
 import com.turkish.airlines.aviation.industry.response.TransportationResponse;
 import com.turkish.airlines.aviation.industry.service.TransportationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,6 +39,14 @@ public class TransportationServiceImpl implements TransportationService {
     private final TransportationRepository transportationRepository;
     private final LocationRepository locationRepository;
     private final TransportationMapper transportationMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransportationChunkCache transportationChunkCache;
+
+    @Value("${transportation.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${transportation.page.max-chunks:64}")
+    private int maxChunksPerPage;
 
     @Override
     @Transactional
@@ -37,19 +55,9 @@ public class TransportationServiceImpl implements TransportationService {
             log.info("Creating new transportation from location {} to location {} of type {}",
                     request.getOriginLocationId(), request.getDestinationLocationId(), request.getTransportationType());
 
-            Location originLocation = locationRepository.findById(request.getOriginLocationId())
-                    .orElseThrow(() -> {
-                        String message = String.format("Origin location not found with ID: %d", request.getOriginLocationId());
-                        log.error(message);
-                        return new LocationNotFoundException(message);
-                    });
-
-            Location destinationLocation = locationRepository.findById(request.getDestinationLocationId())
-                    .orElseThrow(() -> {
-                        String message = String.format("Destination location not found with ID: %d", request.getDestinationLocationId());
-                        log.error(message);
-                        return new LocationNotFoundException(message);
-                    });
+            Map<Long, Location> locations = findLocations(request.getOriginLocationId(), request.getDestinationLocationId());
+            Location originLocation = requireLocation(locations, request.getOriginLocationId(), "Origin");
+            Location destinationLocation = requireLocation(locations, request.getDestinationLocationId(), "Destination");
 
             Transportation transportation = transportationMapper.mapToTransportationFromCreateRequest(request);
             transportation.setOriginLocation(originLocation);
@@ -57,6 +65,7 @@ public class TransportationServiceImpl implements TransportationService {
 
             transportation = transportationRepository.save(transportation);
             log.debug("Transportation created with ID: {}", transportation.getId());
+            eventPublisher.publishEvent(TransportationChangedEvent.created(transportation));
 
             return transportationMapper.mapToTransportationResponse(transportation);
         } catch (LocationNotFoundException e) {
@@ -71,6 +80,7 @@ public class TransportationServiceImpl implements TransportationService {
 
     @Override
     @Transactional(readOnly = true)
+    @ReadFromPrimary
     @Cacheable(value = CacheConstants.SINGLE_TRANSPORTATION, unless = "#result == null")
     public TransportationResponse getTransportation(Long id) {
         log.debug("Fetching transportation with ID: {}", id);
@@ -83,19 +93,47 @@ public class TransportationServiceImpl implements TransportationService {
                 });
     }
 
+    /**
+     * Keyset pagination over the id, read from {@link TransportationChunkCache} chunk by chunk. A filter
+     * matching few transportations can leave a page short after {@code transportation.page.max-chunks}
+     * chunks; its cursor then continues after the chunks read.
+     */
     @Override
-    @Transactional(readOnly = true)
-    @Cacheable(value = CacheConstants.ALL_TRANSPORTATIONS, unless = "#result.isEmpty()")
-    public List<TransportationResponse> getAllTransportations() {
+    public TransportationPageResponse getTransportations(Long after, int size, TransportationType type,
+                                                         Long originLocationId) {
         try {
-            log.debug("Fetching all transportations");
-            List<TransportationResponse> transportations = transportationRepository.findAll().stream()
-                    .map(transportationMapper::mapToTransportationResponse)
-                    .collect(Collectors.toList());
-            log.debug("Found {} transportations", transportations.size());
-            return transportations;
+            long cursor = after != null ? after : 0;
+            int pageSize = Math.min(Math.max(size, 1), maxPageSize);
+            log.debug("Fetching {} transportations after ID {} of type {} from location {}",
+                    pageSize, cursor, type, originLocationId);
+
+            Long maxId = transportationRepository.findMaxId();
+            List<TransportationResponse> transportations = new ArrayList<>(pageSize);
+            if (maxId == null || cursor >= maxId) {
+                return new TransportationPageResponse(transportations, null);
+            }
+
+            long lastChunk = transportationChunkCache.chunkOf(maxId);
+            long chunk = transportationChunkCache.chunkOf(cursor + 1);
+            for (int read = 0; chunk <= lastChunk && read < maxChunksPerPage && transportations.size() < pageSize;
+                 chunk++, read++) {
+                for (TransportationResponse transportation : transportationChunkCache.getChunk(chunk, type, originLocationId)) {
+                    if (transportation.getId() > cursor && transportations.size() < pageSize) {
+                        transportations.add(transportation);
+                    }
+                }
+            }
+
+            Long nextCursor = null;
+            if (transportations.size() == pageSize) {
+                long lastId = transportations.get(pageSize - 1).getId();
+                nextCursor = lastId < maxId ? lastId : null;
+            } else if (chunk <= lastChunk) {
+                nextCursor = transportationChunkCache.firstId(chunk) - 1;
+            }
+            return new TransportationPageResponse(transportations, nextCursor);
         } catch (Exception e) {
-            String message = "Error fetching all transportations";
+            String message = "Error fetching transportations";
             log.error(message, e);
             throw new TransportationOperationException(message);
         }
@@ -113,19 +151,12 @@ public class TransportationServiceImpl implements TransportationService {
                         return new TransportationNotFoundException(message);
                     });
 
-            Location originLocation = locationRepository.findById(request.getOriginLocationId())
-                    .orElseThrow(() -> {
-                        String message = String.format("Origin location not found with ID: %d", request.getOriginLocationId());
-                        log.error(message);
-                        return new LocationNotFoundException(message);
-                    });
+            Map<Long, Location> locations = findLocations(request.getOriginLocationId(), request.getDestinationLocationId());
+            Location originLocation = requireLocation(locations, request.getOriginLocationId(), "Origin");
+            Location destinationLocation = requireLocation(locations, request.getDestinationLocationId(), "Destination");
 
-            Location destinationLocation = locationRepository.findById(request.getDestinationLocationId())
-                    .orElseThrow(() -> {
-                        String message = String.format("Destination location not found with ID: %d", request.getDestinationLocationId());
-                        log.error(message);
-                        return new LocationNotFoundException(message);
-                    });
+            Long previousOriginLocationId = transportation.getOriginLocation().getId();
+            Long previousDestinationLocationId = transportation.getDestinationLocation().getId();
 
             transportation.setOriginLocation(originLocation);
             transportation.setDestinationLocation(destinationLocation);
@@ -135,6 +166,8 @@ public class TransportationServiceImpl implements TransportationService {
 
             transportation = transportationRepository.save(transportation);
             log.debug("Transportation updated successfully: {}", id);
+            eventPublisher.publishEvent(TransportationChangedEvent.updated(
+                    transportation, previousOriginLocationId, previousDestinationLocationId));
 
             return transportationMapper.mapToTransportationResponse(transportation);
         } catch (LocationNotFoundException | TransportationNotFoundException e) {
@@ -160,10 +193,29 @@ public class TransportationServiceImpl implements TransportationService {
             transportation.setDeleted(true);
             transportationRepository.save(transportation);
             log.debug("Transportation deleted successfully: {}", id);
+            eventPublisher.publishEvent(TransportationChangedEvent.deleted(transportation));
         } catch (Exception e) {
             String message = String.format("Error deleting transportation with ID: %d", id);
             log.error(message, e);
             throw new TransportationOperationException(message);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Both end points of a transportation in one query.
+     */
+    private Map<Long, Location> findLocations(Long originLocationId, Long destinationLocationId) {
+        return locationRepository.findAllById(List.of(originLocationId, destinationLocationId)).stream()
+                .collect(Collectors.toMap(Location::getId, Function.identity(), (first, second) -> first));
+    }
+
+    private Location requireLocation(Map<Long, Location> locations, Long id, String role) {
+        Location location = locations.get(id);
+        if (location == null) {
+            String message = String.format("%s location not found with ID: %d", role, id);
+            log.error(message);
+            throw new LocationNotFoundException(message);
+        }
+        return location;
+    }
+}
\ No newline at end of file
@@ -2,53 +2,76 @@ package com.turkish.airlines.aviation.industry.validator.core;
 
 import com.turkish.airlines.aviation.industry.validator.RouteValidator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Comparator;
 import java.util.List;
 
+/**
+ * Runs the route validators as a pipeline compiled once: the validators are ordered at construction
+ * and kept in an array, a passing route shares the {@link ValidationResult#valid()} instance and
+ * results are only merged when a validator fails. With {@code route.validation.fail-fast} the
+ * pipeline stops at the first failing validator instead of collecting the errors of all of them.
+ */
 @Slf4j
 @Component
 public class CompositeRouteValidator implements RouteValidator {
-    private final List<RouteValidator> validators;
+    private final RouteValidator[] validators;
+    private final boolean failFast;
 
     public CompositeRouteValidator(List<RouteValidator> validators) {
-        this.validators = validators;
+        this(validators, false);
+    }
+
+    @Autowired
+    public CompositeRouteValidator(List<RouteValidator> validators,
+                                   @Value("${route.validation.fail-fast:false}") boolean failFast) {
+        this.validators = validators.stream()
+                .sorted(Comparator.comparingInt(RouteValidator::getOrder))
+                .toArray(RouteValidator[]::new);
+        this.failFast = failFast;
+        log.debug("Compiled validation pipeline with {} validators, fail fast: {}", this.validators.length, failFast);
     }
 
     @Override
     public ValidationResult validate(ValidationContext context) {
-        log.debug("Starting composite validation with {} validators", validators.size());
-        
-        return validators.stream()
-            .sorted(Comparator.comparingInt(RouteValidator::getOrder))
-            .map(validator -> {
-                try {
-                    log.debug("Running validator: {}", validator.getValidatorName());
-                    ValidationResult result = validator.validate(context);
-                    if (!result.isValid()) {
-                        log.debug("Validator {} found {} errors", 
-                            validator.getValidatorName(), 
-                            result.getErrors().size());
-                    }
+        ValidationResult result = ValidationResult.valid();
+        for (RouteValidator validator : validators) {
+            ValidationResult current = validate(validator, context);
+            if (!current.isValid()) {
+                result = result.merge(current);
+                if (failFast) {
                     return result;
-                } catch (Exception e) {
-                    log.error("Error in validator {}: {}", validator.getValidatorName(), e.getMessage());
-                    return ValidationResult.invalid(
-                        new ValidationError(
-                            "VALIDATOR_ERROR",
-                            String.format("Validator %s failed: %s", 
-                                validator.getValidatorName(), 
-                                e.getMessage())
-                        )
-                    );
                 }
-            })
-            .reduce(ValidationResult.valid(), ValidationResult::merge);
+            }
+        }
+        return result;
+    }
+
+    private static ValidationResult validate(RouteValidator validator, ValidationContext context) {
+        try {
+            ValidationResult result = validator.validate(context);
+            if (!result.isValid()) {
+                log.debug("Validator {} found {} errors", validator.getValidatorName(), result.getErrors().size());
+            }
+            return result;
+        } catch (Exception e) {
+            log.error("Error in validator {}: {}", validator.getValidatorName(), e.getMessage());
+            return ValidationResult.invalid(
+                ValidationError.of(
+                    "VALIDATOR_ERROR",
+                    "Validator %s failed: %s",
+                    validator.getValidatorName(),
+                    e.getMessage()
+                )
+            );
+        }
     }
 
     @Override
     public int getOrder() {
         return Integer.MAX_VALUE; // Composite validator should run last
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.turkish.airlines.aviation.industry.validator.core;
+
+import com.turkish.airlines.aviation.industry.graph.NetworkSnapshot;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Route candidates rejected during one search. Recording keeps the candidate as the edge indexes of the
+ * search's snapshot and the {@link ValidationError}s the validators produced, which hold their code and
+ * message arguments, and counts the codes. Nothing is formatted until {@link #describe()} is called,
+ * which happens for a not-found response or an explain request.
+ */
+public class RouteRejections {
+
+    private final NetworkSnapshot snapshot;
+
+    /**
+     * Whether the caller asked for an explanation, which needs every candidate to be validated.
+     */
+    @Getter
+    private final boolean explain;
+
+    private final List<int[]> routes = new ArrayList<>();
+    private final List<List<ValidationError>> errors = new ArrayList<>();
+    private final Map<String, Integer> codeCounts = new LinkedHashMap<>();
+
+    public RouteRejections(NetworkSnapshot snapshot, boolean explain) {
+        this.snapshot = snapshot;
+        this.explain = explain;
+    }
+
+    /**
+     * @param route the rejected candidate as edges of the snapshot, not copied
+     */
+    public void record(int[] route, ValidationResult result) {
+        List<ValidationError> routeErrors = result.getErrors();
+        routes.add(route);
+        errors.add(routeErrors);
+        for (int i = 0; i < routeErrors.size(); i++) {
+            codeCounts.merge(routeErrors.get(i).getCode(), 1, Integer::sum);
+        }
+    }
+
+    public int size() {
+        return routes.size();
+    }
+
+    /**
+     * @return the number of rejections per validation error code
+     */
+    public Map<String, Integer> getCodeCounts() {
+        return Collections.unmodifiableMap(codeCounts);
+    }
+
+    /**
+     * @return the error messages per rejected route description, in rejection order
+     */
+    public Map<String, List<String>> describe() {
+        Map<String, List<String>> descriptions = new LinkedHashMap<>();
+        for (int i = 0; i < routes.size(); i++) {
+            descriptions.put(describeRoute(snapshot, routes.get(i)), errors.get(i).stream()
+                    .map(ValidationError::getMessage)
+                    .collect(Collectors.toList()));
+        }
+        return descriptions;
+    }
+
+    public static String describeRoute(NetworkSnapshot snapshot, int[] route) {
+        return Arrays.stream(route)
+                .mapToObj(edge -> String.format("%s (%d -> %d)",
+                        snapshot.type(edge),
+                        snapshot.locationId(snapshot.origin(edge)),
+                        snapshot.locationId(snapshot.destination(edge))))
+                .collect(Collectors.joining(" -> "));
+    }
+}
@@ -1,6 +1,6 @@
 package com.turkish.airlines.aviation.industry.validator.core;
 
-import com.turkish.airlines.aviation.industry.model.Transportation;
+import com.turkish.airlines.aviation.industry.model.RouteLeg;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -9,8 +9,14 @@ import java.util.List;
 @Getter
 @Builder
 public class ValidationContext {
-    private final List<Transportation> route;
+    private final List<? extends RouteLeg> route;
     private final Long requestedOriginId;
     private final Long requestedDestinationId;
     private final boolean isDirectFlightRequired;
+
+    /**
+     * Maximum number of connecting flights a route may contain.
+     */
+    @Builder.Default
+    private final int maxFlights = 1;
 } 
\ No newline at end of file
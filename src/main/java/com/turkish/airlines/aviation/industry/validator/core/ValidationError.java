@@ -1,21 +1,50 @@
 package com.turkish.airlines.aviation.industry.validator.core;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
+/**
+ * A failed validation rule, kept as its code and the arguments of its message. Most rejected candidates
+ * are only counted by code, so the message is formatted when {@link #getMessage()} is called.
+ */
 @Getter
-@RequiredArgsConstructor
 public class ValidationError {
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
     private final String code;
-    private final String message;
+    @Getter(AccessLevel.NONE)
+    private final String format;
+    private final Object[] arguments;
     private final ValidationSeverity severity;
 
     public ValidationError(String code, String message) {
         this(code, message, ValidationSeverity.ERROR);
     }
 
+    public ValidationError(String code, String message, ValidationSeverity severity) {
+        this(code, severity, message, NO_ARGUMENTS);
+    }
+
+    private ValidationError(String code, ValidationSeverity severity, String format, Object[] arguments) {
+        this.code = code;
+        this.format = format;
+        this.arguments = arguments;
+        this.severity = severity;
+    }
+
+    /**
+     * @param format a {@link String#format} pattern for the arguments
+     */
+    public static ValidationError of(String code, String format, Object... arguments) {
+        return new ValidationError(code, ValidationSeverity.ERROR, format, arguments);
+    }
+
+    public String getMessage() {
+        return arguments.length == 0 ? format : String.format(format, arguments);
+    }
+
     public enum ValidationSeverity {
         WARNING,
         ERROR
     }
-} 
\ No newline at end of file
+}
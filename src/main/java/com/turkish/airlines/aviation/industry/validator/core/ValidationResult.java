@@ -8,6 +8,9 @@ import java.util.List;
 
 @Getter
 public class ValidationResult {
+    // Immutable, so every passing validation can share it
+    private static final ValidationResult VALID = new ValidationResult(true, Collections.emptyList());
+
     private final boolean valid;
     private final List<ValidationError> errors;
 
@@ -17,7 +20,7 @@ public class ValidationResult {
     }
 
     public static ValidationResult valid() {
-        return new ValidationResult(true, new ArrayList<>());
+        return VALID;
     }
 
     public static ValidationResult invalid(List<ValidationError> errors) {
@@ -29,8 +32,11 @@ public class ValidationResult {
     }
 
     public ValidationResult merge(ValidationResult other) {
-        if (this.valid && other.valid) {
-            return ValidationResult.valid();
+        if (other.valid) {
+            return this.valid ? VALID : this;
+        }
+        if (this.valid) {
+            return other;
         }
 
         List<ValidationError> mergedErrors = new ArrayList<>(this.errors);
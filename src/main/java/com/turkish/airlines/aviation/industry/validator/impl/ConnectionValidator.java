@@ -1,7 +1,7 @@
 package com.turkish.airlines.aviation.industry.validator.impl;
 
 
-import com.turkish.airlines.aviation.industry.model.Transportation;
+import com.turkish.airlines.aviation.industry.model.RouteLeg;
 import com.turkish.airlines.aviation.industry.validator.RouteValidator;
 import com.turkish.airlines.aviation.industry.validator.core.ValidationContext;
 import com.turkish.airlines.aviation.industry.validator.core.ValidationError;
@@ -22,25 +22,29 @@ public class ConnectionValidator implements RouteValidator {
             return ValidationResult.valid();
         }
 
-        List<ValidationError> errors = new ArrayList<>();
-        
-        for (int i = 0; i < context.getRoute().size() - 1; i++) {
-            Transportation current = context.getRoute().get(i);
-            Transportation next = context.getRoute().get(i + 1);
+        List<ValidationError> errors = null;
 
-            if (!current.getDestinationLocation().getId().equals(next.getOriginLocation().getId())) {
-                errors.add(new ValidationError(
+        List<? extends RouteLeg> route = context.getRoute();
+        for (int i = 0; i < route.size() - 1; i++) {
+            RouteLeg current = route.get(i);
+            RouteLeg next = route.get(i + 1);
+
+            if (current.destinationId() != next.originId()) {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                errors.add(ValidationError.of(
                     "INVALID_CONNECTION",
-                    String.format("Invalid connection between transportations at positions %d and %d: " +
+                    "Invalid connection between transportations at positions %d and %d: " +
                         "destination location %d does not match origin location %d",
-                        i, i + 1,
-                        current.getDestinationLocation().getId(),
-                        next.getOriginLocation().getId())
+                    i, i + 1,
+                    current.destinationId(),
+                    next.originId()
                 ));
             }
         }
 
-        return errors.isEmpty() ? ValidationResult.valid() : ValidationResult.invalid(errors);
+        return errors == null ? ValidationResult.valid() : ValidationResult.invalid(errors);
     }
 
     @Override
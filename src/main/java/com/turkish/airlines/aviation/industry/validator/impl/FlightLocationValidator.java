@@ -1,7 +1,7 @@
 package com.turkish.airlines.aviation.industry.validator.impl;
 
 import com.turkish.airlines.aviation.industry.enums.TransportationType;
-import com.turkish.airlines.aviation.industry.model.Transportation;
+import com.turkish.airlines.aviation.industry.model.RouteLeg;
 import com.turkish.airlines.aviation.industry.validator.RouteValidator;
 import com.turkish.airlines.aviation.industry.validator.core.ValidationContext;
 import com.turkish.airlines.aviation.industry.validator.core.ValidationError;
@@ -9,6 +9,8 @@ import com.turkish.airlines.aviation.industry.validator.core.ValidationResult;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @Order(4)
 public class FlightLocationValidator implements RouteValidator {
@@ -20,23 +22,37 @@ public class FlightLocationValidator implements RouteValidator {
             return ValidationResult.valid();
         }
 
-        Transportation flight = context.getRoute().stream()
-                .filter(t -> t.getTransportationType() == TransportationType.FLIGHT)
-                .findFirst()
-                .orElse(null);
+        List<? extends RouteLeg> route = context.getRoute();
+        RouteLeg flight = null;
+        for (int i = 0; i < route.size(); i++) {
+            if (route.get(i).getTransportationType() == TransportationType.FLIGHT) {
+                flight = route.get(i);
+                break;
+            }
+        }
 
         if (flight == null) {
             return ValidationResult.valid(); // FlightRequirementValidator will handle this case
         }
 
-        if (!flight.getOriginLocation().getId().equals(context.getRequestedOriginId()) ||
-            !flight.getDestinationLocation().getId().equals(context.getRequestedDestinationId())) {
+        // With connecting flights the journey by air runs from the first flight to the last one
+        RouteLeg lastFlight = flight;
+        if (context.getMaxFlights() > 1) {
+            for (int i = 0; i < route.size(); i++) {
+                if (route.get(i).getTransportationType() == TransportationType.FLIGHT) {
+                    lastFlight = route.get(i);
+                }
+            }
+        }
+
+        if (flight.originId() != context.getRequestedOriginId() ||
+            lastFlight.destinationId() != context.getRequestedDestinationId()) {
             return ValidationResult.invalid(
-                new ValidationError(
+                ValidationError.of(
                     "FLIGHT_LOCATION",
-                    String.format("Flight locations do not match requested route. Expected: %d -> %d, Found: %d -> %d",
-                        context.getRequestedOriginId(), context.getRequestedDestinationId(),
-                        flight.getOriginLocation().getId(), flight.getDestinationLocation().getId())
+                    "Flight locations do not match requested route. Expected: %d -> %d, Found: %d -> %d",
+                    context.getRequestedOriginId(), context.getRequestedDestinationId(),
+                    flight.originId(), lastFlight.destinationId()
                 )
             );
         }
@@ -2,6 +2,7 @@ package com.turkish.airlines.aviation.industry.validator.impl;
 
 
 import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.model.RouteLeg;
 import com.turkish.airlines.aviation.industry.validator.RouteValidator;
 import com.turkish.airlines.aviation.industry.validator.core.ValidationContext;
 import com.turkish.airlines.aviation.industry.validator.core.ValidationError;
@@ -9,6 +10,8 @@ import com.turkish.airlines.aviation.industry.validator.core.ValidationResult;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @Order(3)
 public class FlightRequirementValidator implements RouteValidator {
@@ -19,15 +22,29 @@ public class FlightRequirementValidator implements RouteValidator {
             return ValidationResult.valid();
         }
 
-        long flightCount = context.getRoute().stream()
-                .filter(t -> t.getTransportationType() == TransportationType.FLIGHT)
-                .count();
+        List<? extends RouteLeg> route = context.getRoute();
+        int flightCount = 0;
+        for (int i = 0; i < route.size(); i++) {
+            if (route.get(i).getTransportationType() == TransportationType.FLIGHT) {
+                flightCount++;
+            }
+        }
+
+        if (context.getMaxFlights() == 1 && flightCount != 1) {
+            return ValidationResult.invalid(
+                ValidationError.of(
+                    "FLIGHT_REQUIREMENT",
+                    "Route must contain exactly one flight, found: %d", flightCount
+                )
+            );
+        }
 
-        if (flightCount != 1) {
+        if (flightCount < 1 || flightCount > context.getMaxFlights()) {
             return ValidationResult.invalid(
-                new ValidationError(
+                ValidationError.of(
                     "FLIGHT_REQUIREMENT",
-                    String.format("Route must contain exactly one flight, found: %d", flightCount)
+                    "Route must contain between 1 and %d flights, found: %d",
+                    context.getMaxFlights(), flightCount
                 )
             );
         }
@@ -2,7 +2,7 @@ package com.turkish.airlines.aviation.industry.validator.impl;
 
 
 import com.turkish.airlines.aviation.industry.enums.TransportationType;
-import com.turkish.airlines.aviation.industry.model.Transportation;
+import com.turkish.airlines.aviation.industry.model.RouteLeg;
 import com.turkish.airlines.aviation.industry.validator.RouteValidator;
 import com.turkish.airlines.aviation.industry.validator.core.ValidationContext;
 import com.turkish.airlines.aviation.industry.validator.core.ValidationError;
@@ -23,8 +23,9 @@ public class TransferTypeValidator implements RouteValidator {
             return ValidationResult.valid();
         }
 
-        List<ValidationError> errors = new ArrayList<>();
-        
+        // Only allocated once a rule fails
+        List<ValidationError> errors = null;
+
         // Find flight index
         int flightIndex = -1;
         for (int i = 0; i < context.getRoute().size(); i++) {
@@ -38,12 +39,30 @@ public class TransferTypeValidator implements RouteValidator {
             return ValidationResult.valid(); // FlightRequirementValidator will handle this case
         }
 
+        // Connecting flights must follow each other without ground transfers in between
+        int lastFlightIndex = flightIndex;
+        if (context.getMaxFlights() > 1) {
+            for (int i = flightIndex + 1; i < context.getRoute().size(); i++) {
+                if (context.getRoute().get(i).getTransportationType() == TransportationType.FLIGHT) {
+                    lastFlightIndex = i;
+                }
+            }
+            for (int i = flightIndex + 1; i < lastFlightIndex; i++) {
+                if (context.getRoute().get(i).getTransportationType() != TransportationType.FLIGHT) {
+                    errors = addError(errors, new ValidationError(
+                        "INVALID_CONNECTION_TYPE",
+                        "Only FLIGHT type transportations are allowed between connecting flights"
+                    ));
+                }
+            }
+        }
+
         // Validate before flight transfers
         int beforeFlightTransfers = 0;
         for (int i = 0; i < flightIndex; i++) {
-            Transportation transfer = context.getRoute().get(i);
+            RouteLeg transfer = context.getRoute().get(i);
             if (transfer.getTransportationType() != TransportationType.OTHER) {
-                errors.add(new ValidationError(
+                errors = addError(errors, new ValidationError(
                     "INVALID_BEFORE_TRANSFER_TYPE",
                     "Only OTHER type transportations are allowed before flight"
                 ));
@@ -52,7 +71,7 @@ public class TransferTypeValidator implements RouteValidator {
         }
         
         if (beforeFlightTransfers > 1) {
-            errors.add(new ValidationError(
+            errors = addError(errors, new ValidationError(
                 "MULTIPLE_BEFORE_TRANSFERS",
                 "Multiple before flight transfers are not allowed"
             ));
@@ -60,10 +79,10 @@ public class TransferTypeValidator implements RouteValidator {
 
         // Validate after flight transfers
         int afterFlightTransfers = 0;
-        for (int i = flightIndex + 1; i < context.getRoute().size(); i++) {
-            Transportation transfer = context.getRoute().get(i);
+        for (int i = lastFlightIndex + 1; i < context.getRoute().size(); i++) {
+            RouteLeg transfer = context.getRoute().get(i);
             if (transfer.getTransportationType() != TransportationType.OTHER) {
-                errors.add(new ValidationError(
+                errors = addError(errors, new ValidationError(
                     "INVALID_AFTER_TRANSFER_TYPE",
                     "Only OTHER type transportations are allowed after flight"
                 ));
@@ -72,13 +91,19 @@ public class TransferTypeValidator implements RouteValidator {
         }
         
         if (afterFlightTransfers > 1) {
-            errors.add(new ValidationError(
+            errors = addError(errors, new ValidationError(
                 "MULTIPLE_AFTER_TRANSFERS",
                 "Multiple after flight transfers are not allowed"
             ));
         }
 
-        return errors.isEmpty() ? ValidationResult.valid() : ValidationResult.invalid(errors);
+        return errors == null ? ValidationResult.valid() : ValidationResult.invalid(errors);
+    }
+
+    private static List<ValidationError> addError(List<ValidationError> errors, ValidationError error) {
+        List<ValidationError> result = errors != null ? errors : new ArrayList<>();
+        result.add(error);
+        return result;
     }
 
     @Override
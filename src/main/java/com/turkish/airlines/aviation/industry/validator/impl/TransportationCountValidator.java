@@ -11,17 +11,19 @@ import org.springframework.stereotype.Component;
 @Component
 @Order(1)
 public class TransportationCountValidator implements RouteValidator {
-    private static final int MAX_TRANSPORTATION_COUNT = 3;
+    // Flights plus one transfer before and one after them
+    private static final int MAX_TRANSFER_COUNT = 2;
 
     @Override
     public ValidationResult validate(ValidationContext context) {
-        if (context.getRoute() == null || context.getRoute().size() > MAX_TRANSPORTATION_COUNT) {
+        int maxTransportationCount = context.getMaxFlights() + MAX_TRANSFER_COUNT;
+        if (context.getRoute() == null || context.getRoute().size() > maxTransportationCount) {
             return ValidationResult.invalid(
-                new ValidationError(
+                ValidationError.of(
                     "TRANSPORTATION_COUNT",
-                    String.format("Route cannot have more than %d transportations, found: %d",
-                        MAX_TRANSPORTATION_COUNT,
-                        context.getRoute() != null ? context.getRoute().size() : 0)
+                    "Route cannot have more than %d transportations, found: %d",
+                    maxTransportationCount,
+                    context.getRoute() != null ? context.getRoute().size() : 0
                 )
             );
         }
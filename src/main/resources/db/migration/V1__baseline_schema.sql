@@ -0,0 +1,41 @@
+-- Schema as previously generated by Hibernate from the entities; databases created that way are
+-- baselined at this version and skip it.
+
+CREATE TABLE users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    role       VARCHAR(255) CHECK (role IN ('ROLE_USER', 'ROLE_ADMIN')),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    version    BIGINT,
+    deleted    BOOLEAN      NOT NULL DEFAULT FALSE
+);
+
+CREATE TABLE locations (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    type       VARCHAR(255) NOT NULL CHECK (type IN ('AIRPORT', 'CITY_POINT')),
+    latitude   DOUBLE PRECISION,
+    longitude  DOUBLE PRECISION,
+    city       VARCHAR(255),
+    country    VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    version    BIGINT,
+    deleted    BOOLEAN      NOT NULL DEFAULT FALSE
+);
+
+CREATE TABLE transportations (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    origin_id           BIGINT       NOT NULL REFERENCES locations (id),
+    destination_id      BIGINT       NOT NULL REFERENCES locations (id),
+    transportation_type VARCHAR(255) NOT NULL CHECK (transportation_type IN ('FLIGHT', 'OTHER')),
+    duration            DOUBLE PRECISION,
+    price               NUMERIC(38, 2),
+    created_at          TIMESTAMP(6) NOT NULL,
+    updated_at          TIMESTAMP(6),
+    version             BIGINT,
+    deleted             BOOLEAN      NOT NULL DEFAULT FALSE
+);
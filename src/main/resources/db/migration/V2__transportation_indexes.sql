@@ -0,0 +1,20 @@
+-- Every entity query carries "deleted = false" from @SQLRestriction, so the indexes only cover live
+-- rows and stay small as soft deleted transportations pile up.
+--
+-- The indexes are built CONCURRENTLY so that transportations can still be written while they build.
+-- Flyway runs a script made of such statements outside a transaction. A build that fails leaves an
+-- invalid index behind, which IF NOT EXISTS would keep; SchemaIndexCheck reports it, and it has to be
+-- dropped before the migration is repaired and run again.
+
+-- Transportations from a location: the origin side of the lookup by location and the listing
+-- filtered by origin, which reads an id range in id order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transportations_origin_id
+    ON transportations (origin_id, id) WHERE deleted = false;
+
+-- Transportations to a location: the destination side of the lookup by location
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transportations_destination_id
+    ON transportations (destination_id, id) WHERE deleted = false;
+
+-- The listing filtered by type
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transportations_type_id
+    ON transportations (transportation_type, id) WHERE deleted = false;
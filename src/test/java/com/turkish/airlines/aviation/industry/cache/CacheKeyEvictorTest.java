@@ -0,0 +1,97 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.constants.CacheConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheKeyEvictorTest {
+
+    @Mock
+    private CacheManager remoteCacheManager;
+
+    @Mock
+    private RedisCache redisCache;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    @Mock
+    private CacheKeyIndex cacheKeyIndex;
+
+    private CacheKeyEvictor cacheKeyEvictor;
+
+    @BeforeEach
+    void setUp() {
+        when(remoteCacheManager.getCache(CacheConstants.ROUTES)).thenReturn(redisCache);
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(remoteCacheManager, redisTemplate, 100,
+                Duration.ofMinutes(1), Duration.ZERO, null, null, null);
+        cacheKeyEvictor = new CacheKeyEvictor(cacheManager, connectionFactory, cacheKeyIndex);
+        when(cacheKeyIndex.indexes(CacheConstants.ROUTES)).thenReturn(true);
+    }
+
+    @Test
+    void testEvictIndexed_DeletesMatchingIndexedKeysOnly() {
+        when(redisCache.getName()).thenReturn(CacheConstants.ROUTES);
+        when(redisCache.getCacheConfiguration())
+                .thenReturn(RedisCacheConfiguration.defaultCacheConfig().prefixCacheNameWith("aviation_"));
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(cacheKeyIndex.members(CacheConstants.ROUTES, List.of("origin:1")))
+                .thenReturn(Set.of("1:2:::::", "1:5:::::"));
+
+        int evicted = cacheKeyEvictor.evictIndexed(CacheConstants.ROUTES, List.of("origin:1"),
+                key -> RouteCache.touches(key, Set.of(1L), Set.of(2L)));
+
+        Assertions.assertEquals(1, evicted);
+        ArgumentCaptor<byte[]> deleted = ArgumentCaptor.forClass(byte[].class);
+        verify(keyCommands).del(deleted.capture());
+        Assertions.assertEquals(List.of("aviation_routes::1:2:::::"), deleted.getAllValues().stream()
+                .map(raw -> new String(raw, StandardCharsets.UTF_8))
+                .toList());
+        verify(cacheKeyIndex).remove(CacheConstants.ROUTES, List.of("1:2:::::"));
+        verify(redisCache, never()).clear();
+    }
+
+    @Test
+    void testEvictIndexed_ClearsCacheWhenNotIndexed() {
+        when(cacheKeyIndex.indexes(CacheConstants.ROUTES)).thenReturn(false);
+
+        int evicted = cacheKeyEvictor.evictIndexed(CacheConstants.ROUTES, List.of("origin:1"), key -> true);
+
+        Assertions.assertEquals(0, evicted);
+        verify(redisCache).clear();
+        verify(cacheKeyIndex, never()).members(any(), any());
+    }
+}
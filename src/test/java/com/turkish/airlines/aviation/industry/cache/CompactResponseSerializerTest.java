@@ -0,0 +1,69 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.response.RouteResponse;
+import com.turkish.airlines.aviation.industry.response.TransportationResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+class CompactResponseSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final CompactResponseSerializer serializer = new CompactResponseSerializer(json);
+
+    @Test
+    void testRoundTrip_RouteList() {
+        TransportationResponse bus = transportation(1L, 10L, 20L, "OTHER", "Taksim", "Istanbul Airport");
+        TransportationResponse flight = transportation(2L, 20L, 30L, "FLIGHT", "Istanbul Airport", "London Heathrow");
+        TransportationResponse connecting = transportation(3L, 30L, 40L, "FLIGHT", "London Heathrow", null);
+        List<RouteResponse> routes = List.of(
+                RouteResponse.builder().beforeFlight(bus).flight(flight)
+                        .totalStops(1).totalDuration(150).totalPrice(new BigDecimal("1234.50")).build(),
+                RouteResponse.builder().connectingFlights(List.of(flight, connecting))
+                        .totalStops(1).totalDuration(-1).build());
+
+        byte[] bytes = serializer.serialize(routes);
+
+        Assertions.assertEquals(routes, serializer.deserialize(bytes));
+        Assertions.assertTrue(bytes.length < json.serialize(routes).length / 3);
+    }
+
+    @Test
+    void testRoundTrip_SingleTransportation() {
+        TransportationResponse transportation = transportation(7L, null, 9L, "FLIGHT", "", "Ankara");
+
+        Assertions.assertEquals(transportation, serializer.deserialize(serializer.serialize(transportation)));
+    }
+
+    @Test
+    void testDeserialize_ReadsJsonEntries() {
+        List<TransportationResponse> transportations = new ArrayList<>(List.of(transportation(1L, 2L, 3L, "BUS", "A", "B")));
+
+        Assertions.assertEquals(transportations, serializer.deserialize(json.serialize(transportations)));
+        Assertions.assertEquals("other", serializer.deserialize(serializer.serialize("other")));
+    }
+
+    @Test
+    void testDeserialize_UnknownVersionIsMiss() {
+        byte[] bytes = serializer.serialize(transportation(1L, 2L, 3L, "BUS", "A", "B"));
+        bytes[1] = CompactResponseSerializer.VERSION + 1;
+
+        Assertions.assertNull(serializer.deserialize(bytes));
+    }
+
+    private static TransportationResponse transportation(Long id, Long originId, Long destinationId, String type,
+                                                         String originName, String destinationName) {
+        return TransportationResponse.builder()
+                .id(id)
+                .originLocationId(originId)
+                .destinationLocationId(destinationId)
+                .transportationType(type)
+                .originLocationName(originName)
+                .destinationLocationName(destinationName)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.constants.CacheConstants;
+import com.turkish.airlines.aviation.industry.request.RouteSearchRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.List;
+import java.util.Set;
+
+@ExtendWith(MockitoExtension.class)
+class RouteCacheTest {
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private RouteCache routeCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConstants.ROUTES, CacheConstants.NO_ROUTES);
+        routeCache = new RouteCache(cacheManager, connectionFactory, new CacheKeyEvictor(cacheManager, connectionFactory,
+                new CacheKeyIndex(connectionFactory)));
+    }
+
+    @Test
+    void testNoRoutes_RemembersMessagePerSearch() {
+        RouteSearchRequest request = request(1L, 2L);
+        Assertions.assertNull(routeCache.getNoRoutesMessage(request));
+
+        routeCache.putNoRoutes(request, "No valid routes found", 0L);
+
+        Assertions.assertEquals("No valid routes found", routeCache.getNoRoutesMessage(request));
+        Assertions.assertNull(routeCache.getNoRoutesMessage(request(2L, 1L)));
+    }
+
+    @Test
+    void testEvictTouching_ClearsCachesThatAreNotIndexed() {
+        routeCache.putNoRoutes(request(1L, 2L), "No valid routes found", 0L);
+        cacheManager.getCache(CacheConstants.ROUTES).put(RouteSearchKeyGenerator.key(request(3L, 4L)), List.of("route"));
+
+        routeCache.evictTouching(Set.of(1L), Set.of(2L));
+
+        Assertions.assertNull(routeCache.getNoRoutesMessage(request(1L, 2L)));
+        Assertions.assertNull(cacheManager.getCache(CacheConstants.ROUTES).get(RouteSearchKeyGenerator.key(request(3L, 4L))));
+    }
+
+    @Test
+    void testIndexTags_ByEndPoints() {
+        Assertions.assertEquals(List.of("origin:1", "destination:2"),
+                RouteCache.indexTags(RouteSearchKeyGenerator.key(request(1L, 2L))));
+        Assertions.assertEquals(List.of(), RouteCache.indexTags("unreadable"));
+    }
+
+    private static RouteSearchRequest request(Long originId, Long destinationId) {
+        return RouteSearchRequest.builder()
+                .originLocationId(originId)
+                .destinationLocationId(destinationId)
+                .build();
+    }
+}
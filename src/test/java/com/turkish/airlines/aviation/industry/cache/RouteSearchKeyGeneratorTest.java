@@ -0,0 +1,34 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.enums.RouteSortCriteria;
+import com.turkish.airlines.aviation.industry.request.RouteSearchRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+class RouteSearchKeyGeneratorTest {
+
+    @Test
+    void testRequest_InvertsKey() {
+        RouteSearchRequest request = RouteSearchRequest.builder()
+                .originLocationId(1L)
+                .destinationLocationId(2L)
+                .maxFlights(2)
+                .maxPrice(new BigDecimal("150.00"))
+                .sortBy(RouteSortCriteria.PRICE)
+                .build();
+
+        RouteSearchRequest parsed = RouteSearchKeyGenerator.request(RouteSearchKeyGenerator.key(request));
+
+        Assertions.assertEquals(RouteSearchKeyGenerator.key(request), RouteSearchKeyGenerator.key(parsed));
+        Assertions.assertNull(parsed.getMaxDuration());
+        Assertions.assertEquals(RouteSortCriteria.PRICE, parsed.getSortBy());
+    }
+
+    @Test
+    void testRequest_RejectsOtherKeys() {
+        Assertions.assertNull(RouteSearchKeyGenerator.request("SimpleKey []"));
+        Assertions.assertNull(RouteSearchKeyGenerator.request("1:2:x::::"));
+    }
+}
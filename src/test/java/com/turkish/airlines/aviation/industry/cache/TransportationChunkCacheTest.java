@@ -0,0 +1,24 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+class TransportationChunkCacheTest {
+
+    @Test
+    void testIndexTags_ByChunkSizeAndChunk() {
+        Assertions.assertEquals(List.of("chunk:256:3"), TransportationChunkCache.indexTags("256:3:FLIGHT:null"));
+        Assertions.assertEquals(List.of("chunk:512:3"), TransportationChunkCache.indexTags("512:3:null:7"));
+    }
+
+    @Test
+    void testInChunks_OnlyMatchesTheChunkSize() {
+        Assertions.assertTrue(TransportationChunkCache.inChunks("256:3:FLIGHT:null", 256, Set.of(3L)));
+        Assertions.assertFalse(TransportationChunkCache.inChunks("256:4:FLIGHT:null", 256, Set.of(3L)));
+        Assertions.assertFalse(TransportationChunkCache.inChunks("512:3:FLIGHT:null", 256, Set.of(3L)));
+        Assertions.assertTrue(TransportationChunkCache.inChunks("unreadable", 256, Set.of(3L)));
+    }
+}
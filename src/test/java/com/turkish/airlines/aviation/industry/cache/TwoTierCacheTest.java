@@ -0,0 +1,210 @@
+package com.turkish.airlines.aviation.industry.cache;
+
+import com.turkish.airlines.aviation.industry.response.RouteResponse;
+import com.turkish.airlines.aviation.industry.response.TruncatedRouteList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager("routes");
+        cacheManager = new TwoTierCacheManager(remoteCacheManager, redisTemplate, 100, Duration.ofMinutes(1),
+                Duration.ZERO, null, null, null);
+    }
+
+    @Test
+    void testGet_FillsLocalTierFromRemote() {
+        remoteCacheManager.getCache("routes").put("1:2", List.of("route"));
+        TwoTierCache cache = (TwoTierCache) cacheManager.getCache("routes");
+
+        Assertions.assertNull(cache.getLocal("1:2"));
+        Assertions.assertEquals(List.of("route"), cache.get("1:2").get());
+        Assertions.assertEquals(List.of("route"), cache.getLocal("1:2"));
+
+        // Served locally even once the remote entry is gone
+        remoteCacheManager.getCache("routes").evict("1:2");
+        Assertions.assertEquals(List.of("route"), cache.get("1:2").get());
+    }
+
+    @Test
+    void testMetrics_CountHitsPerTierMissesAndLoads() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TwoTierCacheManager meteredCacheManager = new TwoTierCacheManager(remoteCacheManager, redisTemplate,
+                100, Duration.ofMinutes(1), Duration.ZERO, null, null, meterRegistry);
+        remoteCacheManager.getCache("routes").put("1:2", List.of("route"));
+        Cache cache = meteredCacheManager.getCache("routes");
+
+        cache.get("1:2");
+        cache.get("1:2");
+        cache.get("2:1", () -> List.of("other route"));
+
+        Assertions.assertEquals(1, gets(meterRegistry, "hit", "remote"));
+        Assertions.assertEquals(1, gets(meterRegistry, "hit", "local"));
+        Assertions.assertEquals(1, gets(meterRegistry, "miss", "remote"));
+        Assertions.assertEquals(1, meterRegistry.get("cache.puts").tag("cache", "routes").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("cache.load.duration")
+                .tag("cache", "routes").tag("result", "success").timer().count());
+    }
+
+    @Test
+    void testGetWithLoader_DropsValueOfSupersededNetworkVersion() {
+        NetworkVersionGuard versionGuard = Mockito.mock(NetworkVersionGuard.class);
+        when(versionGuard.guards("routes")).thenReturn(true);
+        when(versionGuard.currentVersion()).thenReturn(4L);
+        // Another node counted a change while the value was computed
+        when(versionGuard.isCurrent(4L)).thenReturn(false);
+        TwoTierCache cache = (TwoTierCache) new TwoTierCacheManager(remoteCacheManager, redisTemplate, 100,
+                Duration.ofMinutes(1), Duration.ZERO, null, versionGuard, null).getCache("routes");
+
+        Assertions.assertEquals(List.of("route"), cache.get("1:2", () -> List.of("route")));
+
+        Assertions.assertNull(cache.getLocal("1:2"));
+        Assertions.assertNull(remoteCacheManager.getCache("routes").get("1:2"));
+        verify(redisTemplate).convertAndSend(eq(TwoTierCacheManager.INVALIDATION_CHANNEL), anyString());
+    }
+
+    @Test
+    void testEvict_ClearsBothTiersAndBroadcasts() {
+        Cache cache = cacheManager.getCache("routes");
+        cache.put("1:2", List.of("route"));
+
+        cache.evict("1:2");
+
+        Assertions.assertNull(cache.get("1:2"));
+        Assertions.assertNull(remoteCacheManager.getCache("routes").get("1:2"));
+        verify(redisTemplate).convertAndSend(eq(TwoTierCacheManager.INVALIDATION_CHANNEL), anyString());
+    }
+
+    @Test
+    void testGetWithLoader_CoalescesConcurrentMisses() throws Exception {
+        TwoTierCache cache = (TwoTierCache) cacheManager.getCache("routes");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Callable<List<String>> loader = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of("route");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<List<String>> first = executor.submit(() -> cache.get("1:2", loader));
+            Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+            List<Future<List<String>>> waiting = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                waiting.add(executor.submit(() -> cache.get("1:2", loader)));
+            }
+            release.countDown();
+
+            Assertions.assertEquals(List.of("route"), first.get(5, TimeUnit.SECONDS));
+            for (Future<List<String>> future : waiting) {
+                Assertions.assertEquals(List.of("route"), future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(List.of("route"), remoteCacheManager.getCache("routes").get("1:2").get());
+    }
+
+    @Test
+    void testGetWithLoader_ReturnsUncacheableValueWithoutStoringIt() {
+        TwoTierCache cache = (TwoTierCache) cacheManager.getCache("routes");
+        TruncatedRouteList truncated = new TruncatedRouteList(List.of(RouteResponse.builder().totalStops(0).build()));
+
+        Assertions.assertSame(truncated, cache.get("1:2", () -> truncated));
+        cache.put("1:3", truncated);
+
+        Assertions.assertNull(cache.get("1:2"));
+        Assertions.assertNull(remoteCacheManager.getCache("routes").get("1:2"));
+        Assertions.assertNull(remoteCacheManager.getCache("routes").get("1:3"));
+    }
+
+    @Test
+    void testOnMessage_InvalidatesLocalTierOfOtherNode() {
+        TwoTierCache cache = (TwoTierCache) cacheManager.getCache("routes");
+        cache.putLocal("1:2", List.of("route"));
+        cache.putLocal("3:4", List.of("route"));
+
+        cacheManager.onMessage(message("other-node\nroutes\n1:2"), null);
+        Assertions.assertNull(cache.getLocal("1:2"));
+        Assertions.assertNotNull(cache.getLocal("3:4"));
+
+        cacheManager.onMessage(message("other-node\nroutes"), null);
+        Assertions.assertNull(cache.getLocal("3:4"));
+    }
+
+    @Test
+    void testEvictLocal_DropsKeysWithOneBroadcast() {
+        TwoTierCache cache = (TwoTierCache) cacheManager.getCache("routes");
+        cache.putLocal("1:2", List.of("route"));
+        cache.putLocal("1:3", List.of("route"));
+        cache.putLocal("4:5", List.of("route"));
+
+        cache.evictLocal(List.of("1:2", "1:3"));
+
+        Assertions.assertEquals(Set.of("4:5"), cache.localKeys());
+        verify(redisTemplate).convertAndSend(any(), anyString());
+
+        cacheManager.onMessage(message("other-node\nroutes\n4:5\n6:7"), null);
+        Assertions.assertTrue(cache.localKeys().isEmpty());
+    }
+
+    @Test
+    void testTouches_MatchesOriginAndDestination() {
+        Assertions.assertTrue(RouteCache.touches("1:2:::::", Set.of(1L), Set.of(2L, 3L)));
+        Assertions.assertFalse(RouteCache.touches("1:4:::::", Set.of(1L), Set.of(2L, 3L)));
+        Assertions.assertFalse(RouteCache.touches("2:1:::::", Set.of(1L), Set.of(2L)));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TwoTierCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static double gets(SimpleMeterRegistry meterRegistry, String result, String tier) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "routes").tag("result", result).tag("tier", tier)
+                .counter().count();
+    }
+}
@@ -0,0 +1,102 @@
+package com.turkish.airlines.aviation.industry.datasource;
+
+import com.turkish.airlines.aviation.industry.TestcontainersConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Routes the reads of the application context between two PostgreSQL servers: the primary of
+ * {@link TestcontainersConfiguration} and a second server standing in for a replica. The servers are told
+ * apart by their database name.
+ */
+@SpringBootTest(properties = "datasource.replica.enabled=true")
+@Import({TestcontainersConfiguration.class, ReplicaRoutingDataSourceIntegrationTest.DatabaseProbe.class})
+@Testcontainers
+class ReplicaRoutingDataSourceIntegrationTest {
+
+    private static final String REPLICA_DATABASE = "aviation_replica";
+
+    @Container
+    static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(DockerImageName.parse("postgres:latest"))
+            .withDatabaseName(REPLICA_DATABASE);
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("datasource.replica.urls", replica::getJdbcUrl);
+        registry.add("datasource.replica.username", replica::getUsername);
+        registry.add("datasource.replica.password", replica::getPassword);
+    }
+
+    @Autowired
+    private PostgreSQLContainer<?> postgresContainer;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private DatabaseProbe databaseProbe;
+
+    @BeforeEach
+    void setUp() {
+        // The replica is used once a lag check has read it, without waiting for the scheduled one
+        replicaRoutingDataSource.checkLag();
+    }
+
+    @Test
+    void testReadOnlyTransaction_ReadsFromReplica() {
+        Assertions.assertEquals(REPLICA_DATABASE, databaseProbe.readOnlyDatabase());
+    }
+
+    @Test
+    void testReadFromPrimary_ReadsFromPrimaryInReadOnlyTransaction() {
+        Assertions.assertEquals(postgresContainer.getDatabaseName(), databaseProbe.primaryReadDatabase());
+        Assertions.assertEquals(REPLICA_DATABASE, databaseProbe.readOnlyDatabase());
+    }
+
+    @Test
+    void testWriteTransaction_UsesPrimary() {
+        Assertions.assertEquals(postgresContainer.getDatabaseName(), databaseProbe.writeDatabase());
+    }
+
+    static class DatabaseProbe {
+
+        private static final String DATABASE_QUERY = "SELECT current_database()";
+
+        private final JdbcTemplate jdbcTemplate;
+
+        DatabaseProbe(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Transactional(readOnly = true)
+        public String readOnlyDatabase() {
+            return jdbcTemplate.queryForObject(DATABASE_QUERY, String.class);
+        }
+
+        /**
+         * Read like a cache loader, see {@link ReadFromPrimary}.
+         */
+        @Transactional(readOnly = true)
+        @ReadFromPrimary
+        public String primaryReadDatabase() {
+            return jdbcTemplate.queryForObject(DATABASE_QUERY, String.class);
+        }
+
+        @Transactional
+        public String writeDatabase() {
+            return jdbcTemplate.queryForObject(DATABASE_QUERY, String.class);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.turkish.airlines.aviation.industry.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_MILLIS = 1000;
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Mockito.lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        Mockito.lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), MAX_LAG_MILLIS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testGetConnection_ReadOnlyTransactionUsesReplica() throws SQLException {
+        replicaLag(200);
+        dataSource.checkLag();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_WriteTransactionUsesPrimary() throws SQLException {
+        replicaLag(0);
+        dataSource.checkLag();
+
+        Assertions.assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_PrimaryReadsUsePrimary() throws SQLException {
+        replicaLag(0);
+        dataSource.checkLag();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        boolean previous = ReplicaRoutingDataSource.setPrimaryReads(true);
+        try {
+            Assertions.assertSame(primaryConnection, dataSource.getConnection());
+        } finally {
+            ReplicaRoutingDataSource.setPrimaryReads(previous);
+        }
+        Assertions.assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_LaggingReplicaFallsBackToPrimary() throws SQLException {
+        replicaLag(MAX_LAG_MILLIS + 1);
+        dataSource.checkLag();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_UncheckedReplicaFallsBackToPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void testGetConnection_RefusingReplicaFallsBackToPrimary() throws SQLException {
+        replicaLag(0);
+        dataSource.checkLag();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Assertions.assertSame(primaryConnection, dataSource.getConnection());
+        Assertions.assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    private void replicaLag(long lagMillis) throws SQLException {
+        Connection lagConnection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(lagConnection, replicaConnection);
+        when(lagConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(lagMillis);
+    }
+}
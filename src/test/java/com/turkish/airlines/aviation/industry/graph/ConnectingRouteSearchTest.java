@@ -0,0 +1,134 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.RouteSortCriteria;
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+class ConnectingRouteSearchTest {
+
+    private ConnectingRouteSearch connectingRouteSearch;
+    private NetworkSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        connectingRouteSearch = new ConnectingRouteSearch();
+        ReflectionTestUtils.setField(connectingRouteSearch, "maxExpansions", 1000);
+
+        snapshot = NetworkSnapshot.of(List.of(
+                edge(1L, 1L, 2L, TransportationType.FLIGHT, 60, "300.00"),
+                edge(2L, 2L, 3L, TransportationType.FLIGHT, 60, "300.00"),
+                edge(3L, 1L, 3L, TransportationType.FLIGHT, 200, "150.00"),
+                edge(4L, 3L, 4L, TransportationType.OTHER, 10, "5.00"),
+                edge(5L, 4L, 1L, TransportationType.OTHER, 10, "5.00")));
+    }
+
+    @Test
+    void testSearch_ReturnsConnectingRoutesByDuration() {
+        List<List<Long>> routes = search(1L, 4L, SearchBounds.builder().maxFlights(2).maxResults(10).build());
+
+        Assertions.assertEquals(List.of(List.of(1L, 2L, 4L), List.of(3L, 4L)), routes);
+    }
+
+    @Test
+    void testSearch_OrdersByPriceAndStopsAtLimit() {
+        List<List<Long>> routes = search(1L, 4L,
+                SearchBounds.builder().maxFlights(2).maxResults(1).build(), RouteSortCriteria.PRICE);
+
+        Assertions.assertEquals(List.of(List.of(3L, 4L)), routes);
+    }
+
+    @Test
+    void testSearch_RespectsMaxFlights() {
+        List<List<Long>> routes = search(1L, 3L, SearchBounds.builder().maxFlights(1).maxResults(10).build());
+
+        Assertions.assertEquals(List.of(List.of(3L)), routes);
+    }
+
+    @Test
+    void testSearch_PrunesOnDuration() {
+        List<List<Long>> routes = search(1L, 4L,
+                SearchBounds.builder().maxFlights(2).maxDuration(150).maxResults(10).build());
+
+        Assertions.assertEquals(List.of(List.of(1L, 2L, 4L)), routes);
+    }
+
+    @Test
+    void testSearch_UnknownLocation() {
+        List<List<Long>> routes = search(1L, 99L, SearchBounds.builder().maxFlights(2).maxResults(10).build());
+
+        Assertions.assertTrue(routes.isEmpty());
+    }
+
+    @Test
+    void testSearch_SharesDestinationDistancesAcrossOrigins() {
+        SearchBounds bounds = SearchBounds.builder().maxFlights(2).maxResults(10).build();
+        DestinationDistances distances = connectingRouteSearch.distancesTo(snapshot, snapshot.indexOf(4L),
+                SearchBounds.maxLegs(3));
+
+        Assertions.assertEquals(search(1L, 4L, bounds), searchTowards(distances, 1L, bounds));
+        Assertions.assertEquals(List.of(List.of(2L, 4L)), searchTowards(distances, 2L, bounds));
+    }
+
+    @Test
+    void testSearch_ReportsStopAtExpansionLimit() {
+        SearchBounds bounds = SearchBounds.builder().maxFlights(2).maxResults(10).build();
+        Assertions.assertTrue(connectingRouteSearch.search(snapshot, snapshot.indexOf(1L), snapshot.indexOf(4L),
+                bounds, null, route -> true));
+
+        ReflectionTestUtils.setField(connectingRouteSearch, "maxExpansions", 1);
+        Assertions.assertFalse(connectingRouteSearch.search(snapshot, snapshot.indexOf(1L), snapshot.indexOf(4L),
+                bounds, null, route -> true));
+    }
+
+    @Test
+    void testSearch_RejectsDistancesCoveringTooFewLegs() {
+        DestinationDistances distances = connectingRouteSearch.distancesTo(snapshot, snapshot.indexOf(4L),
+                SearchBounds.maxLegs(1));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> searchTowards(distances, 1L,
+                SearchBounds.builder().maxFlights(2).maxResults(10).build()));
+    }
+
+    private List<List<Long>> searchTowards(DestinationDistances distances, Long originId, SearchBounds bounds) {
+        List<List<Long>> routes = new ArrayList<>();
+        connectingRouteSearch.search(snapshot, snapshot.indexOf(originId), distances, bounds, null, route -> {
+            List<Long> ids = new ArrayList<>();
+            for (int edge : route) {
+                ids.add(snapshot.edgeId(edge));
+            }
+            return routes.add(ids);
+        });
+        return routes;
+    }
+
+    private List<List<Long>> search(Long originId, Long destinationId, SearchBounds bounds) {
+        return search(originId, destinationId, bounds, null);
+    }
+
+    private List<List<Long>> search(Long originId, Long destinationId, SearchBounds bounds,
+                                    RouteSortCriteria sortBy) {
+        List<List<Long>> routes = new ArrayList<>();
+        connectingRouteSearch.search(snapshot, snapshot.indexOf(originId), snapshot.indexOf(destinationId), bounds,
+                sortBy, route -> {
+                    List<Long> ids = new ArrayList<>();
+                    for (int edge : route) {
+                        ids.add(snapshot.edgeId(edge));
+                    }
+                    return routes.add(ids);
+                });
+        return routes;
+    }
+
+    private static TransportationEdge edge(Long id, Long originId, Long destinationId, TransportationType type,
+                                           double duration, String price) {
+        return new TransportationEdge(id, originId, "Location " + originId, destinationId, "Location " + destinationId,
+                type, duration, new BigDecimal(price), 0L);
+    }
+}
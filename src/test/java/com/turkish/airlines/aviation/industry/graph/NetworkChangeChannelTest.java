@@ -0,0 +1,69 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NetworkChangeChannelTest {
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    private NetworkChangeChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        channel = new NetworkChangeChannel(connectionFactory);
+    }
+
+    @Test
+    void testDecode_ReadsChangesOfOtherNodes() {
+        TransportationEdge flight = new TransportationEdge(11L, 2L, "Istanbul Airport", 3L, "London Heathrow",
+                TransportationType.FLIGHT, 240.0, new BigDecimal("199.90"), 3L);
+        TransportationEdge transfer = new TransportationEdge(12L, 1L, "Taksim", 2L, "Istanbul Airport",
+                TransportationType.OTHER, null, null, 0L);
+
+        Message message = publish(NetworkChange.put(List.of(flight, transfer)).withVersion(7));
+        NetworkChange decoded = new NetworkChangeChannel(connectionFactory).decode(message);
+
+        Assertions.assertEquals(NetworkChange.Kind.PUT, decoded.getKind());
+        Assertions.assertEquals(7, decoded.getVersion());
+        Assertions.assertEquals(List.of(flight, transfer), decoded.getEdges());
+    }
+
+    @Test
+    void testDecode_IgnoresOwnChanges() {
+        Message message = publish(NetworkChange.rename(2L, "IST").withVersion(3));
+
+        Assertions.assertNull(channel.decode(message));
+    }
+
+    private Message publish(NetworkChange change) {
+        channel.publish(change);
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        Mockito.verify(connection).publish(any(byte[].class), body.capture());
+        return new DefaultMessage(NetworkChangeChannel.CHANNEL.getBytes(StandardCharsets.UTF_8), body.getValue());
+    }
+}
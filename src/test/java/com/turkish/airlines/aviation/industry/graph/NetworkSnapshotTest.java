@@ -0,0 +1,133 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.model.RouteLeg;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+class NetworkSnapshotTest {
+
+    @Test
+    void testWithEdgeAndWithoutEdge_MatchRebuild() {
+        Random random = new Random(42);
+        Map<Long, TransportationEdge> edges = new TreeMap<>();
+        for (long id = 1; id <= 40; id++) {
+            edges.put(id, edge(random, id));
+        }
+        NetworkSnapshot snapshot = NetworkSnapshot.of(edges.values());
+
+        for (int change = 0; change < 300; change++) {
+            long id = 1 + random.nextInt(60);
+            if (random.nextInt(3) == 0) {
+                edges.remove(id);
+                snapshot = snapshot.withoutEdge(id);
+            } else {
+                TransportationEdge edge = edge(random, id);
+                edges.put(id, edge);
+                snapshot = snapshot.withEdge(edge);
+            }
+            assertSameNetwork(NetworkSnapshot.of(edges.values()), snapshot);
+        }
+    }
+
+    @Test
+    void testWithEdge_PriceChangeSharesAdjacency() {
+        TransportationEdge flight = new TransportationEdge(1L, 1L, "Istanbul Airport", 2L, "London Heathrow",
+                TransportationType.FLIGHT, 240.0, new BigDecimal("199.99"), 0L);
+        NetworkSnapshot snapshot = NetworkSnapshot.of(List.of(flight));
+
+        NetworkSnapshot updated = snapshot.withEdge(new TransportationEdge(1L, 1L, "Istanbul Airport", 2L,
+                "London Heathrow", TransportationType.FLIGHT, 250.0, new BigDecimal("149.50"), 1L));
+
+        Assertions.assertEquals(250, updated.duration(0));
+        Assertions.assertEquals(14950L, updated.price(0));
+        Assertions.assertEquals(19999L, snapshot.price(0));
+        Assertions.assertEquals(1L, updated.version(0));
+        Assertions.assertEquals(0, updated.outgoingEdge(updated.outgoingStart(0, TransportationType.FLIGHT)));
+    }
+
+    @Test
+    void testWithLocationName_RenamesWithoutTouchingEdges() {
+        TransportationEdge bus = new TransportationEdge(1L, 1L, "Taksim", 2L, "Istanbul Airport",
+                TransportationType.OTHER, 45.0, BigDecimal.TEN, 0L);
+        NetworkSnapshot snapshot = NetworkSnapshot.of(List.of(bus));
+
+        NetworkSnapshot renamed = snapshot.withLocationName(1L, "Taksim Square");
+
+        Assertions.assertEquals("Taksim Square", renamed.locationName(renamed.indexOf(1L)));
+        Assertions.assertEquals("Taksim", snapshot.locationName(snapshot.indexOf(1L)));
+        Assertions.assertSame(snapshot, snapshot.withLocationName(99L, "Nowhere"));
+    }
+
+    @Test
+    void testRouteView_ReusesLegsForTheCurrentRoute() {
+        NetworkSnapshot snapshot = NetworkSnapshot.of(List.of(
+                new TransportationEdge(1L, 1L, "Taksim", 2L, "Istanbul Airport",
+                        TransportationType.OTHER, 45.0, BigDecimal.TEN, 0L),
+                new TransportationEdge(2L, 2L, "Istanbul Airport", 3L, "London Heathrow",
+                        TransportationType.FLIGHT, 240.0, BigDecimal.TEN, 0L)));
+        NetworkSnapshot.RouteView view = snapshot.routeView();
+
+        RouteLeg first = view.of(new int[]{snapshot.edgeIndexOf(1L), snapshot.edgeIndexOf(2L)}).get(0);
+        Assertions.assertEquals(2, view.size());
+        Assertions.assertEquals(2L, view.get(1).getId());
+        Assertions.assertEquals(2L, view.get(0).destinationId());
+
+        view.of(new int[]{snapshot.edgeIndexOf(2L)});
+        Assertions.assertSame(first, view.get(0));
+        Assertions.assertEquals(1, view.size());
+        Assertions.assertEquals(TransportationType.FLIGHT, view.get(0).getTransportationType());
+        Assertions.assertEquals(3L, view.get(0).destinationId());
+    }
+
+    private static TransportationEdge edge(Random random, long id) {
+        long origin = 1 + random.nextInt(8);
+        long destination = 1 + random.nextInt(8);
+        TransportationType type = TransportationType.values()[random.nextInt(TransportationType.values().length)];
+        return new TransportationEdge(id, origin, "L" + origin, destination, "L" + destination, type,
+                (double) random.nextInt(600), BigDecimal.valueOf(random.nextInt(100_000), 2), 0L);
+    }
+
+    private static void assertSameNetwork(NetworkSnapshot expected, NetworkSnapshot actual) {
+        Assertions.assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int e = 0; e < expected.getEdgeCount(); e++) {
+            Assertions.assertEquals(expected.edgeId(e), actual.edgeId(e));
+            Assertions.assertEquals(expected.locationId(expected.origin(e)), actual.locationId(actual.origin(e)));
+            Assertions.assertEquals(expected.locationId(expected.destination(e)),
+                    actual.locationId(actual.destination(e)));
+            Assertions.assertEquals(expected.type(e), actual.type(e));
+            Assertions.assertEquals(expected.duration(e), actual.duration(e));
+            Assertions.assertEquals(expected.price(e), actual.price(e));
+        }
+        for (int location = 0; location < expected.getLocationCount(); location++) {
+            int other = actual.indexOf(expected.locationId(location));
+            for (TransportationType type : TransportationType.values()) {
+                Assertions.assertEquals(outgoing(expected, location, type), outgoing(actual, other, type));
+                Assertions.assertEquals(incoming(expected, location, type), incoming(actual, other, type));
+            }
+        }
+    }
+
+    private static List<Long> outgoing(NetworkSnapshot snapshot, int location, TransportationType type) {
+        List<Long> ids = new ArrayList<>();
+        for (int p = snapshot.outgoingStart(location, type); p < snapshot.outgoingEnd(location, type); p++) {
+            ids.add(snapshot.edgeId(snapshot.outgoingEdge(p)));
+        }
+        return ids;
+    }
+
+    private static List<Long> incoming(NetworkSnapshot snapshot, int location, TransportationType type) {
+        List<Long> ids = new ArrayList<>();
+        for (int p = snapshot.incomingStart(location, type); p < snapshot.incomingEnd(location, type); p++) {
+            ids.add(snapshot.edgeId(snapshot.incomingEdge(p)));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,353 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.event.LocationChangedEvent;
+import com.turkish.airlines.aviation.industry.event.NetworkSyncedEvent;
+import com.turkish.airlines.aviation.industry.event.TransportationChangedEvent;
+import com.turkish.airlines.aviation.industry.model.Location;
+import com.turkish.airlines.aviation.industry.model.Transportation;
+import com.turkish.airlines.aviation.industry.repository.TransportationRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RouteGraphTest {
+
+    @Mock
+    private TransportationRepository transportationRepository;
+
+    @Mock
+    private ObjectProvider<NetworkSnapshotStore> snapshotStore;
+
+    @Mock
+    private NetworkChangeChannel changeChannel;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private RouteGraph routeGraph;
+
+    private Location taksim;
+    private Location istanbulAirport;
+    private Location heathrow;
+
+    @BeforeEach
+    void setUp() {
+        taksim = location(1L, "Taksim");
+        istanbulAirport = location(2L, "Istanbul Airport");
+        heathrow = location(3L, "London Heathrow");
+    }
+
+    @Test
+    void testLoad_IndexesByLocationAndType() {
+        Transportation bus = transportation(10L, taksim, istanbulAirport, TransportationType.OTHER);
+        Transportation flight = transportation(11L, istanbulAirport, heathrow, TransportationType.FLIGHT);
+        when(transportationRepository.findAllEdges())
+                .thenReturn(Arrays.asList(TransportationEdge.from(bus), TransportationEdge.from(flight)));
+
+        routeGraph.load();
+
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        int taksimIndex = snapshot.indexOf(1L);
+        int heathrowIndex = snapshot.indexOf(3L);
+        Assertions.assertEquals(2, routeGraph.size());
+        Assertions.assertEquals(1, count(snapshot.outgoingStart(taksimIndex, TransportationType.OTHER),
+                snapshot.outgoingEnd(taksimIndex, TransportationType.OTHER)));
+        Assertions.assertEquals(0, count(snapshot.outgoingStart(taksimIndex, TransportationType.FLIGHT),
+                snapshot.outgoingEnd(taksimIndex, TransportationType.FLIGHT)));
+        int arriving = snapshot.incomingEdge(snapshot.incomingStart(heathrowIndex, TransportationType.FLIGHT));
+        Assertions.assertEquals(11L, snapshot.edgeId(arriving));
+        Assertions.assertEquals("Istanbul Airport", snapshot.toResponse(arriving).getOriginLocationName());
+        Assertions.assertEquals(-1, snapshot.indexOf(99L));
+    }
+
+    @Test
+    void testLoad_UsesCurrentSharedSnapshot() {
+        NetworkSnapshotStore store = Mockito.mock(NetworkSnapshotStore.class);
+        NetworkSnapshot shared = NetworkSnapshot.of(List.of(
+                TransportationEdge.from(transportation(11L, istanbulAirport, heathrow, TransportationType.FLIGHT))));
+        when(snapshotStore.getIfAvailable()).thenReturn(store);
+        when(store.load()).thenReturn(new NetworkSnapshotStore.StoredSnapshot(shared, 7));
+
+        routeGraph.load();
+
+        Assertions.assertSame(shared, routeGraph.getSnapshot());
+        Mockito.verifyNoInteractions(transportationRepository);
+
+        // The next change continues the shared version
+        when(store.nextVersion()).thenReturn(8L);
+        routeGraph.onLocationChanged(LocationChangedEvent.updated(2L, "IST"));
+        Mockito.verify(store).publish(routeGraph.getSnapshot(), 8L);
+    }
+
+    @Test
+    void testSynchronize_ReloadsAfterMissedChangeAndResumesVersioning() {
+        NetworkSnapshotStore store = Mockito.mock(NetworkSnapshotStore.class);
+        Transportation flight = transportation(11L, istanbulAirport, heathrow, TransportationType.FLIGHT);
+        Transportation otherNodeFlight = transportation(12L, heathrow, istanbulAirport, TransportationType.FLIGHT);
+        when(snapshotStore.getIfAvailable()).thenReturn(store);
+        when(store.currentVersion()).thenReturn(3L);
+        when(transportationRepository.findAllEdges()).thenReturn(List.of(TransportationEdge.from(flight)));
+        routeGraph.load();
+
+        // Version 4 was counted by another node
+        when(store.nextVersion()).thenReturn(5L);
+        routeGraph.onLocationChanged(LocationChangedEvent.updated(2L, "IST"));
+        Mockito.verify(store, Mockito.never()).publish(Mockito.any(), Mockito.eq(5L));
+
+        when(store.currentVersion()).thenReturn(5L);
+        when(transportationRepository.findAllEdges()).thenReturn(List.of(
+                TransportationEdge.from(flight), TransportationEdge.from(otherNodeFlight)));
+        // The announcement of version 4 never arrives
+        routeGraph.synchronize();
+        Assertions.assertEquals(1, routeGraph.size());
+        routeGraph.synchronize();
+
+        Assertions.assertEquals(2, routeGraph.size());
+        Mockito.verify(store).publish(routeGraph.getSnapshot(), 5L);
+
+        when(store.nextVersion()).thenReturn(6L);
+        routeGraph.onLocationChanged(LocationChangedEvent.updated(3L, "LHR"));
+        Mockito.verify(store).publish(routeGraph.getSnapshot(), 6L);
+    }
+
+    @Test
+    void testSynchronize_ReloadsWhenChangeOfOtherNodeStaysMissing() {
+        NetworkSnapshotStore store = Mockito.mock(NetworkSnapshotStore.class);
+        when(snapshotStore.getIfAvailable()).thenReturn(store);
+        when(store.currentVersion()).thenReturn(3L);
+        routeGraph.load();
+
+        // Counted right before the check, the change may still be on its way
+        when(store.currentVersion()).thenReturn(4L);
+        routeGraph.synchronize();
+        Mockito.verify(transportationRepository, Mockito.times(1)).findAllEdges();
+
+        // Still missing an interval later
+        routeGraph.synchronize();
+        Mockito.verify(transportationRepository, Mockito.times(2)).findAllEdges();
+    }
+
+    @Test
+    void testApplyRemote_AppliesChangesInVersionOrder() {
+        NetworkSnapshotStore store = Mockito.mock(NetworkSnapshotStore.class);
+        when(snapshotStore.getIfAvailable()).thenReturn(store);
+        when(store.currentVersion()).thenReturn(3L);
+        routeGraph.load();
+        TransportationEdge flight = TransportationEdge.from(
+                transportation(11L, istanbulAirport, heathrow, TransportationType.FLIGHT));
+
+        // Version 5 removes what version 4 adds, and arrives first
+        routeGraph.applyRemote(NetworkChange.remove(11L, 1L).withVersion(5));
+        Assertions.assertEquals(0, routeGraph.size());
+        routeGraph.applyRemote(NetworkChange.put(List.of(flight)).withVersion(4));
+
+        Assertions.assertEquals(0, routeGraph.size());
+        Assertions.assertEquals(-1, routeGraph.getSnapshot().edgeIndexOf(11L));
+        Mockito.verify(eventPublisher).publishEvent(Mockito.any(NetworkSyncedEvent.class));
+
+        // Already part of the network
+        routeGraph.applyRemote(NetworkChange.put(List.of(flight)).withVersion(4));
+        Assertions.assertEquals(0, routeGraph.size());
+    }
+
+    @Test
+    void testApplyRemote_SkipsChangesOlderThanTheAppliedEntityVersion() {
+        NetworkSnapshotStore store = Mockito.mock(NetworkSnapshotStore.class);
+        when(snapshotStore.getIfAvailable()).thenReturn(store);
+        when(store.currentVersion()).thenReturn(3L);
+        routeGraph.load();
+        Transportation first = transportation(11L, istanbulAirport, heathrow, TransportationType.FLIGHT);
+        first.setVersion(1L);
+        Transportation second = transportation(11L, istanbulAirport, heathrow, TransportationType.FLIGHT);
+        second.setVersion(2L);
+        second.setPrice(new BigDecimal("150.00"));
+
+        // The second update was counted before the first one
+        routeGraph.applyRemote(NetworkChange.put(List.of(TransportationEdge.from(second))).withVersion(4));
+        routeGraph.applyRemote(NetworkChange.put(List.of(TransportationEdge.from(first))).withVersion(5));
+
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        Assertions.assertEquals(15000L, snapshot.price(snapshot.edgeIndexOf(11L)));
+        Assertions.assertEquals(2L, snapshot.version(snapshot.edgeIndexOf(11L)));
+
+        // A deletion is not undone by an update counted after it
+        routeGraph.applyRemote(NetworkChange.remove(11L, 3L).withVersion(6));
+        routeGraph.applyRemote(NetworkChange.put(List.of(TransportationEdge.from(second))).withVersion(7));
+        Assertions.assertEquals(-1, routeGraph.getSnapshot().edgeIndexOf(11L));
+    }
+
+    @Test
+    void testOnTransportationChanged_WaitsForEarlierChangesOfOtherNodes() {
+        NetworkSnapshotStore store = Mockito.mock(NetworkSnapshotStore.class);
+        when(snapshotStore.getIfAvailable()).thenReturn(store);
+        when(store.currentVersion()).thenReturn(3L);
+        routeGraph.load();
+        Transportation flight = transportation(11L, istanbulAirport, heathrow, TransportationType.FLIGHT);
+
+        when(store.nextVersion()).thenReturn(5L);
+        routeGraph.onTransportationChanged(TransportationChangedEvent.created(flight));
+
+        // Read right away on this node, announced with its version, not published while 4 is missing
+        Assertions.assertEquals(1, routeGraph.size());
+        Mockito.verify(changeChannel).publish(Mockito.argThat(change -> change.getVersion() == 5));
+        Mockito.verify(store, Mockito.never()).publish(Mockito.any(), Mockito.eq(5L));
+
+        TransportationEdge transfer = TransportationEdge.from(
+                transportation(12L, taksim, istanbulAirport, TransportationType.OTHER));
+        routeGraph.applyRemote(NetworkChange.put(List.of(transfer)).withVersion(4));
+
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        Assertions.assertEquals(2, routeGraph.size());
+        Assertions.assertTrue(snapshot.edgeIndexOf(11L) >= 0);
+        Mockito.verify(store).publish(snapshot, 5L);
+    }
+
+    @Test
+    void testToBytes_RoundTrips() {
+        routeGraph.put(TransportationEdge.from(transportation(1L, taksim, istanbulAirport, TransportationType.OTHER)));
+        routeGraph.put(TransportationEdge.from(transportation(2L, istanbulAirport, heathrow, TransportationType.FLIGHT)));
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+
+        NetworkSnapshot copy = NetworkSnapshot.fromBytes(snapshot.toBytes());
+
+        Assertions.assertEquals(snapshot.getEdgeCount(), copy.getEdgeCount());
+        Assertions.assertEquals(snapshot.getLocationCount(), copy.getLocationCount());
+        for (int edge = 0; edge < snapshot.getEdgeCount(); edge++) {
+            Assertions.assertEquals(snapshot.toResponse(edge), copy.toResponse(edge));
+            Assertions.assertEquals(snapshot.duration(edge), copy.duration(edge));
+            Assertions.assertEquals(snapshot.price(edge), copy.price(edge));
+        }
+        int airport = copy.indexOf(2L);
+        Assertions.assertEquals(1, count(copy.outgoingStart(airport, TransportationType.FLIGHT),
+                copy.outgoingEnd(airport, TransportationType.FLIGHT)));
+    }
+
+    @Test
+    void testOnTransportationChanged_UpdateMovesEdge() {
+        routeGraph.put(TransportationEdge.from(transportation(11L, istanbulAirport, heathrow, TransportationType.FLIGHT)));
+
+        Transportation moved = transportation(11L, taksim, heathrow, TransportationType.FLIGHT);
+        routeGraph.onTransportationChanged(TransportationChangedEvent.updated(moved, 2L, 3L));
+
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        int airportIndex = snapshot.indexOf(2L);
+        int taksimIndex = snapshot.indexOf(1L);
+        int heathrowIndex = snapshot.indexOf(3L);
+        Assertions.assertEquals(1, routeGraph.size());
+        Assertions.assertEquals(0, count(snapshot.outgoingStart(airportIndex, TransportationType.FLIGHT),
+                snapshot.outgoingEnd(airportIndex, TransportationType.FLIGHT)));
+        Assertions.assertEquals(1, count(snapshot.outgoingStart(taksimIndex, TransportationType.FLIGHT, heathrowIndex),
+                snapshot.outgoingEnd(taksimIndex, TransportationType.FLIGHT, heathrowIndex)));
+    }
+
+    @Test
+    void testOnTransportationChanged_DeleteRemovesEdge() {
+        Transportation flight = transportation(11L, istanbulAirport, heathrow, TransportationType.FLIGHT);
+        routeGraph.put(TransportationEdge.from(flight));
+
+        routeGraph.onTransportationChanged(TransportationChangedEvent.deleted(flight));
+
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        Assertions.assertEquals(0, routeGraph.size());
+        Assertions.assertEquals(0, snapshot.outgoingDegree(snapshot.indexOf(2L)));
+        Assertions.assertEquals(0, snapshot.incomingDegree(snapshot.indexOf(3L)));
+    }
+
+    @Test
+    void testOnLocationChanged_RenamesLocation() {
+        routeGraph.put(TransportationEdge.from(transportation(11L, istanbulAirport, heathrow, TransportationType.FLIGHT)));
+
+        routeGraph.onLocationChanged(LocationChangedEvent.updated(2L, "IST"));
+
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        Assertions.assertEquals("IST", snapshot.locationName(snapshot.indexOf(2L)));
+        Assertions.assertEquals("IST", snapshot.toResponse(snapshot.edgeIndexOf(11L)).getOriginLocationName());
+        Assertions.assertEquals(1, routeGraph.size());
+    }
+
+    @Test
+    void testWithin_StopsAfterMaxLegs() {
+        routeGraph.put(TransportationEdge.from(transportation(1L, taksim, istanbulAirport, TransportationType.OTHER)));
+        routeGraph.put(TransportationEdge.from(transportation(2L, istanbulAirport, heathrow, TransportationType.FLIGHT)));
+
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        int heathrowIndex = snapshot.indexOf(3L);
+        Assertions.assertEquals(List.of(3L, 2L), locationIds(snapshot, snapshot.within(heathrowIndex, 1, false)));
+        Assertions.assertEquals(List.of(3L, 2L, 1L), locationIds(snapshot, snapshot.within(heathrowIndex, 2, false)));
+        Assertions.assertEquals(List.of(3L), locationIds(snapshot, snapshot.within(heathrowIndex, 2, true)));
+    }
+
+    @Test
+    void testRouteCandidates_JoinsTransfersAndFlights() {
+        Location ankaraAirport = location(4L, "Ankara Airport");
+        Location kizilay = location(5L, "Kizilay");
+        routeGraph.put(TransportationEdge.from(transportation(1L, taksim, istanbulAirport, TransportationType.OTHER)));
+        routeGraph.put(TransportationEdge.from(transportation(2L, istanbulAirport, kizilay, TransportationType.FLIGHT)));
+        routeGraph.put(TransportationEdge.from(transportation(3L, taksim, kizilay, TransportationType.FLIGHT)));
+        routeGraph.put(TransportationEdge.from(transportation(4L, taksim, ankaraAirport, TransportationType.FLIGHT)));
+        routeGraph.put(TransportationEdge.from(transportation(5L, ankaraAirport, kizilay, TransportationType.OTHER)));
+        routeGraph.put(TransportationEdge.from(transportation(6L, heathrow, kizilay, TransportationType.FLIGHT)));
+
+        NetworkSnapshot snapshot = routeGraph.getSnapshot();
+        RouteCandidates candidates = new RouteCandidates(snapshot, snapshot.indexOf(1L), snapshot.indexOf(5L));
+        List<List<Long>> routes = new ArrayList<>();
+        candidates.forEachRoute(route -> {
+            List<Long> ids = new ArrayList<>();
+            for (int edge : route) {
+                ids.add(snapshot.edgeId(edge));
+            }
+            routes.add(ids);
+        });
+
+        Assertions.assertEquals(6, candidates.size());
+        Assertions.assertEquals(List.of(List.of(3L), List.of(1L, 2L), List.of(4L, 5L)), routes);
+    }
+
+    private static List<Long> locationIds(NetworkSnapshot snapshot, int[] locations) {
+        List<Long> ids = new ArrayList<>();
+        for (int location : locations) {
+            ids.add(snapshot.locationId(location));
+        }
+        return ids;
+    }
+
+    private static int count(int start, int end) {
+        return end - start;
+    }
+
+    private static Location location(Long id, String name) {
+        Location location = new Location();
+        location.setId(id);
+        location.setName(name);
+        return location;
+    }
+
+    private static Transportation transportation(Long id, Location origin, Location destination,
+                                                 TransportationType type) {
+        Transportation transportation = new Transportation();
+        transportation.setId(id);
+        transportation.setOriginLocation(origin);
+        transportation.setDestinationLocation(destination);
+        transportation.setTransportationType(type);
+        transportation.setDuration(60.0);
+        transportation.setPrice(BigDecimal.TEN);
+        return transportation;
+    }
+}
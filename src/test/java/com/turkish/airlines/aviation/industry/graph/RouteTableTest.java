@@ -0,0 +1,102 @@
+package com.turkish.airlines.aviation.industry.graph;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.event.TransportationsImportedEvent;
+import com.turkish.airlines.aviation.industry.validator.core.CompositeRouteValidator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RouteTableTest {
+
+    @Mock
+    private RouteGraph routeGraph;
+
+    private RouteTable routeTable;
+    private NetworkSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        // Without validators every candidate route is valid, so the table mirrors the enumeration
+        routeTable = new RouteTable(routeGraph, new CompositeRouteValidator(List.of()));
+        snapshot = NetworkSnapshot.of(List.of(
+                edge(10L, 1L, 2L, TransportationType.OTHER),
+                edge(11L, 2L, 3L, TransportationType.FLIGHT),
+                edge(12L, 1L, 3L, TransportationType.FLIGHT)));
+        when(routeGraph.getSnapshot()).thenReturn(snapshot);
+        routeTable.load();
+    }
+
+    @Test
+    void testLoad_PrecomputesRoutesPerPair() {
+        Assertions.assertEquals(2, routeTable.size());
+        Assertions.assertEquals(List.of(List.of(12L), List.of(10L, 11L)), routes(snapshot, 1L, 3L));
+        Assertions.assertEquals(List.of(List.of(11L)), routes(snapshot, 2L, 3L));
+    }
+
+    @Test
+    void testRefresh_RecomputesOnlyPairsOfDeletedTransportation() {
+        NetworkSnapshot updated = snapshot.withoutEdge(11L);
+        when(routeGraph.getSnapshot()).thenReturn(updated);
+
+        int recomputed = routeTable.refresh(11L);
+
+        Assertions.assertEquals(2, recomputed);
+        Assertions.assertEquals(1, routeTable.size());
+        Assertions.assertEquals(List.of(List.of(12L)), routes(updated, 1L, 3L));
+        Assertions.assertTrue(routes(updated, 2L, 3L).isEmpty());
+    }
+
+    @Test
+    void testOnTransportationsImported_AddsPairsOfImportedTransportations() {
+        List<TransportationEdge> imported = List.of(
+                edge(20L, 4L, 2L, TransportationType.OTHER),
+                edge(21L, 3L, 5L, TransportationType.OTHER));
+        NetworkSnapshot updated = snapshot.withEdges(imported);
+        when(routeGraph.getSnapshot()).thenReturn(updated);
+
+        routeTable.onTransportationsImported(new TransportationsImportedEvent(imported));
+
+        Assertions.assertEquals(List.of(List.of(20L, 11L)), routes(updated, 4L, 3L));
+        Assertions.assertEquals(List.of(List.of(12L, 21L)), routes(updated, 1L, 5L));
+    }
+
+    @Test
+    void testRefresh_AddsPairsOfCreatedTransportation() {
+        NetworkSnapshot updated = snapshot.withEdge(edge(13L, 3L, 4L, TransportationType.OTHER));
+        when(routeGraph.getSnapshot()).thenReturn(updated);
+
+        routeTable.refresh(13L);
+
+        Assertions.assertEquals(List.of(List.of(12L, 13L)), routes(updated, 1L, 4L));
+        Assertions.assertEquals(List.of(List.of(11L, 13L)), routes(updated, 2L, 4L));
+        Assertions.assertEquals(List.of(List.of(12L), List.of(10L, 11L)), routes(updated, 1L, 3L));
+    }
+
+    private List<List<Long>> routes(NetworkSnapshot current, Long originId, Long destinationId) {
+        List<List<Long>> routes = new ArrayList<>();
+        routeTable.forEachRoute(current, current.indexOf(originId), current.indexOf(destinationId), route -> {
+            List<Long> ids = new ArrayList<>();
+            for (int edge : route) {
+                ids.add(current.edgeId(edge));
+            }
+            routes.add(ids);
+        });
+        return routes;
+    }
+
+    private static TransportationEdge edge(Long id, Long originId, Long destinationId, TransportationType type) {
+        return new TransportationEdge(id, originId, "Location " + originId, destinationId, "Location " + destinationId,
+                type, 60.0, new BigDecimal("100.00"), 0L);
+    }
+}
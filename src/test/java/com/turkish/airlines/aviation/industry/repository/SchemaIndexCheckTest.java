@@ -0,0 +1,51 @@
+package com.turkish.airlines.aviation.industry.repository;
+
+import com.turkish.airlines.aviation.industry.TestcontainersConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Runs the migrations against PostgreSQL and checks the indexes they create serve the queries, with
+ * the {@code deleted = false} predicate Hibernate adds to every transportation query.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+class SchemaIndexCheckTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testMissingIndexes_NoneAfterMigration() {
+        Assertions.assertEquals(List.of(), new SchemaIndexCheck(jdbcTemplate).missingIndexes());
+    }
+
+    @Test
+    void testMissingIndexes_ReportsDroppedIndex() {
+        jdbcTemplate.execute("DROP INDEX idx_transportations_type_id");
+
+        Assertions.assertEquals(List.of("idx_transportations_type_id"),
+                new SchemaIndexCheck(jdbcTemplate).missingIndexes());
+    }
+
+    @Test
+    void testLookupByLocation_UsesPartialIndexes() {
+        // The table is empty, only index paths are considered
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT t.id FROM transportations t "
+                        + "WHERE (t.origin_id = 1 OR t.destination_id = 1) AND t.deleted = false", String.class));
+
+        Assertions.assertTrue(plan.contains("idx_transportations_origin_id"), plan);
+        Assertions.assertTrue(plan.contains("idx_transportations_destination_id"), plan);
+    }
+}
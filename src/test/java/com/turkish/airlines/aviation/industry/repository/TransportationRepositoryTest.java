@@ -0,0 +1,143 @@
+package com.turkish.airlines.aviation.industry.repository;
+
+import com.turkish.airlines.aviation.industry.TestcontainersConfiguration;
+import com.turkish.airlines.aviation.industry.config.JpaConfig;
+import com.turkish.airlines.aviation.industry.enums.LocationType;
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.graph.TransportationEdge;
+import com.turkish.airlines.aviation.industry.mapper.TransportationMapper;
+import com.turkish.airlines.aviation.industry.model.Location;
+import com.turkish.airlines.aviation.industry.model.Transportation;
+import com.turkish.airlines.aviation.industry.response.TransportationResponse;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Guards the listing and lookup paths against lazy location loads: mapping their results to responses
+ * reads both location names and must not issue a query per transportation.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, JpaConfig.class})
+class TransportationRepositoryTest {
+
+    private static final int TRANSPORTATIONS = 20;
+
+    @Autowired
+    private TransportationRepository transportationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final TransportationMapper transportationMapper = TransportationMapper.INSTANCE;
+
+    private Location istanbul;
+    private Location ankara;
+    private Long firstId;
+
+    @BeforeEach
+    void setUp() {
+        istanbul = entityManager.persist(location("Istanbul Airport"));
+        ankara = entityManager.persist(location("Ankara Airport"));
+        for (int i = 0; i < TRANSPORTATIONS; i++) {
+            Transportation transportation = entityManager.persist(
+                    transportation(i % 2 == 0 ? istanbul : ankara, i % 2 == 0 ? ankara : istanbul));
+            if (firstId == null) {
+                firstId = transportation.getId();
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void testFindIdRange_LoadsLocationsInOneQuery() {
+        List<TransportationResponse> responses = assertQueries(1, () -> map(
+                transportationRepository.findIdRange(firstId, firstId + TRANSPORTATIONS, null, null)));
+
+        Assertions.assertEquals(TRANSPORTATIONS, responses.size());
+        Assertions.assertEquals("Ankara Airport", responses.get(0).getDestinationLocationName());
+    }
+
+    @Test
+    void testFindByOriginOrDestination_LoadsLocationsInOneQuery() {
+        List<TransportationResponse> responses = assertQueries(1, () -> map(
+                transportationRepository.findByOriginLocationIdOrDestinationLocationId(istanbul.getId(), istanbul.getId())));
+
+        Assertions.assertEquals(TRANSPORTATIONS, responses.size());
+    }
+
+    @Test
+    void testFindAllEdges_ReadsTuplesInOneQuery() {
+        List<TransportationEdge> edges = assertQueries(1, () -> transportationRepository.findAllEdges());
+
+        Assertions.assertEquals(TRANSPORTATIONS, edges.size());
+        TransportationEdge first = edges.stream()
+                .filter(edge -> edge.getId().equals(firstId))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertEquals("Istanbul Airport", first.getOriginLocationName());
+        Assertions.assertEquals(ankara.getId(), first.getDestinationLocationId());
+        // Nothing was put into the persistence context
+        Assertions.assertEquals(0, entityManager.getEntityManager().unwrap(Session.class)
+                .getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testFindById_LoadsLocationsInOneQuery() {
+        TransportationResponse response = assertQueries(1, () -> transportationRepository.findById(firstId)
+                .map(transportationMapper::mapToTransportationResponse)
+                .orElseThrow());
+
+        Assertions.assertEquals("Istanbul Airport", response.getOriginLocationName());
+    }
+
+    /**
+     * Runs the action on an empty persistence context, so every entity it touches has to be loaded.
+     */
+    private <T> T assertQueries(long expected, Supplier<T> action) {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        T result = action.get();
+
+        Assertions.assertEquals(expected, statistics.getPrepareStatementCount(),
+                "Statements issued, more than expected means locations were loaded lazily");
+        return result;
+    }
+
+    private List<TransportationResponse> map(List<Transportation> transportations) {
+        return transportations.stream().map(transportationMapper::mapToTransportationResponse).toList();
+    }
+
+    private static Location location(String name) {
+        Location location = new Location();
+        location.setName(name);
+        location.setType(LocationType.AIRPORT);
+        return location;
+    }
+
+    private static Transportation transportation(Location origin, Location destination) {
+        Transportation transportation = new Transportation();
+        transportation.setOriginLocation(origin);
+        transportation.setDestinationLocation(destination);
+        transportation.setTransportationType(TransportationType.FLIGHT);
+        transportation.setDuration(60.0);
+        transportation.setPrice(BigDecimal.valueOf(100));
+        return transportation;
+    }
+}
@@ -0,0 +1,162 @@
+package com.turkish.airlines.aviation.industry.service;
+
+import com.turkish.airlines.aviation.industry.cache.TransportationChunkCache;
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.exception.LocationNotFoundException;
+import com.turkish.airlines.aviation.industry.mapper.TransportationMapper;
+import com.turkish.airlines.aviation.industry.model.Location;
+import com.turkish.airlines.aviation.industry.model.Transportation;
+import com.turkish.airlines.aviation.industry.repository.LocationRepository;
+import com.turkish.airlines.aviation.industry.repository.TransportationRepository;
+import com.turkish.airlines.aviation.industry.request.CreateTransportationRequest;
+import com.turkish.airlines.aviation.industry.response.TransportationPageResponse;
+import com.turkish.airlines.aviation.industry.response.TransportationResponse;
+import com.turkish.airlines.aviation.industry.service.impl.TransportationServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransportationServiceTest {
+
+    private static final long CHUNK_SIZE = 10;
+
+    @Mock
+    private TransportationRepository transportationRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private TransportationMapper transportationMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransportationChunkCache transportationChunkCache;
+
+    @InjectMocks
+    private TransportationServiceImpl transportationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transportationService, "maxPageSize", 500);
+        ReflectionTestUtils.setField(transportationService, "maxChunksPerPage", 64);
+        Mockito.lenient().when(transportationChunkCache.chunkOf(anyLong()))
+                .thenAnswer(invocation -> Math.floorDiv((long) invocation.getArgument(0), CHUNK_SIZE));
+    }
+
+    @Test
+    void testGetTransportations_FillsPageAcrossChunks() {
+        when(transportationRepository.findMaxId()).thenReturn(25L);
+        when(transportationChunkCache.getChunk(0, null, null)).thenReturn(transportations(3L, 7L));
+        when(transportationChunkCache.getChunk(1, null, null)).thenReturn(transportations(12L, 15L));
+
+        TransportationPageResponse page = transportationService.getTransportations(null, 3, null, null);
+
+        Assertions.assertEquals(List.of(3L, 7L, 12L), ids(page));
+        Assertions.assertEquals(12L, page.getNextCursor());
+        Mockito.verify(transportationChunkCache, Mockito.never()).getChunk(2, null, null);
+    }
+
+    @Test
+    void testGetTransportations_LastPageHasNoCursor() {
+        when(transportationRepository.findMaxId()).thenReturn(25L);
+        when(transportationChunkCache.getChunk(1, TransportationType.FLIGHT, 4L)).thenReturn(transportations(12L, 15L));
+        when(transportationChunkCache.getChunk(2, TransportationType.FLIGHT, 4L)).thenReturn(transportations(25L));
+
+        TransportationPageResponse page = transportationService.getTransportations(12L, 3, TransportationType.FLIGHT, 4L);
+
+        Assertions.assertEquals(List.of(15L, 25L), ids(page));
+        Assertions.assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetTransportations_SparseFilterContinuesAfterChunksRead() {
+        ReflectionTestUtils.setField(transportationService, "maxChunksPerPage", 2);
+        when(transportationRepository.findMaxId()).thenReturn(25L);
+        when(transportationChunkCache.getChunk(anyLong(), Mockito.eq(TransportationType.OTHER), Mockito.isNull()))
+                .thenReturn(new ArrayList<>());
+        when(transportationChunkCache.firstId(2)).thenReturn(2 * CHUNK_SIZE);
+
+        TransportationPageResponse page = transportationService.getTransportations(null, 3, TransportationType.OTHER, null);
+
+        Assertions.assertTrue(page.getTransportations().isEmpty());
+        Assertions.assertEquals(19L, page.getNextCursor());
+        Mockito.verify(transportationChunkCache, Mockito.times(2))
+                .getChunk(anyLong(), Mockito.eq(TransportationType.OTHER), Mockito.isNull());
+    }
+
+    @Test
+    void testCreateTransportation_LoadsBothLocationsInOneQuery() {
+        Location origin = location(1L);
+        Location destination = location(2L);
+        Transportation transportation = new Transportation();
+        CreateTransportationRequest request = createRequest(1L, 2L);
+        when(locationRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(origin, destination));
+        when(transportationMapper.mapToTransportationFromCreateRequest(request)).thenReturn(transportation);
+        when(transportationRepository.save(transportation)).thenReturn(transportation);
+        when(transportationMapper.mapToTransportationResponse(transportation))
+                .thenReturn(TransportationResponse.builder().originLocationId(1L).destinationLocationId(2L).build());
+
+        TransportationResponse response = transportationService.createTransportation(request);
+
+        Assertions.assertEquals(2L, response.getDestinationLocationId());
+        Assertions.assertSame(origin, transportation.getOriginLocation());
+        Assertions.assertSame(destination, transportation.getDestinationLocation());
+        Mockito.verify(locationRepository, Mockito.never()).findById(anyLong());
+    }
+
+    @Test
+    void testCreateTransportation_MissingDestination() {
+        CreateTransportationRequest request = createRequest(1L, 2L);
+        when(locationRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(location(1L)));
+
+        LocationNotFoundException exception = assertThrows(LocationNotFoundException.class,
+                () -> transportationService.createTransportation(request));
+
+        Assertions.assertEquals("Destination location not found with ID: 2", exception.getMessage());
+        Mockito.verify(transportationRepository, Mockito.never()).save(any());
+    }
+
+    private static Location location(Long id) {
+        Location location = new Location();
+        location.setId(id);
+        return location;
+    }
+
+    private static CreateTransportationRequest createRequest(Long originLocationId, Long destinationLocationId) {
+        CreateTransportationRequest request = new CreateTransportationRequest();
+        request.setOriginLocationId(originLocationId);
+        request.setDestinationLocationId(destinationLocationId);
+        request.setTransportationType(TransportationType.FLIGHT);
+        return request;
+    }
+
+    private static List<TransportationResponse> transportations(Long... ids) {
+        return Arrays.stream(ids)
+                .map(id -> TransportationResponse.builder().id(id).build())
+                .toList();
+    }
+
+    private static List<Long> ids(TransportationPageResponse page) {
+        return page.getTransportations().stream().map(TransportationResponse::getId).toList();
+    }
+}
@@ -0,0 +1,72 @@
+package com.turkish.airlines.aviation.industry.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turkish.airlines.aviation.industry.enums.ImportFormat;
+import com.turkish.airlines.aviation.industry.enums.LocationType;
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.request.CreateLocationRequest;
+import com.turkish.airlines.aviation.industry.request.CreateTransportationRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class ImportRowReaderTest {
+
+    @Test
+    void testNext_ReadsCsvByHeader() throws IOException {
+        String csv = """
+                name,type,city,country
+                "Istanbul Airport, IST",AIRPORT,Istanbul,Turkey
+
+                Taksim,CITY_POINT,,Turkey
+                """;
+        try (ImportRowReader<CreateLocationRequest> reader = reader(csv, ImportFormat.CSV, CreateLocationRequest.class)) {
+            ImportRowReader.Row<CreateLocationRequest> airport = reader.next();
+            Assertions.assertEquals(2, airport.getLine());
+            Assertions.assertEquals("Istanbul Airport, IST", airport.getValue().getName());
+            Assertions.assertEquals(LocationType.AIRPORT, airport.getValue().getType());
+
+            ImportRowReader.Row<CreateLocationRequest> taksim = reader.next();
+            Assertions.assertEquals(4, taksim.getLine());
+            Assertions.assertNull(taksim.getValue().getCity());
+
+            Assertions.assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void testNext_ReportsUnreadableRowsAndContinues() throws IOException {
+        String ndjson = """
+                {"originLocationId": 1, "destinationLocationId": 2, "transportationType": "FLIGHT", "price": 99.90}
+                {"originLocationId": 1, "destinationLocationId": 2, "transportationType": "SHIP"}
+                {"originLocationId": 2, "destinationLocationId": 1, "transportationType": "OTHER"}
+                """;
+        try (ImportRowReader<CreateTransportationRequest> reader =
+                     reader(ndjson, ImportFormat.NDJSON, CreateTransportationRequest.class)) {
+            ImportRowReader.Row<CreateTransportationRequest> flight = reader.next();
+            Assertions.assertEquals(TransportationType.FLIGHT, flight.getValue().getTransportationType());
+            Assertions.assertEquals(new BigDecimal("99.90"), flight.getValue().getPrice());
+
+            ImportRowReader.Row<CreateTransportationRequest> ship = reader.next();
+            Assertions.assertNull(ship.getValue());
+            Assertions.assertTrue(ship.getError().startsWith("Unreadable row"));
+
+            Assertions.assertEquals(3, reader.next().getLine());
+        }
+    }
+
+    @Test
+    void testSplit_HandlesQuotes() {
+        Assertions.assertEquals(List.of("a", "b, \"c\"", ""), ImportRowReader.split("a,\"b, \"\"c\"\"\","));
+    }
+
+    private static <T> ImportRowReader<T> reader(String content, ImportFormat format, Class<T> type) {
+        return new ImportRowReader<>(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                format, type, new ObjectMapper());
+    }
+}
@@ -0,0 +1,70 @@
+package com.turkish.airlines.aviation.industry.validator.core;
+
+import com.turkish.airlines.aviation.industry.validator.RouteValidator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class CompositeRouteValidatorTest {
+
+    private final ValidationContext context = ValidationContext.builder().route(List.of()).build();
+
+    @Test
+    void testValidate_RunsValidatorsInOrderAndSharesValidResult() {
+        List<Integer> calls = new ArrayList<>();
+        CompositeRouteValidator validator = new CompositeRouteValidator(List.of(
+                validator(2, calls, null), validator(1, calls, null)));
+
+        ValidationResult result = validator.validate(context);
+
+        Assertions.assertTrue(result.isValid());
+        Assertions.assertSame(ValidationResult.valid(), result);
+        Assertions.assertEquals(List.of(1, 2), calls);
+    }
+
+    @Test
+    void testValidate_CollectsErrorsOfAllValidators() {
+        List<Integer> calls = new ArrayList<>();
+        CompositeRouteValidator validator = new CompositeRouteValidator(List.of(
+                validator(1, calls, "FIRST"), validator(2, calls, null), validator(3, calls, "THIRD")));
+
+        ValidationResult result = validator.validate(context);
+
+        Assertions.assertFalse(result.isValid());
+        Assertions.assertEquals(List.of("FIRST", "THIRD"),
+                result.getErrors().stream().map(ValidationError::getCode).toList());
+        Assertions.assertEquals(List.of(1, 2, 3), calls);
+    }
+
+    @Test
+    void testValidate_FailFastStopsAtFirstError() {
+        List<Integer> calls = new ArrayList<>();
+        CompositeRouteValidator validator = new CompositeRouteValidator(List.of(
+                validator(1, calls, null), validator(2, calls, "SECOND"), validator(3, calls, "THIRD")), true);
+
+        ValidationResult result = validator.validate(context);
+
+        Assertions.assertEquals(1, result.getErrors().size());
+        Assertions.assertEquals("SECOND", result.getErrors().get(0).getCode());
+        Assertions.assertEquals(List.of(1, 2), calls);
+    }
+
+    private static RouteValidator validator(int order, List<Integer> calls, String errorCode) {
+        return new RouteValidator() {
+            @Override
+            public ValidationResult validate(ValidationContext context) {
+                calls.add(order);
+                return errorCode == null
+                        ? ValidationResult.valid()
+                        : ValidationResult.invalid(new ValidationError(errorCode, "failed"));
+            }
+
+            @Override
+            public int getOrder() {
+                return order;
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.turkish.airlines.aviation.industry.validator.core;
+
+import com.turkish.airlines.aviation.industry.enums.TransportationType;
+import com.turkish.airlines.aviation.industry.graph.NetworkSnapshot;
+import com.turkish.airlines.aviation.industry.graph.TransportationEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+class RouteRejectionsTest {
+
+    private final NetworkSnapshot snapshot = NetworkSnapshot.of(List.of(
+            edge(1L, 1L, 2L, TransportationType.OTHER),
+            edge(2L, 3L, 4L, TransportationType.FLIGHT)));
+
+    @Test
+    void testRecord_DescribesRoutesOnDemand() {
+        RouteRejections rejections = new RouteRejections(snapshot, true);
+        int bus = snapshot.edgeIndexOf(1L);
+        int flight = snapshot.edgeIndexOf(2L);
+
+        rejections.record(new int[]{bus, flight}, ValidationResult.invalid(List.of(
+                new ValidationError("INVALID_CONNECTION", "Invalid connection"),
+                new ValidationError("FLIGHT_LOCATION", "Flight locations do not match"))));
+        rejections.record(new int[]{flight, bus}, ValidationResult.invalid(
+                new ValidationError("INVALID_CONNECTION", "Invalid connection")));
+
+        Assertions.assertEquals(2, rejections.size());
+        Assertions.assertEquals(Map.of("INVALID_CONNECTION", 2, "FLIGHT_LOCATION", 1), rejections.getCodeCounts());
+        Assertions.assertEquals(List.of("Invalid connection", "Flight locations do not match"),
+                rejections.describe().get("OTHER (1 -> 2) -> FLIGHT (3 -> 4)"));
+        Assertions.assertEquals(List.of("Invalid connection"),
+                rejections.describe().get("FLIGHT (3 -> 4) -> OTHER (1 -> 2)"));
+    }
+
+    @Test
+    void testRecord_DescribesRoutesWithoutExplain() {
+        RouteRejections rejections = new RouteRejections(snapshot, false);
+        int flight = snapshot.edgeIndexOf(2L);
+
+        rejections.record(new int[]{flight, flight}, ValidationResult.invalid(
+                ValidationError.of("FLIGHT_REQUIREMENT", "Route must contain exactly one flight, found: %d", 2)));
+
+        Assertions.assertEquals(1, rejections.size());
+        Assertions.assertEquals(Map.of("FLIGHT_REQUIREMENT", 1), rejections.getCodeCounts());
+        Assertions.assertEquals(Map.of("FLIGHT (3 -> 4) -> FLIGHT (3 -> 4)",
+                List.of("Route must contain exactly one flight, found: 2")), rejections.describe());
+    }
+
+    @Test
+    void testGetMessage_FormatsArgumentsOnDemand() {
+        ValidationError error = ValidationError.of("FLIGHT_REQUIREMENT", "Route must contain exactly one flight, found: %d", 2);
+
+        Assertions.assertArrayEquals(new Object[]{2}, error.getArguments());
+        Assertions.assertEquals("Route must contain exactly one flight, found: 2", error.getMessage());
+        Assertions.assertEquals("100% on time", new ValidationError("ON_TIME", "100% on time").getMessage());
+    }
+
+    private static TransportationEdge edge(Long id, Long originId, Long destinationId, TransportationType type) {
+        return new TransportationEdge(id, originId, "Location " + originId, destinationId, "Location " + destinationId,
+                type, 60.0, new BigDecimal("100.00"), 0L);
+    }
+}